@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The digests of a large artifact computed in a single pass over the file
+ * compared to one pass per algorithm.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChecksumBenchmark {
+
+	private static final List<String> ALGORITHMS = Arrays.asList("SHA-1", "SHA-256", "SHA-512");
+
+	@Param("256")
+	public int megabytes;
+
+	private File file;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		file = File.createTempFile("checksum", ".jar");
+		byte[] chunk = new byte[1024 * 1024];
+		new Random(42).nextBytes(chunk);
+		try (OutputStream output = new FileOutputStream(file)) {
+			for (int i = 0; i < megabytes; i++) {
+				output.write(chunk);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Benchmark
+	public Map<String, String> singlePass() throws Exception {
+		return ChecksumCalculator.calculate(file, ALGORITHMS);
+	}
+
+	@Benchmark
+	public void passPerAlgorithm(Blackhole blackhole) throws Exception {
+		for (String algorithm : ALGORITHMS) {
+			blackhole.consume(ChecksumCalculator.calculate(file, Collections.singletonList(algorithm)));
+		}
+	}
+
+}
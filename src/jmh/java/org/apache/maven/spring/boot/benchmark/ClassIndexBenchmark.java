@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.spring.boot.index.ClassIndex;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading generated jars into a {@link ClassIndex} and looking up the jars of a
+ * class name in it.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClassIndexBenchmark {
+
+	@Param("100")
+	public int jars;
+
+	@Param("1000")
+	public int classes;
+
+	private List<Artifact> artifacts;
+	private ClassIndex index;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		File directory = Files.createTempDirectory("benchmark-class-index").toFile();
+		artifacts = new ArrayList<>();
+		for (int i = 0; i < jars; i++) {
+			File file = new File(directory, "lib-" + i + "-1.0.jar");
+			try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+				for (int c = 0; c < classes; c++) {
+					output.putNextEntry(new ZipEntry("org/example/lib" + i + "/Class" + c + ".class"));
+					output.closeEntry();
+				}
+			}
+			artifacts.add(new DefaultArtifact("org.example:lib-" + i + ":1.0").setFile(file));
+		}
+		index = new ClassIndex(null, 4);
+		index.index(artifacts);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		index.shutdown();
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int index() {
+		ClassIndex fresh = new ClassIndex(null, 4);
+		try {
+			fresh.index(artifacts);
+			return fresh.size();
+		} finally {
+			fresh.shutdown();
+		}
+	}
+
+	@Benchmark
+	public Set<String> findArtifacts() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return index.findArtifacts("org.example.lib" + random.nextInt(jars) + ".Class" + random.nextInt(classes));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.EmbeddedRepositoryServer;
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.RepositoryFixture;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Eight threads resolving through one {@link MavenClientTemplate} and one local
+ * repository from an {@link EmbeddedRepositoryServer} with latency and limited
+ * bandwidth, the caches of the template disabled. The allocation per operation
+ * is reported with {@code -Djmh.args="-prof gc"}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConcurrentResolutionBenchmark {
+
+	@Param("50")
+	public int artifacts;
+
+	private RepositoryFixture fixture;
+	private EmbeddedRepositoryServer server;
+	private MavenClientTemplate template;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fixture = new RepositoryFixture(Files.createTempDirectory("benchmark-remote").toFile(), artifacts, 2, 3,
+				64 * 1024).generate();
+		server = new EmbeddedRepositoryServer(fixture.getBasedir());
+		server.setLatency(2);
+		server.setBandwidth(20 * 1024 * 1024);
+		MavenClientProperties properties = fixture.properties(Files.createTempDirectory("benchmark-local").toFile(),
+				server.getUrl());
+		// every call goes to the shared local repository
+		properties.getCache().setEnabled(false);
+		template = new MavenClientTemplate(properties);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.close();
+	}
+
+	private int next() {
+		return ThreadLocalRandom.current().nextInt(artifacts);
+	}
+
+	@Benchmark
+	public ArtifactResult artifact() {
+		return template.artifact(fixture.coordinates(next()));
+	}
+
+	@Benchmark
+	public DependencyResult dependencies() {
+		return template.dependencies(fixture.coordinates(next()));
+	}
+
+}
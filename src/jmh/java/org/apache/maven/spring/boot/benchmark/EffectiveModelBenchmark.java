@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+/**
+ * The effective model of a child pom whose parent imports a large BOM, with and
+ * without the shared parent model cache.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EffectiveModelBenchmark {
+
+	@Param("300")
+	public int children;
+
+	@Param("500")
+	public int managed;
+
+	@Param({ "true", "false" })
+	public boolean shared;
+
+	private MavenClientTemplate template;
+	private File[] poms;
+
+	private void write(File file, String xml) throws Exception {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		File remote = Files.createTempDirectory("benchmark-remote").toFile();
+		StringBuilder bom = new StringBuilder("<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId>"
+				+ "<artifactId>bom</artifactId><version>1.0</version><packaging>pom</packaging><dependencyManagement><dependencies>");
+		for (int i = 0; i < managed; i++) {
+			bom.append("<dependency><groupId>org.example.lib</groupId><artifactId>lib-").append(i)
+					.append("</artifactId><version>2.0.").append(i).append("</version></dependency>");
+		}
+		bom.append("</dependencies></dependencyManagement></project>");
+		write(new File(remote, "org/example/bom/1.0/bom-1.0.pom"), bom.toString());
+		write(new File(remote, "org/example/parent/1.0/parent-1.0.pom"),
+				"<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId><artifactId>parent</artifactId>"
+						+ "<version>1.0</version><packaging>pom</packaging><properties><bom.version>1.0</bom.version></properties>"
+						+ "<dependencyManagement><dependencies><dependency><groupId>org.example</groupId><artifactId>bom</artifactId>"
+						+ "<version>${bom.version}</version><type>pom</type><scope>import</scope></dependency></dependencies>"
+						+ "</dependencyManagement></project>");
+
+		File projects = Files.createTempDirectory("benchmark-children").toFile();
+		poms = new File[children];
+		for (int i = 0; i < children; i++) {
+			poms[i] = new File(projects, "child-" + i + "/pom.xml");
+			write(poms[i], "<project><modelVersion>4.0.0</modelVersion><parent><groupId>org.example</groupId>"
+					+ "<artifactId>parent</artifactId><version>1.0</version><relativePath/></parent>"
+					+ "<artifactId>child-" + i + "</artifactId><dependencies><dependency><groupId>org.example.lib</groupId>"
+					+ "<artifactId>lib-" + (managed - 1) + "</artifactId></dependency></dependencies></project>");
+		}
+
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("benchmark-local").toString());
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		properties.getParentModelCache().setEnabled(shared);
+		template = new MavenClientTemplate(properties);
+		// the parent and the BOM are downloaded once
+		template.effectiveModel(poms[0]);
+	}
+
+	@Benchmark
+	public Model effectiveModel() {
+		return template.effectiveModel(poms[ThreadLocalRandom.current().nextInt(children)]);
+	}
+
+}
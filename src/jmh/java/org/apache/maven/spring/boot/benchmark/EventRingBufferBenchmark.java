@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.event.EventRingBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Offers of four producer threads to the {@link EventRingBuffer} drained by one
+ * consumer, as the transfer listener threads and the publisher thread do.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRingBufferBenchmark {
+
+	private final EventRingBuffer<Long> buffer = new EventRingBuffer<>(1024);
+
+	@Benchmark
+	@Group("ring")
+	@GroupThreads(4)
+	public boolean offer() {
+		return buffer.offer(42L);
+	}
+
+	@Benchmark
+	@Group("ring")
+	@GroupThreads(1)
+	public Long poll() {
+		return buffer.poll();
+	}
+
+}
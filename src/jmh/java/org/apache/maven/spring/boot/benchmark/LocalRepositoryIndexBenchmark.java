@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An offline artifact() of a generated local repository served by the local
+ * repository index and by Aether, the caches of the template disabled.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalRepositoryIndexBenchmark {
+
+	@Param("1000")
+	public int artifacts;
+
+	@Param({ "true", "false" })
+	public boolean indexed;
+
+	private MavenClientTemplate template;
+
+	@Setup
+	public void setup() throws Exception {
+		File repository = Files.createTempDirectory("benchmark-local").toFile();
+		for (int i = 0; i < artifacts; i++) {
+			File jar = new File(repository, "org/example/demo-" + i + "/1.0/demo-" + i + "-1.0.jar");
+			jar.getParentFile().mkdirs();
+			Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		}
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(repository.getPath());
+		properties.setOffline(true);
+		properties.setResolvePom(false);
+		properties.getCache().setEnabled(false);
+		properties.getLocalIndex().setEnabled(indexed);
+		properties.getLocalIndex().setWatch(false);
+		template = new MavenClientTemplate(properties);
+		if (indexed) {
+			template.getLocalRepositoryIndex().build();
+		}
+	}
+
+	@Benchmark
+	public ArtifactResult artifact() {
+		return template.artifact("org.example:demo-" + ThreadLocalRandom.current().nextInt(artifacts) + ":1.0");
+	}
+
+}
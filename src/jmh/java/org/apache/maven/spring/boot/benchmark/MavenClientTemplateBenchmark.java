@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.RepositoryFixture;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.version.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * The resolution hot paths of {@link MavenClientTemplate} against a generated
+ * file:// repository. Every artifact is downloaded once during the setup, the
+ * benchmarks measure the resolutions served by the local repository and the
+ * caches, on a random artifact of the fixture.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}, the size of the
+ * fixture is set with e.g. {@code -Djmh.args="-p artifacts=10000"}.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MavenClientTemplateBenchmark {
+
+	@Param("1000")
+	public int artifacts;
+
+	@Param({ "true", "false" })
+	public boolean cache;
+
+	private RepositoryFixture fixture;
+	private MavenClientProperties properties;
+	private MavenClientTemplate template;
+	private File jar;
+	private List<String> ranges;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		fixture = new RepositoryFixture(Files.createTempDirectory("benchmark-remote").toFile(), artifacts, 3, 3, 1024)
+				.generate();
+		properties = fixture.properties(Files.createTempDirectory("benchmark-local").toFile());
+		properties.getCache().setEnabled(cache);
+		template = new MavenClientTemplate(properties);
+		for (int i = 0; i < artifacts; i++) {
+			template.dependencies(fixture.coordinates(i));
+		}
+		jar = template.artifact(fixture.coordinates(0)).getArtifact().getFile();
+		ranges = new ArrayList<>(artifacts);
+		for (int i = 0; i < artifacts; i++) {
+			ranges.add(fixture.range(i));
+		}
+	}
+
+	private int next() {
+		return ThreadLocalRandom.current().nextInt(artifacts);
+	}
+
+	@Benchmark
+	public ArtifactResult artifact() {
+		return template.artifact(fixture.coordinates(next()));
+	}
+
+	@Benchmark
+	public Resource resource() {
+		return template.resource(fixture.coordinates(next()));
+	}
+
+	@Benchmark
+	public DependencyResult dependencies() {
+		return template.dependencies(fixture.coordinates(next()));
+	}
+
+	@Benchmark
+	public VersionRangeResult versionRange() {
+		return template.versionRange(fixture.range(next()));
+	}
+
+	@Benchmark
+	public Map<String, VersionRangeResult> versionRanges() {
+		return template.versionRanges(ranges);
+	}
+
+	@Benchmark
+	public Version lastVersion() {
+		return template.lastVersion(MavenResource.parse(fixture.coordinates(next()), properties));
+	}
+
+	@Benchmark
+	public Model resolve() throws Exception {
+		return template.resolve(jar);
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of building the repository system and a session, paid by every
+ * template and, without session reuse, by every call.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorySystemBenchmark {
+
+	private RepositorySystem repositorySystem;
+	private MavenClientProperties properties;
+
+	@Setup
+	public void setup() throws Exception {
+		repositorySystem = RepositorySystemUtils.newRepositorySystem();
+		properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("benchmark-local").toString());
+	}
+
+	@Benchmark
+	public RepositorySystem newRepositorySystem() {
+		return RepositorySystemUtils.newRepositorySystem();
+	}
+
+	@Benchmark
+	public RepositorySystemSession newRepositorySystemSession() {
+		return RepositorySystemUtils.newRepositorySystemSession(repositorySystem, properties, null);
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * An offline artifact() of an installed artifact with a session built per call
+ * and with the shared session, the caches of the template disabled.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SessionReuseBenchmark {
+
+	private static final String COORDINATES = "org.example:session-bench:1.0.0";
+
+	@Param({ "true", "false" })
+	public boolean reuseSession;
+
+	private MavenClientTemplate template;
+
+	@Setup
+	public void setup() throws Exception {
+		File jar = File.createTempFile("session-bench", ".jar");
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("benchmark-local").toString());
+		properties.setOffline(true);
+		properties.setReuseSession(reuseSession);
+		properties.getCache().setEnabled(false);
+		template = new MavenClientTemplate(properties);
+		template.install(jar, COORDINATES);
+	}
+
+	@Benchmark
+	public ArtifactResult artifact() {
+		return template.artifact(COORDINATES);
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.cache.VersionIndex;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A version range query on the sorted versions of the {@link VersionIndex}
+ * compared to the former copy and sort of the complete list on every call.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VersionIndexBenchmark {
+
+	private TreeMap<Version, ArtifactRepository> versions;
+	private VersionIndex.Entry entry;
+	private VersionConstraint constraint;
+
+	@Setup
+	public void setup() throws Exception {
+		GenericVersionScheme scheme = new GenericVersionScheme();
+		RemoteRepository central = new RemoteRepository.Builder("central", "default",
+				"https://repo.maven.apache.org/maven2/").build();
+		versions = new TreeMap<>();
+		for (int major = 1; major <= 50; major++) {
+			for (int minor = 0; minor < 40; minor++) {
+				versions.put(scheme.parseVersion(major + "." + minor), central);
+			}
+		}
+		VersionIndex index = new VersionIndex(100);
+		index.put("org.example", "example", versions);
+		entry = index.get("org.example", "example", Long.MAX_VALUE);
+		constraint = scheme.parseVersionConstraint("[2.0,2.10)");
+	}
+
+	@Benchmark
+	public List<Version> sort() {
+		List<Version> copy = new ArrayList<>(versions.keySet());
+		Collections.sort(copy);
+		return copy;
+	}
+
+	@Benchmark
+	public List<Version> range() {
+		return entry.range(constraint);
+	}
+
+}
@@ -3,18 +3,27 @@ package org.apache.maven.spring.boot;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.maven.spring.boot.event.TransferEndpoint;
+import org.apache.maven.spring.boot.event.TransferEventBridge;
+import org.apache.maven.spring.boot.ext.MavenClientAsyncTemplate;
 import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.apache.maven.spring.boot.metrics.MavenClientMetrics;
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
 import org.eclipse.aether.transport.file.FileTransporterFactory;
 import org.eclipse.aether.transport.http.HttpTransporterFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @ConditionalOnClass({ LocalRepository.class, RepositoryConnectorFactory.class, FileTransporterFactory.class, HttpTransporterFactory.class })
 @EnableConfigurationProperties({ MavenClientProperties.class })
@@ -27,9 +36,63 @@ public class MavenClientAutoConfiguration {
 	};
 	
 	
-	@Bean
-	public MavenClientTemplate mavenInvokerTemplate(MavenClientProperties mavenProperties) {
-		return new MavenClientTemplate(mavenProperties);
+	@Bean(destroyMethod = "shutdown")
+	public MavenClientTemplate mavenInvokerTemplate(MavenClientProperties mavenProperties,
+			ApplicationEventPublisher eventPublisher) {
+		MavenClientTemplate template = new MavenClientTemplate(mavenProperties);
+		if (template.getCircuitBreaker() != null) {
+			template.getCircuitBreaker().setEventPublisher(eventPublisher);
+		}
+		return template;
+	}
+	
+	@Bean(destroyMethod = "shutdown")
+	public MavenClientAsyncTemplate mavenClientAsyncTemplate(MavenClientTemplate mavenClientTemplate,
+			MavenClientProperties mavenProperties) {
+		return new MavenClientAsyncTemplate(mavenClientTemplate, mavenProperties.getAsync());
+	}
+
+	@Configuration
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = MavenClientProperties.PREFIX + ".metrics", name = "enabled", matchIfMissing = true)
+	static class MavenClientMetricsConfiguration {
+
+		@Bean
+		public MavenClientMetrics mavenClientMetrics(MavenClientTemplate mavenClientTemplate,
+				MavenClientProperties mavenProperties) {
+			return new MavenClientMetrics(mavenClientTemplate, mavenProperties.getMetrics().isHistogram());
+		}
+
+	}
+
+	@Configuration
+	@ConditionalOnProperty(prefix = MavenClientProperties.PREFIX + ".events", name = "enabled")
+	static class MavenClientEventsConfiguration {
+
+		@Bean(destroyMethod = "shutdown")
+		public TransferEventBridge transferEventBridge(MavenClientTemplate mavenClientTemplate,
+				MavenClientProperties mavenProperties, ApplicationEventPublisher eventPublisher) {
+			MavenClientProperties.Events events = mavenProperties.getEvents();
+			TransferEventBridge bridge = new TransferEventBridge(eventPublisher,
+					mavenClientTemplate.getRemoteRepositories(), events.getBufferSize(),
+					events.getStallTimeout().toMillis());
+			// chained after the checksum listener and the circuit breaker
+			mavenClientTemplate.getSessionFactory().addTransferListener(bridge.getTransferListener());
+			mavenClientTemplate.getSessionFactory().addRepositoryListener(bridge.getRepositoryListener());
+			return bridge;
+		}
+
+		@Configuration
+		@ConditionalOnClass(Endpoint.class)
+		static class TransferEndpointConfiguration {
+
+			@Bean
+			public TransferEndpoint transferEndpoint(TransferEventBridge transferEventBridge) {
+				return new TransferEndpoint(transferEventBridge);
+			}
+
+		}
+
 	}
 
 }
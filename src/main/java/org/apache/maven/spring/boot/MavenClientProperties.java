@@ -15,7 +15,14 @@
  */
 package org.apache.maven.spring.boot;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.spring.boot.local.LocalRepositoryScanner;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 
 /**
@@ -43,6 +50,118 @@ public class MavenClientProperties extends MavenProperties {
 	 */
 	private boolean resolveSources;
 	
+	/*
+	 * If true, a single long-lived repository session (with its data pool and
+	 * descriptor cache) is shared by all operations of the template instead of
+	 * building a new session for every call.
+	 */
+	private boolean reuseSession = true;
+
+	/*
+	 * Number of threads used to download the artifacts or metadata of one
+	 * resolution in parallel.
+	 */
+	private int downloadThreads = 5;
+
+	/*
+	 * If true, concurrent identical resolutions share a single in-flight request.
+	 */
+	private boolean coalesceRequests = true;
+
+	/*
+	 * Executor settings of the asynchronous template.
+	 */
+	private Async async = new Async();
+
+	/*
+	 * Settings of the in-memory cache of resolved artifacts.
+	 */
+	private Cache cache = new Cache();
+
+	/*
+	 * Settings of the cache of artifacts that were not found.
+	 */
+	private NegativeCache negativeCache = new NegativeCache();
+
+	/*
+	 * Settings of the cache of resolved dependency graphs.
+	 */
+	private DependencyCache dependencyCache = new DependencyCache();
+
+	/*
+	 * Settings of hedged resolution across the remote repositories.
+	 */
+	private Hedging hedging = new Hedging();
+
+	/*
+	 * Settings of the latency aware ordering of the remote repositories.
+	 */
+	private Routing routing = new Routing();
+
+	/*
+	 * Settings of the circuit breaker of the remote repositories.
+	 */
+	private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+	/*
+	 * Settings of the index of available versions used by lastVersion and
+	 * versionRange.
+	 */
+	private VersionIndex versionIndex = new VersionIndex();
+
+	/*
+	 * Settings of the cache of the models read from jar files.
+	 */
+	private ModelCache modelCache = new ModelCache();
+
+	/*
+	 * Settings of the cache of parent and imported models shared by the effective
+	 * model builds.
+	 */
+	private ParentModelCache parentModelCache = new ParentModelCache();
+
+	/*
+	 * Settings of the index of the classes provided by the resolved jars.
+	 */
+	private ClassIndex classIndex = new ClassIndex();
+
+	/*
+	 * Settings of the additional checksums verified on download and written on
+	 * install and deploy.
+	 */
+	private Checksums checksums = new Checksums();
+
+	/*
+	 * Settings of the integrity scanner of the local repository.
+	 */
+	private Scanner scanner = new Scanner();
+
+	/*
+	 * Settings of the eviction of least recently used artifacts from the local
+	 * repository.
+	 */
+	private Eviction eviction = new Eviction();
+
+	/*
+	 * Settings of the in-memory index of the local repository.
+	 */
+	private LocalIndex localIndex = new LocalIndex();
+
+	/*
+	 * Micrometer metrics of the operations, transfers and caches.
+	 */
+	private Metrics metrics = new Metrics();
+
+	/*
+	 * Application events of the transfers and repository operations.
+	 */
+	private Events events = new Events();
+
+	/*
+	 * Parallel bulk deployment.
+	 */
+	private Deploy deploy = new Deploy();
+	
 	/*
 	 * Indicates whether the locally cached copy of the metadata should be removed
 	 * if the corresponding file does not exist (any more) in the remote repository.
@@ -117,4 +236,1020 @@ public class MavenClientProperties extends MavenProperties {
 		this.resolveSources = resolveSources;
 	}
 
+	public boolean isReuseSession() {
+		return reuseSession;
+	}
+
+	public void setReuseSession(boolean reuseSession) {
+		this.reuseSession = reuseSession;
+	}
+
+	public int getDownloadThreads() {
+		return downloadThreads;
+	}
+
+	public void setDownloadThreads(int downloadThreads) {
+		this.downloadThreads = downloadThreads;
+	}
+
+	public boolean isCoalesceRequests() {
+		return coalesceRequests;
+	}
+
+	public void setCoalesceRequests(boolean coalesceRequests) {
+		this.coalesceRequests = coalesceRequests;
+	}
+
+	public Async getAsync() {
+		return async;
+	}
+
+	public void setAsync(Async async) {
+		this.async = async;
+	}
+
+	public static class Async {
+
+		/*
+		 * Number of threads resolving artifacts concurrently.
+		 */
+		private int poolSize = 16;
+
+		/*
+		 * Maximum number of requests waiting for a free thread, further requests are
+		 * rejected.
+		 */
+		private int queueCapacity = 1024;
+
+		/*
+		 * If true and the JDK supports them, run each request on a virtual thread, the
+		 * pool size then bounds the number of concurrent resolutions and the queue
+		 * capacity the number of waiting ones.
+		 */
+		private boolean virtualThreads;
+
+		/*
+		 * Prefix for the names of the executor threads.
+		 */
+		private String threadNamePrefix = "maven-client-";
+
+		public int getPoolSize() {
+			return poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public int getQueueCapacity() {
+			return queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public boolean isVirtualThreads() {
+			return virtualThreads;
+		}
+
+		public void setVirtualThreads(boolean virtualThreads) {
+			this.virtualThreads = virtualThreads;
+		}
+
+		public String getThreadNamePrefix() {
+			return threadNamePrefix;
+		}
+
+		public void setThreadNamePrefix(String threadNamePrefix) {
+			this.threadNamePrefix = threadNamePrefix;
+		}
+
+	}
+
+	public Cache getCache() {
+		return cache;
+	}
+
+	public void setCache(Cache cache) {
+		this.cache = cache;
+	}
+
+	public static class Cache {
+
+		/*
+		 * If true, resolved artifacts are kept in memory and returned without going
+		 * through the repository system again.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of cached artifacts, the least recently used are evicted
+		 * first.
+		 */
+		private int maximumSize = 10000;
+
+		/*
+		 * Time to live of SNAPSHOT, LATEST/RELEASE and range entries, release entries
+		 * never expire.
+		 */
+		private Duration snapshotTtl = Duration.ofMinutes(1);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public Duration getSnapshotTtl() {
+			return snapshotTtl;
+		}
+
+		public void setSnapshotTtl(Duration snapshotTtl) {
+			this.snapshotTtl = snapshotTtl;
+		}
+
+	}
+
+	public NegativeCache getNegativeCache() {
+		return negativeCache;
+	}
+
+	public void setNegativeCache(NegativeCache negativeCache) {
+		this.negativeCache = negativeCache;
+	}
+
+	public static class NegativeCache {
+
+		/*
+		 * If true, artifacts that were not found in any remote repository fail fast
+		 * until the entry expires or the artifact is installed or deployed.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of cached failures.
+		 */
+		private int maximumSize = 10000;
+
+		/*
+		 * Time to live of a cached failure.
+		 */
+		private Duration ttl = Duration.ofMinutes(5);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public Duration getTtl() {
+			return ttl;
+		}
+
+		public void setTtl(Duration ttl) {
+			this.ttl = ttl;
+		}
+
+	}
+
+	public DependencyCache getDependencyCache() {
+		return dependencyCache;
+	}
+
+	public void setDependencyCache(DependencyCache dependencyCache) {
+		this.dependencyCache = dependencyCache;
+	}
+
+	public static class DependencyCache {
+
+		/*
+		 * If true, resolved dependency graphs are kept in memory. Graphs with SNAPSHOT
+		 * members expire after cache.snapshot-ttl.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of graphs held in memory.
+		 */
+		private int maximumSize = 1000;
+
+		/*
+		 * If true, graphs without SNAPSHOT members are also written below the local
+		 * repository and survive a restart.
+		 */
+		private boolean persistent;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+	}
+
+	public Hedging getHedging() {
+		return hedging;
+	}
+
+	public void setHedging(Hedging hedging) {
+		this.hedging = hedging;
+	}
+
+	public static class Hedging {
+
+		/*
+		 * If true, artifacts are requested from the remote repositories concurrently
+		 * and the first successful answer wins.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Time to wait for an answer before the next repository is asked as well, 0
+		 * asks all repositories at once.
+		 */
+		private Duration delay = Duration.ofMillis(200);
+
+		/*
+		 * If greater than 0, the given percentile of the observed resolution latencies
+		 * replaces the fixed delay once enough samples were collected.
+		 */
+		private double percentile;
+
+		/*
+		 * Maximum number of concurrent attempts.
+		 */
+		private int threads = 32;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getDelay() {
+			return delay;
+		}
+
+		public void setDelay(Duration delay) {
+			this.delay = delay;
+		}
+
+		public double getPercentile() {
+			return percentile;
+		}
+
+		public void setPercentile(double percentile) {
+			this.percentile = percentile;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+	}
+
+	public Routing getRouting() {
+		return routing;
+	}
+
+	public void setRouting(Routing routing) {
+		this.routing = routing;
+	}
+
+	public static class Routing {
+
+		/*
+		 * If true, the remote repositories of each request are ordered by their
+		 * observed success rate and latency instead of the configured order.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Weight of a new sample in the moving averages of success rate and latency,
+		 * higher values adapt faster.
+		 */
+		private double decay = 0.2d;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public double getDecay() {
+			return decay;
+		}
+
+		public void setDecay(double decay) {
+			this.decay = decay;
+		}
+
+	}
+
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	public static class CircuitBreaker {
+
+		/*
+		 * If true, a remote repository is skipped while it keeps failing.
+		 */
+		private boolean enabled = false;
+
+		/*
+		 * Number of consecutive transport failures after which a repository is
+		 * skipped.
+		 */
+		private int failureThreshold = 5;
+
+		/*
+		 * Time a failing repository is skipped before a single request probes it
+		 * again.
+		 */
+		private Duration openDuration = Duration.ofSeconds(30);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getFailureThreshold() {
+			return failureThreshold;
+		}
+
+		public void setFailureThreshold(int failureThreshold) {
+			this.failureThreshold = failureThreshold;
+		}
+
+		public Duration getOpenDuration() {
+			return openDuration;
+		}
+
+		public void setOpenDuration(Duration openDuration) {
+			this.openDuration = openDuration;
+		}
+
+	}
+
+	public VersionIndex getVersionIndex() {
+		return versionIndex;
+	}
+
+	public void setVersionIndex(VersionIndex versionIndex) {
+		this.versionIndex = versionIndex;
+	}
+
+	public static class VersionIndex {
+
+		/*
+		 * If true, the versions of each groupId:artifactId are kept sorted in memory
+		 * until the update policy of the repositories requires a refresh.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of groupId:artifactId entries.
+		 */
+		private int maximumSize = 10000;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+	}
+
+	public ModelCache getModelCache() {
+		return modelCache;
+	}
+
+	public void setModelCache(ModelCache modelCache) {
+		this.modelCache = modelCache;
+	}
+
+	public static class ModelCache {
+
+		/*
+		 * If true, the models read from jar files are cached until the jar changes.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of cached models.
+		 */
+		private int maximumSize = 1000;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+	}
+
+	public ParentModelCache getParentModelCache() {
+		return parentModelCache;
+	}
+
+	public void setParentModelCache(ParentModelCache parentModelCache) {
+		this.parentModelCache = parentModelCache;
+	}
+
+	public static class ParentModelCache {
+
+		/*
+		 * If true, parent and imported models are parsed once and shared by all
+		 * effective model builds.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * Maximum number of cached parts of models, each model takes a few entries.
+		 */
+		private int maximumSize = 5000;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+	}
+
+	public ClassIndex getClassIndex() {
+		return classIndex;
+	}
+
+	public void setClassIndex(ClassIndex classIndex) {
+		this.classIndex = classIndex;
+	}
+
+	public static class ClassIndex {
+
+		/*
+		 * If true, the classes of every resolved jar are indexed in the background.
+		 */
+		private boolean enabled;
+
+		/*
+		 * If true, the index is written next to the local repository and reloaded on
+		 * start, only new or changed jars are read again.
+		 */
+		private boolean persistent = true;
+
+		/*
+		 * Number of threads reading jars.
+		 */
+		private int threads = 4;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+	}
+
+	public Checksums getChecksums() {
+		return checksums;
+	}
+
+	public void setChecksums(Checksums checksums) {
+		this.checksums = checksums;
+	}
+
+	public static class Checksums {
+
+		/*
+		 * If true, the digests of the algorithms are computed while the bytes of a
+		 * download arrive and verified against the sidecar files of the remote
+		 * repository, and sidecar files are written on install and deploy.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Digest algorithms computed in one pass. SHA-1 and MD5 are always verified
+		 * and written by Aether itself.
+		 */
+		private List<String> algorithms = new ArrayList<>(Arrays.asList("SHA-256", "SHA-512"));
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public List<String> getAlgorithms() {
+			return algorithms;
+		}
+
+		public void setAlgorithms(List<String> algorithms) {
+			this.algorithms = algorithms;
+		}
+
+	}
+
+	public Scanner getScanner() {
+		return scanner;
+	}
+
+	public void setScanner(Scanner scanner) {
+		this.scanner = scanner;
+	}
+
+	public static class Scanner {
+
+		/*
+		 * If true, the files of the local repository are verified against their
+		 * checksum files and zip central directory.
+		 */
+		private boolean enabled;
+
+		/*
+		 * What is done with corrupt files: REPORT, QUARANTINE or REFETCH.
+		 */
+		private LocalRepositoryScanner.Action action = LocalRepositoryScanner.Action.QUARANTINE;
+
+		/*
+		 * Parallelism of the walk.
+		 */
+		private int threads = 4;
+
+		/*
+		 * If true, the size and modification time of the intact files are written
+		 * next to the local repository, so that rescans after a restart stay
+		 * incremental.
+		 */
+		private boolean persistent = true;
+
+		/*
+		 * Delay between two background scans, 0 only scans on demand.
+		 */
+		private Duration interval = Duration.ZERO;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public LocalRepositoryScanner.Action getAction() {
+			return action;
+		}
+
+		public void setAction(LocalRepositoryScanner.Action action) {
+			this.action = action;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+	}
+
+	public Eviction getEviction() {
+		return eviction;
+	}
+
+	public void setEviction(Eviction eviction) {
+		this.eviction = eviction;
+	}
+
+	public static class Eviction {
+
+		/*
+		 * If true, least recently used version directories are deleted from the
+		 * local repository in the background.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Maximum size of the local repository, 0 for no limit.
+		 */
+		private DataSize maximumSize = DataSize.ofGigabytes(10);
+
+		/*
+		 * Maximum number of versions kept per groupId:artifactId, 0 for no limit.
+		 */
+		private int maximumVersions;
+
+		/*
+		 * Time a version directory is kept after it was accessed, whatever the
+		 * limits.
+		 */
+		private Duration minimumAge = Duration.ofMinutes(10);
+
+		/*
+		 * Delay between two eviction passes.
+		 */
+		private Duration interval = Duration.ofMinutes(10);
+
+		/*
+		 * If true, the access times are written next to the local repository and
+		 * reloaded on start.
+		 */
+		private boolean persistent = true;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public DataSize getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(DataSize maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+
+		public int getMaximumVersions() {
+			return maximumVersions;
+		}
+
+		public void setMaximumVersions(int maximumVersions) {
+			this.maximumVersions = maximumVersions;
+		}
+
+		public Duration getMinimumAge() {
+			return minimumAge;
+		}
+
+		public void setMinimumAge(Duration minimumAge) {
+			this.minimumAge = minimumAge;
+		}
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+		public boolean isPersistent() {
+			return persistent;
+		}
+
+		public void setPersistent(boolean persistent) {
+			this.persistent = persistent;
+		}
+
+	}
+
+	public LocalIndex getLocalIndex() {
+		return localIndex;
+	}
+
+	public void setLocalIndex(LocalIndex localIndex) {
+		this.localIndex = localIndex;
+	}
+
+	public static class LocalIndex {
+
+		/*
+		 * If true, the local repository is indexed on start and release artifacts
+		 * found in the index are served without asking Aether.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Parallelism of the walk.
+		 */
+		private int threads = 4;
+
+		/*
+		 * If true, changes of the local repository made by other processes are
+		 * followed with a WatchService.
+		 */
+		private boolean watch = true;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getThreads() {
+			return threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+		public boolean isWatch() {
+			return watch;
+		}
+
+		public void setWatch(boolean watch) {
+			this.watch = watch;
+		}
+
+	}
+
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	public static class Metrics {
+
+		/*
+		 * If true, the template is instrumented when Micrometer is on the classpath.
+		 */
+		private boolean enabled = true;
+
+		/*
+		 * If true, the timers publish a percentile histogram.
+		 */
+		private boolean histogram = true;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isHistogram() {
+			return histogram;
+		}
+
+		public void setHistogram(boolean histogram) {
+			this.histogram = histogram;
+		}
+
+	}
+
+	public Events getEvents() {
+		return events;
+	}
+
+	public void setEvents(Events events) {
+		this.events = events;
+	}
+
+	public static class Events {
+
+		/*
+		 * If true, transfers and repository operations are published as application
+		 * events and the transfers in flight are tracked.
+		 */
+		private boolean enabled;
+
+		/*
+		 * Maximum number of events waiting to be published, more are dropped.
+		 */
+		private int bufferSize = 4096;
+
+		/*
+		 * Time without progress after which a transfer is reported as stalled, zero
+		 * to disable.
+		 */
+		private Duration stallTimeout = Duration.ofSeconds(30);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public void setBufferSize(int bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+		public Duration getStallTimeout() {
+			return stallTimeout;
+		}
+
+		public void setStallTimeout(Duration stallTimeout) {
+			this.stallTimeout = stallTimeout;
+		}
+
+	}
+
+	public Deploy getDeploy() {
+		return deploy;
+	}
+
+	public void setDeploy(Deploy deploy) {
+		this.deploy = deploy;
+	}
+
+	public static class Deploy {
+
+		/*
+		 * Maximum number of parallel uploads of a bulk deployment.
+		 */
+		private int concurrency = 4;
+
+		/*
+		 * Maximum number of attempts of an upload, server errors, timeouts and I/O
+		 * failures are retried.
+		 */
+		private int maxAttempts = 3;
+
+		/*
+		 * Delay before the first retry, doubled by every other retry.
+		 */
+		private Duration backoff = Duration.ofMillis(500);
+
+		/*
+		 * Maximum delay between two attempts.
+		 */
+		private Duration maxBackoff = Duration.ofSeconds(10);
+
+		/*
+		 * If true, a release artifact whose remote checksum matches the local file is
+		 * not uploaded again. SHA-256 is compared when its sidecars are published,
+		 * SHA-1 otherwise or where the remote SHA-256 is not found.
+		 */
+		private boolean skipUnchanged;
+
+		public int getConcurrency() {
+			return concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+
+		public int getMaxAttempts() {
+			return maxAttempts;
+		}
+
+		public void setMaxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Duration getBackoff() {
+			return backoff;
+		}
+
+		public void setBackoff(Duration backoff) {
+			this.backoff = backoff;
+		}
+
+		public Duration getMaxBackoff() {
+			return maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+
+		public boolean isSkipUnchanged() {
+			return skipUnchanged;
+		}
+
+		public void setSkipUnchanged(boolean skipUnchanged) {
+			this.skipUnchanged = skipUnchanged;
+		}
+
+	}
+
 }
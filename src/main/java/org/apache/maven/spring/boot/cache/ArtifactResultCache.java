@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * Cache of resolved artifacts placed in front of the artifact resolution of
+ * {@link org.apache.maven.spring.boot.ext.MavenClientTemplate}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface ArtifactResultCache {
+
+	/**
+	 * @param artifact the requested artifact
+	 * @return the cached result, or {@code null} if absent, expired or the file of
+	 *         the artifact no longer exists
+	 */
+	ArtifactResult get(Artifact artifact);
+
+	void put(Artifact artifact, ArtifactResult result);
+
+	void invalidate(Artifact artifact);
+
+	void clear();
+
+	long getHitCount();
+
+	long getMissCount();
+
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.spring.boot.utils.ArtifactUtils;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.version.VersionConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Cache of resolved dependency graphs keyed by root artifact, remote repository
+ * set and scope. Graphs are held in a size bounded LRU map; graphs of fixed
+ * release versions can additionally be written to a compact text format so that
+ * a restarted node answers without collecting the graph again. Graphs with a
+ * SNAPSHOT, LATEST or RELEASE member, or a member resolved through a version
+ * range, expire after the snapshot time to live and are never persisted. A
+ * graph is dropped, from memory and disk, as soon as one of its members is
+ * installed or deployed, looked up in an index of the graphs per member which
+ * is built from the persisted graphs once, on the first invalidation. Each hit returns a copy of the cached result, which
+ * callers may modify.
+ *
+ * <p>
+ * The persisted format has one line per node in pre-order:
+ * {@code depth TAB coordinates TAB scope TAB optional TAB file}.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class DependencyGraphCache {
+
+	private static final Logger log = LoggerFactory.getLogger(DependencyGraphCache.class);
+	private static final String NO_FILE = "-";
+	private final long snapshotTtl;
+	private final File directory;
+	private final Map<String, Entry> entries;
+	/*
+	 * member coordinates -> keys of the graphs containing it, in memory and
+	 * persisted, guarded by itself.
+	 */
+	private final Map<String, Set<String>> graphs = new HashMap<>();
+	private boolean indexed;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of graphs held in memory
+	 * @param snapshotTtl the time to live of graphs with SNAPSHOT members in
+	 *                    milliseconds
+	 * @param directory   the directory release graphs are persisted to, may be
+	 *                    {@code null} to keep the graphs in memory only
+	 */
+	public DependencyGraphCache(final int maximumSize, long snapshotTtl, File directory) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.snapshotTtl = snapshotTtl;
+		this.directory = directory;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() <= maximumSize) {
+					return false;
+				}
+				if (eldest.getValue().expiresAt != Long.MAX_VALUE || DependencyGraphCache.this.directory == null) {
+					// not persisted, gone for good
+					unindex(eldest.getKey(), eldest.getValue().members);
+				}
+				return true;
+			}
+
+		};
+	}
+
+	public DependencyResult get(Artifact root, List<RemoteRepository> repositories, String scope) {
+		String key = key(root, repositories, scope);
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null && (entry.isExpired() || !entry.exists())) {
+			synchronized (entries) {
+				entries.remove(key, entry);
+			}
+			entry = null;
+		}
+		if (entry == null && directory != null && !ArtifactUtils.isVolatile(root)) {
+			entry = this.read(key);
+			if (entry != null) {
+				synchronized (entries) {
+					entries.put(key, entry);
+				}
+			}
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return RepositorySystemUtils.copyDependencyResult(entry.result);
+	}
+
+	public void put(Artifact root, List<RemoteRepository> repositories, String scope, DependencyResult result) {
+		if (result == null || !result.getCollectExceptions().isEmpty()) {
+			return;
+		}
+		String key = key(root, repositories, scope);
+		result = RepositorySystemUtils.copyDependencyResult(result);
+		Entry entry = new Entry(result, Long.MAX_VALUE);
+		if (entry.changing || ArtifactUtils.isVolatile(root)) {
+			entry = new Entry(result, System.currentTimeMillis() + snapshotTtl);
+		} else if (directory != null) {
+			this.write(key, result);
+		}
+		this.index(key, entry.members);
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * Drop the graphs that contain the given artifact, in memory and persisted.
+	 *
+	 * @param artifact the installed or deployed artifact
+	 */
+	public void invalidate(Artifact artifact) {
+		Set<String> keys;
+		synchronized (graphs) {
+			if (!indexed) {
+				this.indexPersisted();
+				indexed = true;
+			}
+			keys = graphs.remove(artifact.toString());
+		}
+		if (keys == null) {
+			return;
+		}
+		for (String key : keys) {
+			Entry entry;
+			synchronized (entries) {
+				entry = entries.remove(key);
+			}
+			if (entry != null) {
+				this.unindex(key, entry.members);
+			}
+			if (directory != null) {
+				File file = this.file(key);
+				if (!file.delete() && file.exists()) {
+					log.warn("Unable to delete dependency graph " + file);
+				}
+			}
+		}
+	}
+
+	private void index(String key, Set<String> members) {
+		synchronized (graphs) {
+			for (String member : members) {
+				graphs.computeIfAbsent(member, coordinates -> new HashSet<>()).add(key);
+			}
+		}
+	}
+
+	private void unindex(String key, Set<String> members) {
+		synchronized (graphs) {
+			for (String member : members) {
+				Set<String> keys = graphs.get(member);
+				if (keys != null && keys.remove(key) && keys.isEmpty()) {
+					graphs.remove(member);
+				}
+			}
+		}
+	}
+
+	/*
+	 * The graphs persisted by an earlier run, read once: the key line and the
+	 * coordinates column of each node.
+	 */
+	private void indexPersisted() {
+		File[] files = directory != null ? directory.listFiles((dir, name) -> name.endsWith(".graph")) : null;
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+				String key = reader.readLine();
+				String line;
+				while (key != null && (line = reader.readLine()) != null) {
+					String[] columns = line.split("\t", -1);
+					if (columns.length > 1) {
+						graphs.computeIfAbsent(columns[1], coordinates -> new HashSet<>()).add(key);
+					}
+				}
+			} catch (IOException e) {
+				log.debug("Unable to read dependency graph " + file + ": " + e.getMessage());
+			}
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+		synchronized (graphs) {
+			graphs.clear();
+			// the persisted graphs are indexed again on the next invalidation
+			indexed = false;
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	protected String key(Artifact root, List<RemoteRepository> repositories, String scope) {
+		return root + "|" + (scope != null ? scope : "*") + "|" + RepositorySystemUtils.repositoriesKey(repositories);
+	}
+
+	protected File file(String key) {
+		return new File(directory, DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + ".graph");
+	}
+
+	protected void write(String key, DependencyResult result) {
+		File file = this.file(key);
+		try {
+			Files.createDirectories(directory.toPath());
+			Path temp = Files.createTempFile(directory.toPath(), file.getName(), ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				writer.write(key);
+				writer.newLine();
+				writeNode(writer, result.getRoot(), 0);
+			}
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Unable to persist dependency graph " + key, e);
+		}
+	}
+
+	private static void writeNode(BufferedWriter writer, DependencyNode node, int depth) throws IOException {
+		Artifact artifact = node.getArtifact();
+		Dependency dependency = node.getDependency();
+		File file = artifact.getFile();
+		writer.write(depth + "\t" + artifact + "\t" + (dependency != null ? dependency.getScope() : "") + "\t"
+				+ (dependency != null && dependency.isOptional()) + "\t"
+				+ (file != null ? file.getAbsolutePath() : NO_FILE));
+		writer.newLine();
+		for (DependencyNode child : node.getChildren()) {
+			writeNode(writer, child, depth + 1);
+		}
+	}
+
+	protected Entry read(String key) {
+		File file = this.file(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			if (!key.equals(reader.readLine())) {
+				return null;
+			}
+			DependencyNode root = null;
+			List<ArtifactResult> artifactResults = new ArrayList<>();
+			Deque<List<DependencyNode>> parents = new ArrayDeque<>();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] columns = line.split("\t", -1);
+				int depth = Integer.parseInt(columns[0]);
+				Artifact artifact = new DefaultArtifact(columns[1]);
+				if (!NO_FILE.equals(columns[4])) {
+					artifact = artifact.setFile(new File(columns[4]));
+				}
+				DefaultDependencyNode node;
+				if (depth == 0) {
+					node = new DefaultDependencyNode(artifact);
+					root = node;
+				} else {
+					node = new DefaultDependencyNode(new Dependency(artifact, columns[2],
+							Boolean.valueOf(columns[3])));
+					while (parents.size() > depth) {
+						parents.pop();
+					}
+					parents.peek().add(node);
+					if (artifact.getFile() != null) {
+						ArtifactResult artifactResult = new ArtifactResult(new ArtifactRequest(node));
+						artifactResult.setArtifact(artifact);
+						artifactResults.add(artifactResult);
+					}
+				}
+				List<DependencyNode> children = new ArrayList<>();
+				node.setChildren(children);
+				parents.push(children);
+			}
+			if (root == null) {
+				return null;
+			}
+			DependencyResult result = new DependencyResult(new DependencyRequest());
+			result.setRoot(root);
+			result.setArtifactResults(artifactResults);
+			result.setCycles(Collections.emptyList());
+			result.setCollectExceptions(Collections.emptyList());
+			Entry entry = new Entry(result, Long.MAX_VALUE);
+			return entry.exists() ? entry : null;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Ignoring unreadable dependency graph " + file, e);
+			return null;
+		}
+	}
+
+	private static class Entry {
+
+		private final DependencyResult result;
+		private final long expiresAt;
+		private final Set<String> members = new HashSet<>();
+		private final boolean changing;
+
+		Entry(DependencyResult result, long expiresAt) {
+			this.result = result;
+			this.expiresAt = expiresAt;
+			boolean changing = false;
+			Deque<DependencyNode> nodes = new ArrayDeque<>();
+			if (result.getRoot() != null) {
+				nodes.push(result.getRoot());
+			}
+			while (!nodes.isEmpty()) {
+				DependencyNode node = nodes.pop();
+				if (node.getArtifact() != null) {
+					members.add(node.getArtifact().toString());
+					changing |= ArtifactUtils.isVolatile(node.getArtifact());
+				}
+				// a member resolved through a range may resolve differently later
+				VersionConstraint constraint = node.getVersionConstraint();
+				changing |= constraint != null && constraint.getRange() != null;
+				for (DependencyNode child : node.getChildren()) {
+					nodes.push(child);
+				}
+			}
+			this.changing = changing;
+		}
+
+		boolean isExpired() {
+			return expiresAt != Long.MAX_VALUE && System.currentTimeMillis() > expiresAt;
+		}
+
+		boolean exists() {
+			for (ArtifactResult artifactResult : result.getArtifactResults()) {
+				Artifact artifact = artifactResult.getArtifact();
+				if (artifact != null && (artifact.getFile() == null || !artifact.getFile().isFile())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.spring.boot.utils.ArtifactUtils;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.springframework.util.Assert;
+
+/**
+ * Size bounded LRU {@link ArtifactResultCache}. Release versions are kept until
+ * evicted, SNAPSHOT, LATEST/RELEASE and range versions expire after the
+ * configured time to live. Each hit returns a copy of the cached result, which
+ * callers may modify.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class InMemoryArtifactResultCache implements ArtifactResultCache {
+
+	private final long snapshotTtl;
+	private final Map<String, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of cached artifacts
+	 * @param snapshotTtl the time to live of snapshot entries in milliseconds
+	 */
+	public InMemoryArtifactResultCache(final int maximumSize, long snapshotTtl) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.snapshotTtl = snapshotTtl;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > maximumSize) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+
+		};
+	}
+
+	@Override
+	public ArtifactResult get(Artifact artifact) {
+		String key = artifact.toString();
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+		if (entry != null && (entry.isExpired() || !entry.exists())) {
+			synchronized (entries) {
+				entries.remove(key, entry);
+			}
+			entry = null;
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return RepositorySystemUtils.copyArtifactResult(entry.result);
+	}
+
+	@Override
+	public void put(Artifact artifact, ArtifactResult result) {
+		if (result == null || !result.isResolved()) {
+			return;
+		}
+		long expiresAt = ArtifactUtils.isVolatile(artifact) ? System.currentTimeMillis() + snapshotTtl : Long.MAX_VALUE;
+		synchronized (entries) {
+			entries.put(artifact.toString(), new Entry(RepositorySystemUtils.copyArtifactResult(result), expiresAt));
+		}
+	}
+
+	@Override
+	public void invalidate(Artifact artifact) {
+		synchronized (entries) {
+			entries.remove(artifact.toString());
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	@Override
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static class Entry {
+
+		private final ArtifactResult result;
+		private final long expiresAt;
+
+		Entry(ArtifactResult result, long expiresAt) {
+			this.result = result;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired() {
+			return expiresAt != Long.MAX_VALUE && System.currentTimeMillis() > expiresAt;
+		}
+
+		boolean exists() {
+			File file = result.getArtifact().getFile();
+			return file != null && file.isFile();
+		}
+
+	}
+
+}
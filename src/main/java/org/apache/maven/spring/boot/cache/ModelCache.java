@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.model.Model;
+import org.springframework.util.Assert;
+
+/**
+ * Size bounded LRU cache of the {@link Model} read from a jar, keyed by the path
+ * of the jar. An entry is only returned while the size and the modification time
+ * of the file are unchanged. Models are mutable, so copies are stored and
+ * returned.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class ModelCache {
+
+	private final Map<String, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of cached models
+	 */
+	public ModelCache(final int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maximumSize;
+			}
+
+		};
+	}
+
+	public Model get(File file) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(file.getAbsolutePath());
+		}
+		if (entry == null || entry.length != file.length() || entry.lastModified != file.lastModified()) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.model.clone();
+	}
+
+	public void put(File file, Model model) {
+		Entry entry = new Entry(file.length(), file.lastModified(), model.clone());
+		synchronized (entries) {
+			entries.put(file.getAbsolutePath(), entry);
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static class Entry {
+
+		private final long length;
+		private final long lastModified;
+		private final Model model;
+
+		Entry(long length, long lastModified, Model model) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.model = model;
+		}
+
+	}
+
+}
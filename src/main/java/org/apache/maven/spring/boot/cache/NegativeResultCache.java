@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.springframework.util.Assert;
+
+/**
+ * Remembers artifacts that were not found in a set of remote repositories, so
+ * that repeated requests fail fast instead of asking every repository again.
+ * Each hit throws a new exception caused by the cached one, so that callers do
+ * not share the stack trace and suppressed exceptions of a single instance.
+ * Entries expire after a time to live and are dropped as soon as the artifact
+ * is installed or deployed.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class NegativeResultCache {
+
+	/*
+	 * coordinates -> repository set -> entry, so that invalidation of a coordinate
+	 * does not need to scan all entries.
+	 */
+	private final ConcurrentMap<String, ConcurrentMap<String, Entry>> entries = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger();
+	private final int maximumSize;
+	private final long ttl;
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of cached failures
+	 * @param ttl         the time to live of an entry in milliseconds
+	 */
+	public NegativeResultCache(int maximumSize, long ttl) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.maximumSize = maximumSize;
+		this.ttl = ttl;
+	}
+
+	/**
+	 * Throw a failure if the artifact is known to be missing from the given
+	 * repositories.
+	 *
+	 * @param artifact     the requested artifact
+	 * @param repositories the repositories the artifact is resolved from
+	 * @throws IllegalStateException with the message of the cached failure and
+	 *                               the cached failure as its cause
+	 */
+	public void check(Artifact artifact, List<RemoteRepository> repositories) {
+		ConcurrentMap<String, Entry> byRepositories = entries.get(artifact.toString());
+		if (byRepositories == null) {
+			return;
+		}
+		String repositoriesKey = RepositorySystemUtils.repositoriesKey(repositories);
+		Entry entry = byRepositories.get(repositoriesKey);
+		if (entry == null) {
+			return;
+		}
+		if (entry.expiresAt < System.currentTimeMillis()) {
+			if (byRepositories.remove(repositoriesKey, entry)) {
+				size.decrementAndGet();
+			}
+			return;
+		}
+		hits.increment();
+		throw new IllegalStateException(entry.failure.getMessage(), entry.failure);
+	}
+
+	public void put(Artifact artifact, List<RemoteRepository> repositories, RuntimeException failure) {
+		if (size.get() >= maximumSize) {
+			this.purge();
+			if (size.get() >= maximumSize) {
+				return;
+			}
+		}
+		Entry previous = entries.computeIfAbsent(artifact.toString(), key -> new ConcurrentHashMap<>())
+				.put(RepositorySystemUtils.repositoriesKey(repositories), new Entry(failure, System.currentTimeMillis() + ttl));
+		if (previous == null) {
+			size.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Forget the failures of the artifact for all repository sets.
+	 *
+	 * @param artifact the installed or deployed artifact
+	 */
+	public void invalidate(Artifact artifact) {
+		ConcurrentMap<String, Entry> removed = entries.remove(artifact.toString());
+		if (removed != null) {
+			size.addAndGet(-removed.size());
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+		size.set(0);
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public int size() {
+		return size.get();
+	}
+
+	/*
+	 * Drop the expired entries.
+	 */
+	protected void purge() {
+		long now = System.currentTimeMillis();
+		for (Iterator<ConcurrentMap<String, Entry>> it = entries.values().iterator(); it.hasNext();) {
+			ConcurrentMap<String, Entry> byRepositories = it.next();
+			for (Iterator<Map.Entry<String, Entry>> entryIt = byRepositories.entrySet().iterator(); entryIt
+					.hasNext();) {
+				if (entryIt.next().getValue().expiresAt < now) {
+					entryIt.remove();
+					size.decrementAndGet();
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param e the resolution failure
+	 * @return {@code true} if every repository reported the artifact as missing,
+	 *         transfer errors are not cached
+	 */
+	public static boolean isNotFound(ArtifactResolutionException e) {
+		if (e.getResults() == null || e.getResults().isEmpty()) {
+			return false;
+		}
+		for (ArtifactResult result : e.getResults()) {
+			if (result.isResolved()) {
+				continue;
+			}
+			for (Exception exception : result.getExceptions()) {
+				if (!(exception instanceof ArtifactNotFoundException)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private static class Entry {
+
+		private final RuntimeException failure;
+		private final long expiresAt;
+
+		Entry(RuntimeException failure, long expiresAt) {
+			this.failure = failure;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.model.building.ModelCache;
+import org.springframework.util.Assert;
+
+/**
+ * Size bounded LRU {@link ModelCache} shared by all effective model builds, so
+ * that parent and imported BOM models are read and parsed once instead of once
+ * per build. The model builder copies the data it puts and gets, SNAPSHOT
+ * versions are not cached since they may change between builds.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class SharedModelCache implements ModelCache {
+
+	private static final String SNAPSHOT = "SNAPSHOT";
+	private final Map<String, Object> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of cached parts of models
+	 */
+	public SharedModelCache(final int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.entries = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+				return size() > maximumSize;
+			}
+
+		};
+	}
+
+	@Override
+	public void put(String groupId, String artifactId, String version, String tag, Object data) {
+		if (version == null || version.endsWith(SNAPSHOT)) {
+			return;
+		}
+		synchronized (entries) {
+			entries.put(key(groupId, artifactId, version, tag), data);
+		}
+	}
+
+	@Override
+	public Object get(String groupId, String artifactId, String version, String tag) {
+		Object data;
+		synchronized (entries) {
+			data = entries.get(key(groupId, artifactId, version, tag));
+		}
+		if (data == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return data;
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static String key(String groupId, String artifactId, String version, String tag) {
+		return groupId + ':' + artifactId + ':' + version + ':' + tag;
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionRange;
+import org.springframework.util.Assert;
+
+/**
+ * Index of the available versions per groupId:artifactId, built from the
+ * {@code maven-metadata.xml} of the repositories. The versions of an entry are
+ * held sorted in an array, so that the latest version, the latest release and
+ * the versions of a range are found by binary search without copying or sorting
+ * on every call. An entry is fresh until the shortest update policy of the
+ * repositories elapsed.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class VersionIndex {
+
+	private final Map<String, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param maximumSize the maximum number of groupId:artifactId entries
+	 */
+	public VersionIndex(final int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maximumSize;
+			}
+
+		};
+	}
+
+	/**
+	 * @param groupId         the group identifier
+	 * @param artifactId      the artifact identifier
+	 * @param refreshInterval the time in milliseconds an entry stays fresh
+	 * @return the fresh entry or {@code null} if the versions must be loaded
+	 */
+	public Entry get(String groupId, String artifactId, long refreshInterval) {
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.get(key(groupId, artifactId));
+		}
+		if (entry == null || System.currentTimeMillis() - entry.loadedAt >= refreshInterval) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry;
+	}
+
+	/**
+	 * @param groupId    the group identifier
+	 * @param artifactId the artifact identifier
+	 * @param versions   the sorted versions with the repository each was found in
+	 * @return the new entry
+	 */
+	public Entry put(String groupId, String artifactId, SortedMap<Version, ArtifactRepository> versions) {
+		Entry entry = new Entry(versions);
+		synchronized (entries) {
+			entries.put(key(groupId, artifactId), entry);
+		}
+		return entry;
+	}
+
+	public void invalidate(String groupId, String artifactId) {
+		synchronized (entries) {
+			entries.remove(key(groupId, artifactId));
+		}
+	}
+
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private static String key(String groupId, String artifactId) {
+		return groupId + ":" + artifactId;
+	}
+
+	/**
+	 * The sorted versions of one groupId:artifactId.
+	 */
+	public static class Entry {
+
+		private final Version[] versions;
+		private final ArtifactRepository[] repositories;
+		private final long loadedAt = System.currentTimeMillis();
+
+		public Entry(SortedMap<Version, ArtifactRepository> versions) {
+			this.versions = versions.keySet().toArray(new Version[versions.size()]);
+			this.repositories = versions.values().toArray(new ArtifactRepository[versions.size()]);
+		}
+
+		public boolean isEmpty() {
+			return versions.length == 0;
+		}
+
+		/**
+		 * @return all versions in ascending order
+		 */
+		public List<Version> getVersions() {
+			return Collections.unmodifiableList(Arrays.asList(versions));
+		}
+
+		/**
+		 * @return the highest version or {@code null} if there is none
+		 */
+		public Version latest() {
+			return versions.length > 0 ? versions[versions.length - 1] : null;
+		}
+
+		/**
+		 * @return the highest version that is not a SNAPSHOT or {@code null} if there
+		 *         is none
+		 */
+		public Version latestRelease() {
+			for (int i = versions.length - 1; i >= 0; i--) {
+				if (!versions[i].toString().endsWith("SNAPSHOT")) {
+					return versions[i];
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * @param constraint the version constraint, a range or a single version
+		 * @return the matching versions in ascending order
+		 */
+		public List<Version> range(VersionConstraint constraint) {
+			VersionRange range = constraint.getRange();
+			if (range == null) {
+				int index = Arrays.binarySearch(versions, constraint.getVersion());
+				return index >= 0 ? Collections.singletonList(versions[index]) : Collections.<Version>emptyList();
+			}
+			int from = 0;
+			VersionRange.Bound lower = range.getLowerBound();
+			if (lower != null) {
+				int index = Arrays.binarySearch(versions, lower.getVersion());
+				from = index >= 0 ? index : -index - 1;
+			}
+			int to = versions.length;
+			VersionRange.Bound upper = range.getUpperBound();
+			if (upper != null) {
+				int index = Arrays.binarySearch(versions, upper.getVersion());
+				to = index >= 0 ? index + 1 : -index - 1;
+			}
+			List<Version> matches = new ArrayList<>(Math.max(to - from, 0));
+			for (int i = from; i < to; i++) {
+				// bound inclusiveness and gaps of unions are left to the constraint
+				if (constraint.containsVersion(versions[i])) {
+					matches.add(versions[i]);
+				}
+			}
+			return matches;
+		}
+
+		/**
+		 * @param version a version of this entry
+		 * @return the repository the version was found in, {@code null} if unknown
+		 */
+		public ArtifactRepository getRepository(Version version) {
+			int index = Arrays.binarySearch(versions, version);
+			return index >= 0 ? repositories[index] : null;
+		}
+
+	}
+
+}
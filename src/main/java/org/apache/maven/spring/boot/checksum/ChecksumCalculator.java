@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.checksum;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * Computes the digests of several algorithms in a single pass over the data.
+ * Every chunk is fed to all digests while it is still in the CPU cache, so the
+ * data is read once however many algorithms are configured.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class ChecksumCalculator {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+	private final String[] algorithms;
+	private final MessageDigest[] digests;
+
+	/**
+	 * @param algorithms the digest algorithms, e.g. {@code SHA-256}
+	 * @throws IllegalStateException if an algorithm is not supported by the JVM
+	 */
+	public ChecksumCalculator(Collection<String> algorithms) {
+		Assert.notEmpty(algorithms, "algorithms must not be empty");
+		this.algorithms = algorithms.toArray(new String[algorithms.size()]);
+		this.digests = new MessageDigest[this.algorithms.length];
+		for (int i = 0; i < this.algorithms.length; i++) {
+			try {
+				this.digests[i] = MessageDigest.getInstance(this.algorithms[i]);
+			} catch (NoSuchAlgorithmException e) {
+				throw new IllegalStateException("Unsupported checksum algorithm: " + this.algorithms[i], e);
+			}
+		}
+	}
+
+	public void update(byte[] data, int offset, int length) {
+		for (MessageDigest digest : digests) {
+			digest.update(data, offset, length);
+		}
+	}
+
+	/**
+	 * @param data the next chunk, its position is left unchanged
+	 */
+	public void update(ByteBuffer data) {
+		int position = data.position();
+		for (MessageDigest digest : digests) {
+			data.position(position);
+			digest.update(data);
+		}
+		data.position(position);
+	}
+
+	public void reset() {
+		for (MessageDigest digest : digests) {
+			digest.reset();
+		}
+	}
+
+	/**
+	 * Complete the digests, the calculator is reset afterwards.
+	 *
+	 * @return the lower case hex digest per algorithm, in the configured order
+	 */
+	public Map<String, String> digest() {
+		Map<String, String> checksums = new LinkedHashMap<>(algorithms.length * 2);
+		for (int i = 0; i < algorithms.length; i++) {
+			checksums.put(algorithms[i], hex(digests[i].digest()));
+		}
+		return checksums;
+	}
+
+	/**
+	 * @param file       the file to read
+	 * @param algorithms the digest algorithms
+	 * @return the lower case hex digest per algorithm
+	 * @throws IOException if the file cannot be read
+	 */
+	public static Map<String, String> calculate(File file, Collection<String> algorithms) throws IOException {
+		ChecksumCalculator calculator = new ChecksumCalculator(algorithms);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream input = new FileInputStream(file)) {
+			int read;
+			while ((read = input.read(buffer)) >= 0) {
+				calculator.update(buffer, 0, read);
+			}
+		}
+		return calculator.digest();
+	}
+
+	/**
+	 * @param algorithm the digest algorithm, e.g. {@code SHA-256}
+	 * @return the extension of the sidecar file, e.g. {@code sha256}
+	 */
+	public static String extension(String algorithm) {
+		return algorithm.replace("-", "").toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Read a sidecar file, which holds the hex digest optionally followed by the
+	 * file name.
+	 *
+	 * @param file the sidecar file
+	 * @return the lower case hex digest or {@code null} if the file is empty
+	 * @throws IOException if the file cannot be read
+	 */
+	public static String read(File file) throws IOException {
+		String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+		if (content.isEmpty()) {
+			return null;
+		}
+		int end = 0;
+		while (end < content.length() && !Character.isWhitespace(content.charAt(end))) {
+			end++;
+		}
+		return content.substring(0, end).toLowerCase(Locale.ENGLISH);
+	}
+
+	public static String hex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+			chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+		}
+		return new String(chars);
+	}
+
+}
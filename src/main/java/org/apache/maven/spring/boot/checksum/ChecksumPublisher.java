@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.checksum;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayout;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.PutTask;
+import org.eclipse.aether.spi.connector.transport.Transporter;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.NoRepositoryLayoutException;
+import org.eclipse.aether.transfer.NoTransporterException;
+import org.springframework.util.Assert;
+
+/**
+ * Publishes the checksum files of the algorithms Aether does not write itself,
+ * e.g. {@code .sha256} and {@code .sha512}, next to installed and deployed
+ * artifacts. They are written as checksum files of their artifact through the
+ * transporter, not as artifacts of their own, so that no checksums of the
+ * checksums are written and no metadata refers to them.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class ChecksumPublisher {
+
+	private final TransporterProvider transporterProvider;
+	private final RepositoryLayoutProvider layoutProvider;
+	private final List<String> algorithms;
+
+	/**
+	 * @param transporterProvider the provider of the transporters uploading the
+	 *                            checksum files
+	 * @param layoutProvider      the provider of the repository layouts
+	 * @param algorithms          the digest algorithms, e.g. {@code SHA-256}
+	 */
+	public ChecksumPublisher(TransporterProvider transporterProvider, RepositoryLayoutProvider layoutProvider,
+			List<String> algorithms) {
+		Assert.notNull(transporterProvider, "transporterProvider must not be null");
+		Assert.notNull(layoutProvider, "layoutProvider must not be null");
+		Assert.notEmpty(algorithms, "algorithms must not be empty");
+		this.transporterProvider = transporterProvider;
+		this.layoutProvider = layoutProvider;
+		this.algorithms = new ArrayList<>(algorithms);
+		// fail early on an unsupported algorithm
+		new ChecksumCalculator(this.algorithms);
+	}
+
+	/**
+	 * Write the checksum files next to the installed files of the artifacts.
+	 *
+	 * @param session   the repository session
+	 * @param artifacts the installed artifacts
+	 * @throws IOException if a file cannot be read or written
+	 */
+	public void install(RepositorySystemSession session, Collection<Artifact> artifacts) throws IOException {
+		LocalRepositoryManager manager = session.getLocalRepositoryManager();
+		File basedir = manager.getRepository().getBasedir();
+		for (Artifact artifact : artifacts) {
+			File installed = new File(basedir, manager.getPathForLocalArtifact(artifact));
+			if (!installed.isFile()) {
+				continue;
+			}
+			for (Map.Entry<String, String> digest : ChecksumCalculator.calculate(installed, algorithms).entrySet()) {
+				File checksumFile = new File(installed.getPath() + "." + ChecksumCalculator.extension(digest.getKey()));
+				Files.write(checksumFile.toPath(), digest.getValue().getBytes(StandardCharsets.US_ASCII));
+			}
+		}
+	}
+
+	/**
+	 * @param session    the repository session
+	 * @param repository the repository the artifacts are deployed to
+	 * @return an uploader to close once the checksum files are uploaded
+	 * @throws NoTransporterException     if the repository cannot be reached
+	 * @throws NoRepositoryLayoutException if the layout of the repository is not
+	 *                                     supported
+	 */
+	public Uploader newUploader(RepositorySystemSession session, RemoteRepository repository)
+			throws NoTransporterException, NoRepositoryLayoutException {
+		RepositoryLayout layout = layoutProvider.newRepositoryLayout(session, repository);
+		return new Uploader(transporterProvider.newTransporter(session, repository), layout);
+	}
+
+	public List<String> getAlgorithms() {
+		return algorithms;
+	}
+
+	/**
+	 * Uploads the checksum files of deployed artifacts over one transporter.
+	 */
+	public class Uploader implements Closeable {
+
+		private final Transporter transporter;
+		private final RepositoryLayout layout;
+
+		Uploader(Transporter transporter, RepositoryLayout layout) {
+			this.transporter = transporter;
+			this.layout = layout;
+		}
+
+		/**
+		 * @param artifact the deployed artifact with its file, a SNAPSHOT with the
+		 *                 timestamped version it was deployed with
+		 * @throws Exception if the file cannot be read or a checksum file cannot be
+		 *                   uploaded
+		 */
+		public void upload(Artifact artifact) throws Exception {
+			if (artifact.getFile() == null) {
+				return;
+			}
+			String location = layout.getLocation(artifact, true).toString();
+			for (Map.Entry<String, String> digest : ChecksumCalculator.calculate(artifact.getFile(), algorithms)
+					.entrySet()) {
+				transporter.put(new PutTask(URI.create(location + "." + ChecksumCalculator.extension(digest.getKey())))
+						.setDataString(digest.getValue()));
+			}
+		}
+
+		@Override
+		public void close() {
+			transporter.close();
+		}
+
+	}
+
+}
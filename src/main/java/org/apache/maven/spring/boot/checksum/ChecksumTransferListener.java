@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.checksum;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.springframework.util.Assert;
+
+/**
+ * Computes the digests of the downloaded files from the bytes handed to the
+ * transfer listener while they arrive, so that verifying a download never reads
+ * the file from disk again. The digests of a completed download are kept until
+ * they are taken for verification, the eldest of them go first once too many
+ * were never taken, e.g. of downloads outside the template. Resumed downloads and the checksum, signature
+ * and metadata files themselves are not tracked.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class ChecksumTransferListener extends AbstractTransferListener {
+
+	private static final int MAX_COMPLETED = 10000;
+	private static final String[] IGNORED_SUFFIXES = { ".sha1", ".md5", ".sha256", ".sha512", ".asc",
+			"maven-metadata.xml" };
+	private final List<String> algorithms;
+	private final ConcurrentMap<TransferResource, ChecksumCalculator> transfers = new ConcurrentHashMap<>();
+	/* completed downloads in the order they finished, guarded by itself */
+	private final Map<File, Map<String, String>> completed = new LinkedHashMap<File, Map<String, String>>() {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<File, Map<String, String>> eldest) {
+			return size() > MAX_COMPLETED;
+		}
+
+	};
+
+	/**
+	 * @param algorithms the digest algorithms computed for every download
+	 */
+	public ChecksumTransferListener(List<String> algorithms) {
+		Assert.notEmpty(algorithms, "algorithms must not be empty");
+		this.algorithms = new ArrayList<>(algorithms);
+		// fail early on an unsupported algorithm
+		new ChecksumCalculator(this.algorithms);
+	}
+
+	@Override
+	public void transferStarted(TransferEvent event) {
+		TransferResource resource = event.getResource();
+		if (!this.isTracked(event) || resource.getResumeOffset() > 0) {
+			// a retry that resumes a partial download cannot be digested from the start
+			transfers.remove(resource);
+			return;
+		}
+		transfers.put(resource, new ChecksumCalculator(algorithms));
+	}
+
+	@Override
+	public void transferProgressed(TransferEvent event) {
+		ChecksumCalculator calculator = transfers.get(event.getResource());
+		if (calculator != null && event.getDataBuffer() != null) {
+			calculator.update(event.getDataBuffer());
+		}
+	}
+
+	@Override
+	public void transferSucceeded(TransferEvent event) {
+		ChecksumCalculator calculator = transfers.remove(event.getResource());
+		File file = event.getResource().getFile();
+		if (calculator == null || file == null) {
+			return;
+		}
+		Map<String, String> digests = calculator.digest();
+		synchronized (completed) {
+			completed.put(file.getAbsoluteFile(), digests);
+		}
+	}
+
+	@Override
+	public void transferCorrupted(TransferEvent event) {
+		transfers.remove(event.getResource());
+	}
+
+	@Override
+	public void transferFailed(TransferEvent event) {
+		transfers.remove(event.getResource());
+	}
+
+	/**
+	 * @param file the downloaded file
+	 * @return the digests computed while the file was downloaded or {@code null}
+	 *         if it was not downloaded since the last call
+	 */
+	public Map<String, String> take(File file) {
+		synchronized (completed) {
+			return completed.remove(file.getAbsoluteFile());
+		}
+	}
+
+	/**
+	 * Keep the digests of a downloaded file that was moved, e.g. from the
+	 * temporary local repository of a hedged attempt into the shared one.
+	 *
+	 * @param source the file as downloaded
+	 * @param target the file after the move, {@code null} to drop the digests
+	 */
+	public void moved(File source, File target) {
+		synchronized (completed) {
+			Map<String, String> digests = completed.remove(source.getAbsoluteFile());
+			if (digests != null && target != null) {
+				completed.put(target.getAbsoluteFile(), digests);
+			}
+		}
+	}
+
+	public List<String> getAlgorithms() {
+		return algorithms;
+	}
+
+	private boolean isTracked(TransferEvent event) {
+		if (event.getRequestType() != TransferEvent.RequestType.GET) {
+			return false;
+		}
+		String name = event.getResource().getResourceName();
+		for (String suffix : IGNORED_SUFFIXES) {
+			if (name.endsWith(suffix)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.deploy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * The outcome of a bulk deployment: one {@link Outcome} per artifact, in request
+ * order, and the failures of the maven-metadata.xml updates keyed by
+ * {@code <groupId>:<artifactId>}. A failed artifact does not abort the others,
+ * an artifact identical to the remote one is skipped when enabled.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class BulkDeployResult {
+
+	public enum Status {
+		DEPLOYED, SKIPPED, FAILED
+	}
+
+	private final List<Outcome> outcomes = new ArrayList<Outcome>();
+	private final Map<String, Exception> metadataFailures = new LinkedHashMap<String, Exception>();
+	private long duration;
+
+	Outcome add(Artifact artifact) {
+		Outcome outcome = new Outcome(artifact);
+		this.outcomes.add(outcome);
+		return outcome;
+	}
+
+	synchronized void addMetadataFailure(String groupArtifact, Exception exception) {
+		this.metadataFailures.put(groupArtifact, exception);
+	}
+
+	void setDuration(long duration) {
+		this.duration = duration;
+	}
+
+	/**
+	 * @return the outcome of each artifact, in request order
+	 */
+	public List<Outcome> getOutcomes() {
+		return Collections.unmodifiableList(outcomes);
+	}
+
+	/**
+	 * @return the artifacts that failed to deploy
+	 */
+	public List<Outcome> getFailures() {
+		List<Outcome> failures = new ArrayList<Outcome>();
+		for (Outcome outcome : outcomes) {
+			if (outcome.getStatus() == Status.FAILED) {
+				failures.add(outcome);
+			}
+		}
+		return failures;
+	}
+
+	/**
+	 * @return the failed maven-metadata.xml updates keyed by
+	 *         {@code <groupId>:<artifactId>}
+	 */
+	public synchronized Map<String, Exception> getMetadataFailures() {
+		return Collections.unmodifiableMap(new LinkedHashMap<String, Exception>(metadataFailures));
+	}
+
+	public boolean isSuccessful() {
+		return this.getFailures().isEmpty() && this.getMetadataFailures().isEmpty();
+	}
+
+	public long getUploadedBytes() {
+		long bytes = 0;
+		for (Outcome outcome : outcomes) {
+			if (outcome.getStatus() == Status.DEPLOYED) {
+				bytes += outcome.getBytes();
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return the bytes of the artifacts identical to the remote ones, which were
+	 *         not uploaded
+	 */
+	public long getSkippedBytes() {
+		long bytes = 0;
+		for (Outcome outcome : outcomes) {
+			if (outcome.getStatus() == Status.SKIPPED) {
+				bytes += outcome.getBytes();
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * @return the time in milliseconds the whole deployment took
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkDeployResult [artifacts=" + outcomes.size() + ", failed=" + this.getFailures().size()
+				+ ", metadataFailures=" + this.getMetadataFailures().size() + ", uploadedBytes="
+				+ this.getUploadedBytes() + ", skippedBytes=" + this.getSkippedBytes() + ", duration=" + duration + "ms]";
+	}
+
+	/**
+	 * The outcome of one artifact. It is written by a single upload thread and
+	 * read once the deployment is complete.
+	 */
+	public static class Outcome {
+
+		private final Artifact artifact;
+		private Status status;
+		private int attempts;
+		private long bytes;
+		private long duration;
+		private Exception exception;
+
+		Outcome(Artifact artifact) {
+			this.artifact = artifact;
+		}
+
+		void completed(Status status, int attempts, long bytes, long duration, Exception exception) {
+			this.status = status;
+			this.attempts = attempts;
+			this.bytes = bytes;
+			this.duration = duration;
+			this.exception = exception;
+		}
+
+		public Artifact getArtifact() {
+			return artifact;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		/**
+		 * @return the number of uploads tried, retries included, zero if skipped
+		 */
+		public int getAttempts() {
+			return attempts;
+		}
+
+		/**
+		 * @return the size of the file of the artifact
+		 */
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * @return the time in milliseconds from the first attempt to the outcome,
+		 *         backoff included
+		 */
+		public long getDuration() {
+			return duration;
+		}
+
+		public Exception getException() {
+			return exception;
+		}
+
+		@Override
+		public String toString() {
+			return artifact + " " + status + " after " + attempts + " attempt(s) in " + duration + " ms"
+					+ (exception != null ? ": " + exception.getMessage() : "");
+		}
+
+	}
+
+}
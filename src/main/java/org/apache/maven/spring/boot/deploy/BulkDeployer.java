@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.deploy;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.apache.http.client.HttpResponseException;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Writer;
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.checksum.ChecksumPublisher;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.ArtifactUpload;
+import org.eclipse.aether.spi.connector.MetadataDownload;
+import org.eclipse.aether.spi.connector.MetadataUpload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorProvider;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionScheme;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Deploys many release artifacts at once. The files are uploaded in parallel by
+ * a bounded number of workers, each with its own {@link RepositoryConnector},
+ * transient failures are retried with an exponential backoff and the
+ * maven-metadata.xml of each {@code <groupId>:<artifactId>} is merged and
+ * uploaded once, after all of its artifacts. The {@link RepositorySystem}
+ * deployer would instead download, merge and upload the metadata with every
+ * request.
+ * <p>
+ * With a digest algorithm to skip unchanged artifacts, the checksum published
+ * next to each remote artifact is fetched first and the upload is skipped when
+ * it matches the digest of the file, so that republishing the same release
+ * only costs a small download per file.
+ * </p>
+ * <p>
+ * The checksum files of the algorithms Aether does not write itself are
+ * uploaded by the same worker right after their artifact, see
+ * {@link ChecksumPublisher}.
+ * </p>
+ * <p>
+ * SNAPSHOT artifacts need timestamped versions and metadata, they are deployed
+ * through the {@link RepositorySystem}, one request per
+ * {@code <groupId>:<artifactId>}. Every such request publishes a new timestamped
+ * build, so a failed request is only retried while none of its files reached
+ * the repository; once some did, the others are reported as failed instead of
+ * publishing a duplicate build.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class BulkDeployer {
+
+	private static final Logger log = LoggerFactory.getLogger(BulkDeployer.class);
+
+	private static final String MAVEN_METADATA_XML = "maven-metadata.xml";
+
+	private final RepositorySystem repositorySystem;
+	private final RepositoryConnectorProvider connectorProvider;
+	private final int concurrency;
+	private final int maxAttempts;
+	private final long backoff;
+	private final long maxBackoff;
+	private final String unchangedAlgorithm;
+	private final ChecksumPublisher checksumPublisher;
+	private final VersionScheme versionScheme = new GenericVersionScheme();
+	private final AtomicInteger threadCount = new AtomicInteger();
+
+	/**
+	 * @param repositorySystem  the repository system, deploys the SNAPSHOT artifacts
+	 * @param connectorProvider the provider of the repository connectors
+	 * @param concurrency       the maximum number of parallel uploads
+	 * @param maxAttempts       the maximum number of attempts of an upload
+	 * @param backoff           the delay in milliseconds before the first retry,
+	 *                          doubled by every other retry
+	 * @param maxBackoff         the maximum delay in milliseconds between two
+	 *                           attempts
+	 * @param unchangedAlgorithm the digest algorithm compared with the remote
+	 *                           checksum to skip unchanged artifacts, e.g.
+	 *                           {@code SHA-1}, {@code null} to always upload;
+	 *                           SHA-1 is compared where its checksum is not found
+	 * @param checksumPublisher  uploads the checksum files Aether does not write,
+	 *                           may be {@code null}
+	 */
+	public BulkDeployer(RepositorySystem repositorySystem, RepositoryConnectorProvider connectorProvider,
+			int concurrency, int maxAttempts, long backoff, long maxBackoff, String unchangedAlgorithm,
+			ChecksumPublisher checksumPublisher) {
+		Assert.notNull(repositorySystem, "repositorySystem must not be null");
+		Assert.notNull(connectorProvider, "connectorProvider must not be null");
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		Assert.isTrue(maxAttempts > 0, "maxAttempts must be greater than 0");
+		this.repositorySystem = repositorySystem;
+		this.connectorProvider = connectorProvider;
+		this.concurrency = concurrency;
+		this.maxAttempts = maxAttempts;
+		this.backoff = backoff;
+		this.maxBackoff = maxBackoff;
+		this.unchangedAlgorithm = unchangedAlgorithm;
+		this.checksumPublisher = checksumPublisher;
+	}
+
+	/**
+	 * @param session    the repository session
+	 * @param repository the repository to deploy to
+	 * @param artifacts  the artifacts with their files
+	 * @return the outcome of each artifact and of each metadata update
+	 * @throws DeploymentException if there is no connector for the repository or
+	 *                             the deployment is interrupted
+	 */
+	public BulkDeployResult deploy(RepositorySystemSession session, RemoteRepository repository,
+			Collection<Artifact> artifacts) throws DeploymentException {
+
+		long start = System.nanoTime();
+		BulkDeployResult result = new BulkDeployResult();
+		List<Consumer<Worker>> uploads = new ArrayList<>();
+		Map<String, List<BulkDeployResult.Outcome>> snapshots = new LinkedHashMap<>();
+		List<BulkDeployResult.Outcome> releases = new ArrayList<>();
+		for (Artifact artifact : artifacts) {
+			BulkDeployResult.Outcome outcome = result.add(artifact);
+			if (artifact.isSnapshot()) {
+				snapshots.computeIfAbsent(groupArtifact(artifact), key -> new ArrayList<>()).add(outcome);
+			} else {
+				releases.add(outcome);
+				uploads.add(worker -> this.upload(worker, outcome));
+			}
+		}
+		for (List<BulkDeployResult.Outcome> group : snapshots.values()) {
+			uploads.add(worker -> this.deploySnapshots(worker, session, repository, group, result));
+		}
+		this.execute(session, repository, uploads, true);
+
+		// the versions of each groupId:artifactId which made it to the repository
+		Map<String, Set<String>> versions = new LinkedHashMap<>();
+		for (BulkDeployResult.Outcome outcome : releases) {
+			if (outcome.getStatus() == BulkDeployResult.Status.DEPLOYED) {
+				Artifact artifact = outcome.getArtifact();
+				versions.computeIfAbsent(groupArtifact(artifact), key -> new LinkedHashSet<>())
+						.add(artifact.getVersion());
+			}
+		}
+		List<Consumer<Worker>> updates = new ArrayList<>();
+		for (Map.Entry<String, Set<String>> entry : versions.entrySet()) {
+			updates.add(worker -> this.updateMetadata(worker.connector, entry.getKey(), entry.getValue(), result));
+		}
+		this.execute(session, repository, updates, false);
+
+		result.setDuration(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		log.debug("Deployed to " + repository.getId() + ": " + result);
+		return result;
+	}
+
+	/*
+	 * Run the tasks on at most concurrency threads, each worker opens its own
+	 * connector, and transporter for the checksum files, which keep their
+	 * connections open between the tasks.
+	 */
+	private void execute(RepositorySystemSession session, RemoteRepository repository,
+			List<Consumer<Worker>> tasks, boolean checksums) throws DeploymentException {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		Queue<Consumer<Worker>> queue = new ConcurrentLinkedQueue<>(tasks);
+		int workers = Math.min(concurrency, tasks.size());
+		ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "maven-client-deploy-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(workers);
+			for (int i = 0; i < workers; i++) {
+				futures.add(executor.submit(() -> {
+					Worker worker = new Worker(connectorProvider.newRepositoryConnector(session, repository));
+					try {
+						if (checksums && checksumPublisher != null) {
+							worker.checksums = checksumPublisher.newUploader(session, repository);
+						}
+						for (Consumer<Worker> task; (task = queue.poll()) != null;) {
+							task.accept(worker);
+						}
+					} finally {
+						worker.close();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			// no connector, transporter or layout for the repository
+			if (e.getCause() instanceof RepositoryException) {
+				throw new DeploymentException("Failed to deploy to " + repository.getId(), e.getCause());
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DeploymentException("Interrupted while deploying to " + repository.getId(), e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void upload(Worker worker, BulkDeployResult.Outcome outcome) {
+		RepositoryConnector connector = worker.connector;
+		long start = System.nanoTime();
+		Artifact artifact = outcome.getArtifact();
+		File file = artifact.getFile();
+		if (file == null || !file.isFile()) {
+			outcome.completed(BulkDeployResult.Status.FAILED, 0, 0, 0,
+					new IllegalStateException("No file to deploy for " + artifact));
+			return;
+		}
+		if (unchangedAlgorithm != null && this.isUnchanged(connector, artifact, file)) {
+			outcome.completed(BulkDeployResult.Status.SKIPPED, 0, file.length(),
+					TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), null);
+			return;
+		}
+		Attempt attempt = this.retry(artifact, () -> {
+			ArtifactUpload upload = new ArtifactUpload(artifact, file);
+			connector.put(Collections.singletonList(upload), null);
+			return upload.getException();
+		});
+		if (attempt.exception == null) {
+			this.uploadChecksums(worker, artifact);
+		}
+		outcome.completed(attempt.exception == null ? BulkDeployResult.Status.DEPLOYED : BulkDeployResult.Status.FAILED,
+				attempt.attempts, file.length(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+				attempt.exception);
+	}
+
+	/*
+	 * Like Aether does for the SHA-1 and MD5 files, a checksum file that cannot be
+	 * uploaded is only logged.
+	 */
+	private void uploadChecksums(Worker worker, Artifact artifact) {
+		if (worker.checksums == null) {
+			return;
+		}
+		Attempt attempt = this.retry(artifact, () -> {
+			try {
+				worker.checksums.upload(artifact);
+				return null;
+			} catch (Exception e) {
+				return e;
+			}
+		});
+		if (attempt.exception != null) {
+			log.warn("Failed to upload the checksums of " + artifact + ": " + attempt.exception.getMessage());
+		}
+	}
+
+	/*
+	 * Artifacts deployed before the stronger checksum was published only have the
+	 * .sha1 Aether always writes, so that one is compared when it is not found.
+	 */
+	private boolean isUnchanged(RepositoryConnector connector, Artifact artifact, File file) {
+		Boolean unchanged = this.isUnchanged(connector, artifact, file, unchangedAlgorithm);
+		if (unchanged == null && !"SHA-1".equalsIgnoreCase(unchangedAlgorithm)) {
+			unchanged = this.isUnchanged(connector, artifact, file, "SHA-1");
+		}
+		return Boolean.TRUE.equals(unchanged);
+	}
+
+	/*
+	 * null if the remote checksum is not found, any other failure to fetch it
+	 * counts as a change.
+	 */
+	private Boolean isUnchanged(RepositoryConnector connector, Artifact artifact, File file, String algorithm) {
+		String extension = ChecksumCalculator.extension(algorithm);
+		Artifact checksum = new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(),
+				artifact.getClassifier(), artifact.getExtension() + "." + extension, artifact.getVersion());
+		File target = null;
+		try {
+			target = File.createTempFile("checksum-", "." + extension);
+			File checksumFile = target;
+			Attempt download = this.retry(checksum, () -> {
+				ArtifactDownload transfer = new ArtifactDownload(checksum, null, checksumFile,
+						RepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+				connector.get(Collections.singletonList(transfer), null);
+				return transfer.getException();
+			});
+			if (download.exception instanceof ArtifactNotFoundException) {
+				return null;
+			}
+			if (download.exception != null) {
+				return false;
+			}
+			String remote = ChecksumCalculator.read(checksumFile);
+			return remote != null && remote.equals(ChecksumCalculator
+					.calculate(file, Collections.singletonList(algorithm)).get(algorithm));
+		} catch (IOException e) {
+			log.debug("Unable to compare " + artifact + " with the remote checksum: " + e.getMessage());
+			return false;
+		} finally {
+			if (target != null && !target.delete()) {
+				target.deleteOnExit();
+			}
+		}
+	}
+
+	/*
+	 * The files which reached the repository are told by the deploy events, with
+	 * the timestamped versions they were deployed with.
+	 */
+	private void deploySnapshots(Worker worker, RepositorySystemSession session, RemoteRepository repository,
+			List<BulkDeployResult.Outcome> group, BulkDeployResult result) {
+		long start = System.nanoTime();
+		DeployRequest request = new DeployRequest().setRepository(repository);
+		for (BulkDeployResult.Outcome outcome : group) {
+			request.addArtifact(outcome.getArtifact());
+		}
+		List<Artifact> deployed = Collections.synchronizedList(new ArrayList<>());
+		DefaultRepositorySystemSession tracked = new DefaultRepositorySystemSession(session);
+		tracked.setRepositoryListener(ChainedRepositoryListener.newInstance(session.getRepositoryListener(),
+				new AbstractRepositoryListener() {
+
+					@Override
+					public void artifactDeployed(RepositoryEvent event) {
+						if (event.getException() == null) {
+							deployed.add(event.getArtifact());
+						}
+					}
+
+				}));
+		Attempt attempt = this.retry(request.getArtifacts(), () -> {
+			try {
+				repositorySystem.deploy(tracked, request);
+				return null;
+			} catch (DeploymentException e) {
+				return e;
+			}
+		}, deployed::isEmpty);
+		for (Artifact artifact : deployed) {
+			this.uploadChecksums(worker, artifact);
+		}
+		long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		boolean complete = true;
+		for (BulkDeployResult.Outcome outcome : group) {
+			File file = outcome.getArtifact().getFile();
+			boolean uploaded = attempt.exception == null || this.contains(deployed, outcome.getArtifact());
+			complete &= uploaded;
+			outcome.completed(uploaded ? BulkDeployResult.Status.DEPLOYED : BulkDeployResult.Status.FAILED,
+					attempt.attempts, file != null ? file.length() : 0, duration,
+					uploaded ? null : attempt.exception);
+		}
+		if (attempt.exception != null && complete) {
+			// every file made it, the metadata did not
+			result.addMetadataFailure(groupArtifact(group.get(0).getArtifact()), attempt.exception);
+		}
+	}
+
+	private boolean contains(List<Artifact> deployed, Artifact artifact) {
+		synchronized (deployed) {
+			for (Artifact candidate : deployed) {
+				if (candidate.getArtifactId().equals(artifact.getArtifactId())
+						&& candidate.getGroupId().equals(artifact.getGroupId())
+						&& candidate.getBaseVersion().equals(artifact.getBaseVersion())
+						&& candidate.getClassifier().equals(artifact.getClassifier())
+						&& candidate.getExtension().equals(artifact.getExtension())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Merge the deployed versions into the remote maven-metadata.xml and upload it
+	 * back, latest and release move to the highest deployed version as the Maven
+	 * deployer does.
+	 */
+	private void updateMetadata(RepositoryConnector connector, String groupArtifact, Set<String> versions,
+			BulkDeployResult result) {
+		String[] coordinates = groupArtifact.split(":");
+		DefaultMetadata metadata = new DefaultMetadata(coordinates[0], coordinates[1], MAVEN_METADATA_XML,
+				org.eclipse.aether.metadata.Metadata.Nature.RELEASE);
+		File file = null;
+		try {
+			file = File.createTempFile("maven-metadata-", ".xml");
+			File target = file;
+			Attempt download = this.retry(metadata, () -> {
+				MetadataDownload transfer = new MetadataDownload(metadata, null, target,
+						RepositoryPolicy.CHECKSUM_POLICY_WARN);
+				connector.get(null, Collections.singletonList(transfer));
+				return transfer.getException();
+			});
+			Metadata model;
+			if (download.exception == null) {
+				try (InputStream input = new FileInputStream(file)) {
+					model = new MetadataXpp3Reader().read(input, false);
+				}
+			} else if (download.exception instanceof MetadataNotFoundException) {
+				model = new Metadata();
+			} else {
+				throw download.exception;
+			}
+			model.setGroupId(coordinates[0]);
+			model.setArtifactId(coordinates[1]);
+			Versioning versioning = model.getVersioning() != null ? model.getVersioning() : new Versioning();
+			for (String version : versions) {
+				if (!versioning.getVersions().contains(version)) {
+					versioning.addVersion(version);
+				}
+			}
+			String highest = this.highest(versions);
+			versioning.setLatest(highest);
+			versioning.setRelease(highest);
+			versioning.updateTimestamp();
+			model.setVersioning(versioning);
+			try (OutputStream output = new FileOutputStream(file)) {
+				new MetadataXpp3Writer().write(output, model);
+			}
+			Attempt upload = this.retry(metadata, () -> {
+				MetadataUpload transfer = new MetadataUpload(metadata, target);
+				connector.put(null, Collections.singletonList(transfer));
+				return transfer.getException();
+			});
+			if (upload.exception != null) {
+				throw upload.exception;
+			}
+		} catch (Exception e) {
+			log.warn("Failed to update the metadata of " + groupArtifact + ": " + e.getMessage());
+			result.addMetadataFailure(groupArtifact, e);
+		} finally {
+			if (file != null && !file.delete()) {
+				file.deleteOnExit();
+			}
+		}
+	}
+
+	private String highest(Set<String> versions) {
+		String highest = null;
+		Version highestVersion = null;
+		for (String version : versions) {
+			try {
+				Version parsed = versionScheme.parseVersion(version);
+				if (highestVersion == null || parsed.compareTo(highestVersion) > 0) {
+					highest = version;
+					highestVersion = parsed;
+				}
+			} catch (InvalidVersionSpecificationException e) {
+				// never thrown by the generic scheme
+			}
+		}
+		return highest;
+	}
+
+	/*
+	 * Run a transfer until it succeeds, fails for good or runs out of attempts.
+	 */
+	private Attempt retry(Object subject, Supplier<Exception> transfer) {
+		return this.retry(subject, transfer, () -> true);
+	}
+
+	/*
+	 * Like above, the failed transfer is only retried while retryable holds.
+	 */
+	private Attempt retry(Object subject, Supplier<Exception> transfer, BooleanSupplier retryable) {
+		Attempt attempt = new Attempt();
+		while (true) {
+			attempt.attempts++;
+			attempt.exception = transfer.get();
+			if (attempt.exception == null || attempt.attempts >= maxAttempts || !isTransient(attempt.exception)
+					|| !retryable.getAsBoolean()) {
+				return attempt;
+			}
+			long delay = this.backoff(attempt.attempts);
+			log.debug("Retrying the transfer of " + subject + " in " + delay + " ms after attempt "
+					+ attempt.attempts + ": " + attempt.exception.getMessage());
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return attempt;
+			}
+		}
+	}
+
+	/*
+	 * Exponential with full jitter, so that the workers which failed together do
+	 * not retry together.
+	 */
+	private long backoff(int attempt) {
+		long delay = Math.min(maxBackoff, backoff << Math.min(attempt - 1, 30));
+		return delay <= 0 ? 0 : delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+	}
+
+	/**
+	 * @param exception the failure of a transfer
+	 * @return {@code false} if the repository refused the transfer, e.g. 401, 403
+	 *         or 409, or the file was not found, {@code true} for server errors,
+	 *         timeouts and I/O failures
+	 */
+	static boolean isTransient(Throwable exception) {
+		if (exception instanceof MetadataNotFoundException || exception instanceof ArtifactNotFoundException) {
+			return false;
+		}
+		for (Throwable cause = exception; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+			if (cause instanceof HttpResponseException) {
+				int status = ((HttpResponseException) cause).getStatusCode();
+				return status >= 500 || status == 408 || status == 429;
+			}
+		}
+		return true;
+	}
+
+	private static String groupArtifact(Artifact artifact) {
+		return artifact.getGroupId() + ":" + artifact.getArtifactId();
+	}
+
+	private static class Attempt {
+
+		private int attempts;
+		private Exception exception;
+
+	}
+
+	/*
+	 * The connections a worker keeps open between its tasks.
+	 */
+	private static class Worker {
+
+		private final RepositoryConnector connector;
+		private ChecksumPublisher.Uploader checksums;
+
+		Worker(RepositoryConnector connector) {
+			this.connector = connector;
+		}
+
+		void close() {
+			connector.close();
+			if (checksums != null) {
+				checksums.close();
+			}
+		}
+
+	}
+
+}
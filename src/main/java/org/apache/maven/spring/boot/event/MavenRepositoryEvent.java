@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.event;
+
+import org.eclipse.aether.RepositoryEvent;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published for the downloads, installations and deployments of artifacts and
+ * metadata, and for invalid descriptors and metadata, carrying the Aether
+ * {@link RepositoryEvent}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public class MavenRepositoryEvent extends ApplicationEvent {
+
+	private final RepositoryEvent repositoryEvent;
+
+	public MavenRepositoryEvent(TransferEventBridge source, RepositoryEvent repositoryEvent) {
+		super(source);
+		this.repositoryEvent = repositoryEvent;
+	}
+
+	public RepositoryEvent.EventType getType() {
+		return repositoryEvent.getType();
+	}
+
+	public RepositoryEvent getRepositoryEvent() {
+		return repositoryEvent;
+	}
+
+	@Override
+	public String toString() {
+		return repositoryEvent.toString();
+	}
+
+}
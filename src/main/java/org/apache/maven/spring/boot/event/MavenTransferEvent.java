@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published for the transfers of the sessions of a
+ * {@link org.apache.maven.spring.boot.ext.MavenClientTemplate}: when a transfer
+ * is initiated, starts, succeeds, fails, is found corrupted or stalls. Progress
+ * is not published, see {@link TransferEventBridge#getInFlightTransfers()}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public class MavenTransferEvent extends ApplicationEvent {
+
+	public enum Type {
+		INITIATED, STARTED, SUCCEEDED, FAILED, CORRUPTED, STALLED
+	}
+
+	private final Type type;
+	private final String repositoryId;
+	private final String resourceName;
+	private final boolean upload;
+	private final long transferredBytes;
+	private final long contentLength;
+	private final long duration;
+	private final Exception exception;
+
+	/**
+	 * @param source           the bridge publishing the event
+	 * @param type             the type of the event
+	 * @param repositoryId     the id of the repository, {@code other} if the
+	 *                         repository is not configured
+	 * @param resourceName     the path of the resource relative to the repository
+	 * @param upload           {@code true} for a deployment
+	 * @param transferredBytes the bytes transferred so far
+	 * @param contentLength    the size of the resource, or {@code -1} if unknown
+	 * @param duration         the time in milliseconds since the transfer was
+	 *                         initiated
+	 * @param exception        the failure, may be {@code null}
+	 */
+	public MavenTransferEvent(TransferEventBridge source, Type type, String repositoryId, String resourceName,
+			boolean upload, long transferredBytes, long contentLength, long duration, Exception exception) {
+		super(source);
+		this.type = type;
+		this.repositoryId = repositoryId;
+		this.resourceName = resourceName;
+		this.upload = upload;
+		this.transferredBytes = transferredBytes;
+		this.contentLength = contentLength;
+		this.duration = duration;
+		this.exception = exception;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getRepositoryId() {
+		return repositoryId;
+	}
+
+	public String getResourceName() {
+		return resourceName;
+	}
+
+	public boolean isUpload() {
+		return upload;
+	}
+
+	public long getTransferredBytes() {
+		return transferredBytes;
+	}
+
+	public long getContentLength() {
+		return contentLength;
+	}
+
+	public long getDuration() {
+		return duration;
+	}
+
+	/**
+	 * @return the average throughput of the transfer so far
+	 */
+	public long getBytesPerSecond() {
+		return duration > 0 ? transferredBytes * 1000 / duration : 0;
+	}
+
+	public Exception getException() {
+		return exception;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + repositoryId + "/" + resourceName + " " + transferredBytes + " bytes in " + duration
+				+ " ms";
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.event;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.util.Assert;
+
+/**
+ * Actuator endpoint listing the transfers in flight with their bytes per
+ * second and elapsed time, and the counts of the {@link TransferEventBridge}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@Endpoint(id = "maventransfers")
+public class TransferEndpoint {
+
+	private final TransferEventBridge bridge;
+
+	public TransferEndpoint(TransferEventBridge bridge) {
+		Assert.notNull(bridge, "TransferEventBridge must not be null");
+		this.bridge = bridge;
+	}
+
+	@ReadOperation
+	public Map<String, Object> transfers() {
+		Map<String, Object> transfers = new LinkedHashMap<>();
+		transfers.put("published", bridge.getPublishedCount());
+		transfers.put("pending", bridge.getPendingCount());
+		transfers.put("dropped", bridge.getDroppedCount());
+		transfers.put("transfers", bridge.getInFlightTransfers());
+		return transfers;
+	}
+
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * Turns the transfer and repository events of Aether into
+ * {@link MavenTransferEvent}s and {@link MavenRepositoryEvent}s. The download
+ * threads only add the events to an {@link EventRingBuffer}; a single daemon
+ * thread publishes them, so a slow application listener never holds a transfer
+ * up. When the buffer is full events are dropped and counted.
+ * <p>
+ * The transfers in flight are tracked with their progress, a transfer without
+ * progress for longer than the stall timeout is published once as
+ * {@link MavenTransferEvent.Type#STALLED}.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class TransferEventBridge {
+
+	private static final Logger log = LoggerFactory.getLogger(TransferEventBridge.class);
+	private static final String OTHER = "other";
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long STALL_CHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final ApplicationEventPublisher publisher;
+	private final Map<String, String> repositoryIds;
+	private final EventRingBuffer<ApplicationEvent> buffer;
+	private final long stallTimeout;
+	private final ConcurrentMap<TransferResource, InFlightTransfer> transfers = new ConcurrentHashMap<>();
+	private final TransferListener transferListener = new BridgeTransferListener();
+	private final RepositoryListener repositoryListener = new BridgeRepositoryListener();
+	private final LongAdder published = new LongAdder();
+	private final Thread dispatcher;
+	private volatile boolean running = true;
+
+	/**
+	 * @param publisher    the publisher of the application events
+	 * @param repositories the configured remote repositories, other repositories
+	 *                     are reported as {@code other}
+	 * @param bufferSize   the maximum number of events waiting to be published
+	 * @param stallTimeout the time in milliseconds without progress after which a
+	 *                     transfer is reported as stalled, {@code 0} to disable
+	 */
+	public TransferEventBridge(ApplicationEventPublisher publisher, List<RemoteRepository> repositories,
+			int bufferSize, long stallTimeout) {
+		Assert.notNull(publisher, "ApplicationEventPublisher must not be null");
+		Assert.notNull(repositories, "repositories must not be null");
+		this.publisher = publisher;
+		this.repositoryIds = RepositorySystemUtils.repositoryIds(repositories);
+		this.buffer = new EventRingBuffer<>(bufferSize);
+		this.stallTimeout = TimeUnit.MILLISECONDS.toNanos(stallTimeout);
+		this.dispatcher = new Thread(this::dispatch, "maven-client-event-dispatcher");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+
+	/**
+	 * @return the listener to add to the sessions, see
+	 *         {@link org.apache.maven.spring.boot.ext.RepositorySystemSessionFactory#addTransferListener(TransferListener)}
+	 */
+	public TransferListener getTransferListener() {
+		return transferListener;
+	}
+
+	/**
+	 * @return the listener to add to the sessions, see
+	 *         {@link org.apache.maven.spring.boot.ext.RepositorySystemSessionFactory#addRepositoryListener(RepositoryListener)}
+	 */
+	public RepositoryListener getRepositoryListener() {
+		return repositoryListener;
+	}
+
+	/**
+	 * @return a snapshot of the transfers initiated and not completed yet
+	 */
+	public List<InFlightTransfer> getInFlightTransfers() {
+		return new ArrayList<>(transfers.values());
+	}
+
+	public long getPublishedCount() {
+		return published.sum();
+	}
+
+	public long getDroppedCount() {
+		return buffer.getDroppedCount();
+	}
+
+	public int getPendingCount() {
+		return buffer.size();
+	}
+
+	/**
+	 * Stop the dispatcher thread once the pending events are published.
+	 */
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(dispatcher);
+	}
+
+	private void dispatch() {
+		long lastCheck = System.nanoTime();
+		while (running) {
+			long now = System.nanoTime();
+			if (stallTimeout > 0 && now - lastCheck >= STALL_CHECK_NANOS) {
+				this.checkStalls(now);
+				lastCheck = now;
+			}
+			ApplicationEvent event = buffer.poll();
+			if (event != null) {
+				this.publish(event);
+			} else {
+				LockSupport.parkNanos(IDLE_NANOS);
+			}
+		}
+		for (ApplicationEvent event = buffer.poll(); event != null; event = buffer.poll()) {
+			this.publish(event);
+		}
+	}
+
+	private void publish(ApplicationEvent event) {
+		try {
+			publisher.publishEvent(event);
+			published.increment();
+		} catch (RuntimeException e) {
+			log.warn("Failed to publish " + event, e);
+		}
+	}
+
+	private void checkStalls(long now) {
+		for (InFlightTransfer transfer : transfers.values()) {
+			if (!transfer.stalled && now - transfer.lastProgress > stallTimeout) {
+				transfer.stalled = true;
+				this.publish(this.event(transfer, MavenTransferEvent.Type.STALLED, null));
+			}
+		}
+	}
+
+	private MavenTransferEvent event(InFlightTransfer transfer, MavenTransferEvent.Type type, Exception exception) {
+		return new MavenTransferEvent(this, type, transfer.repositoryId, transfer.resourceName, transfer.upload,
+				transfer.transferredBytes, transfer.contentLength, transfer.getElapsed(), exception);
+	}
+
+	private String repositoryId(TransferResource resource) {
+		String id = repositoryIds.get(RepositorySystemUtils.normalizeUrl(resource.getRepositoryUrl()));
+		return id != null ? id : OTHER;
+	}
+
+	/**
+	 * A transfer in flight. Its progress is written by the transfer thread only.
+	 */
+	public static class InFlightTransfer {
+
+		private final String repositoryId;
+		private final String resourceName;
+		private final boolean upload;
+		private final long start = System.nanoTime();
+		private volatile long lastProgress = start;
+		private volatile long transferredBytes;
+		private volatile long contentLength = -1;
+		private volatile boolean stalled;
+
+		InFlightTransfer(String repositoryId, String resourceName, boolean upload) {
+			this.repositoryId = repositoryId;
+			this.resourceName = resourceName;
+			this.upload = upload;
+		}
+
+		void progressed(long transferredBytes) {
+			this.transferredBytes = transferredBytes;
+			this.lastProgress = System.nanoTime();
+			this.stalled = false;
+		}
+
+		public String getRepositoryId() {
+			return repositoryId;
+		}
+
+		public String getResourceName() {
+			return resourceName;
+		}
+
+		public boolean isUpload() {
+			return upload;
+		}
+
+		public long getTransferredBytes() {
+			return transferredBytes;
+		}
+
+		/**
+		 * @return the size of the resource, or {@code -1} if unknown
+		 */
+		public long getContentLength() {
+			return contentLength;
+		}
+
+		/**
+		 * @return the time in milliseconds since the transfer was initiated
+		 */
+		public long getElapsed() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		}
+
+		public long getBytesPerSecond() {
+			long elapsed = System.nanoTime() - start;
+			return elapsed > 0 ? (long) (transferredBytes * 1e9 / elapsed) : 0;
+		}
+
+		public boolean isStalled() {
+			return stalled;
+		}
+
+	}
+
+	private class BridgeTransferListener extends AbstractTransferListener {
+
+		@Override
+		public void transferInitiated(TransferEvent event) {
+			TransferResource resource = event.getResource();
+			InFlightTransfer transfer = new InFlightTransfer(repositoryId(resource), resource.getResourceName(),
+					event.getRequestType() == TransferEvent.RequestType.PUT);
+			transfers.put(resource, transfer);
+			buffer.offer(event(transfer, MavenTransferEvent.Type.INITIATED, null));
+		}
+
+		@Override
+		public void transferStarted(TransferEvent event) {
+			InFlightTransfer transfer = transfers.get(event.getResource());
+			if (transfer != null) {
+				transfer.contentLength = event.getResource().getContentLength();
+				transfer.progressed(event.getTransferredBytes());
+				buffer.offer(event(transfer, MavenTransferEvent.Type.STARTED, null));
+			}
+		}
+
+		@Override
+		public void transferProgressed(TransferEvent event) {
+			InFlightTransfer transfer = transfers.get(event.getResource());
+			if (transfer != null) {
+				transfer.progressed(event.getTransferredBytes());
+			}
+		}
+
+		@Override
+		public void transferCorrupted(TransferEvent event) {
+			InFlightTransfer transfer = transfers.get(event.getResource());
+			if (transfer != null) {
+				buffer.offer(event(transfer, MavenTransferEvent.Type.CORRUPTED, event.getException()));
+			}
+		}
+
+		@Override
+		public void transferSucceeded(TransferEvent event) {
+			InFlightTransfer transfer = transfers.remove(event.getResource());
+			if (transfer != null) {
+				transfer.progressed(event.getTransferredBytes());
+				buffer.offer(event(transfer, MavenTransferEvent.Type.SUCCEEDED, null));
+			}
+		}
+
+		@Override
+		public void transferFailed(TransferEvent event) {
+			InFlightTransfer transfer = transfers.remove(event.getResource());
+			if (transfer != null) {
+				buffer.offer(event(transfer, MavenTransferEvent.Type.FAILED, event.getException()));
+			}
+		}
+
+	}
+
+	private class BridgeRepositoryListener extends AbstractRepositoryListener {
+
+		private void offer(RepositoryEvent event) {
+			buffer.offer(new MavenRepositoryEvent(TransferEventBridge.this, event));
+		}
+
+		@Override
+		public void artifactDescriptorInvalid(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void artifactDescriptorMissing(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void metadataInvalid(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void artifactDownloaded(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void metadataDownloaded(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void artifactInstalled(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void metadataInstalled(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void artifactDeployed(RepositoryEvent event) {
+			offer(event);
+		}
+
+		@Override
+		public void metadataDeployed(RepositoryEvent event) {
+			offer(event);
+		}
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * The outcome of a batch resolution, keyed by the artifact coordinates
+ * {@code <groupId>:<artifactId>:<extension>[:<classifier>]:<version>}. A failed
+ * coordinate does not abort the batch, it is reported in {@link #getFailures()}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class BatchArtifactResult {
+
+	private final Map<String, ArtifactResult> results = new LinkedHashMap<String, ArtifactResult>();
+	private final Map<String, Exception> failures = new LinkedHashMap<String, Exception>();
+
+	void addResult(String coordinates, ArtifactResult result) {
+		this.results.put(coordinates, result);
+	}
+
+	void addFailure(String coordinates, Exception exception) {
+		this.failures.put(coordinates, exception);
+	}
+
+	/**
+	 * @return the resolved artifacts, in request order
+	 */
+	public Map<String, ArtifactResult> getResults() {
+		return Collections.unmodifiableMap(results);
+	}
+
+	/**
+	 * @return the failed coordinates with the cause of the failure
+	 */
+	public Map<String, Exception> getFailures() {
+		return Collections.unmodifiableMap(failures);
+	}
+
+	public boolean isSuccessful() {
+		return failures.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "BatchArtifactResult [resolved=" + results.size() + ", failed=" + failures.size() + "]";
+	}
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.installation.InstallResult;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.resolution.MetadataResult;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionResult;
+import org.eclipse.aether.version.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/*
+ * 	<b>{@link MavenClientTemplate} 的异步实现，所有操作在有界线程池中执行并返回 {@link CompletableFuture}：</b>
+ * 	<p>1、线程池大小与队列容量由 {@link MavenClientProperties.Async} 配置</p>
+ * 	<p>2、JDK 支持时可使用虚拟线程，此时线程池大小限制并发解析数量，线程池大小与队列容量之和限制已接收的任务数量，超出时拒绝</p>
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class MavenClientAsyncTemplate {
+
+	private static final Logger log = LoggerFactory.getLogger(MavenClientAsyncTemplate.class);
+	private final MavenClientTemplate clientTemplate;
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final Semaphore admissions;
+
+	/**
+	 * Create an instance using the executor settings of the template properties.
+	 *
+	 * @param clientTemplate the blocking template to delegate to
+	 * @param async          the executor settings
+	 */
+	public MavenClientAsyncTemplate(MavenClientTemplate clientTemplate, MavenClientProperties.Async async) {
+		Assert.notNull(clientTemplate, "MavenClientTemplate must not be null");
+		Assert.notNull(async, "Async properties must not be null");
+		Assert.isTrue(async.getPoolSize() > 0, "poolSize must be greater than 0");
+		this.clientTemplate = clientTemplate;
+		ExecutorService virtualExecutor = async.isVirtualThreads() ? newVirtualThreadExecutor() : null;
+		if (virtualExecutor != null) {
+			this.executor = virtualExecutor;
+			this.permits = new Semaphore(async.getPoolSize());
+			// the running and the waiting operations, like the pool and its queue
+			this.admissions = new Semaphore(async.getPoolSize() + Math.max(1, async.getQueueCapacity()));
+		} else {
+			this.executor = newThreadPoolExecutor(async);
+			this.permits = null;
+			this.admissions = null;
+		}
+	}
+
+	/**
+	 * Create an instance running on the given executor, the caller is responsible
+	 * for bounding and shutting it down.
+	 *
+	 * @param clientTemplate the blocking template to delegate to
+	 * @param executor       the executor running the operations
+	 */
+	public MavenClientAsyncTemplate(MavenClientTemplate clientTemplate, ExecutorService executor) {
+		Assert.notNull(clientTemplate, "MavenClientTemplate must not be null");
+		Assert.notNull(executor, "ExecutorService must not be null");
+		this.clientTemplate = clientTemplate;
+		this.executor = executor;
+		this.permits = null;
+		this.admissions = null;
+	}
+
+	public CompletableFuture<ArtifactResult> artifactAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.artifact(coordinates));
+	}
+
+	public CompletableFuture<ArtifactResult> artifactAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.artifact(resource));
+	}
+
+	public CompletableFuture<List<ArtifactResult>> artifactsAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.artifacts(coordinates));
+	}
+
+	public CompletableFuture<List<ArtifactResult>> artifactsAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.artifacts(resource));
+	}
+
+	public CompletableFuture<BatchArtifactResult> artifactsAsync(Collection<MavenResource> resources) {
+		return this.supply(() -> clientTemplate.artifacts(resources));
+	}
+
+	public CompletableFuture<DependencyResult> dependenciesAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.dependencies(coordinates));
+	}
+
+	public CompletableFuture<DependencyResult> dependenciesAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.dependencies(resource));
+	}
+
+	public CompletableFuture<List<MetadataResult>> metadataAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.metadata(coordinates));
+	}
+
+	public CompletableFuture<List<MetadataResult>> metadataAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.metadata(resource));
+	}
+
+	public CompletableFuture<Resource> resourceAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.resource(coordinates));
+	}
+
+	public CompletableFuture<Resource> resourceAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.resource(resource));
+	}
+
+	public CompletableFuture<VersionResult> versionAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.version(coordinates));
+	}
+
+	public CompletableFuture<VersionResult> versionAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.version(resource));
+	}
+
+	public CompletableFuture<VersionRangeResult> versionRangeAsync(String coordinates) {
+		return this.supply(() -> clientTemplate.versionRange(coordinates));
+	}
+
+	public CompletableFuture<VersionRangeResult> versionRangeAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.versionRange(resource));
+	}
+
+	public CompletableFuture<Map<String, VersionRangeResult>> versionRangesAsync(Collection<String> coordinates) {
+		return this.supply(() -> clientTemplate.versionRanges(coordinates));
+	}
+
+	public CompletableFuture<Version> lastVersionAsync(MavenResource resource) {
+		return this.supply(() -> clientTemplate.lastVersion(resource));
+	}
+
+	public CompletableFuture<InstallResult> installAsync(File path, String coordinates) {
+		return this.supply(() -> clientTemplate.install(path, coordinates));
+	}
+
+	public CompletableFuture<InstallResult> installAsync(Artifact... artifacts) {
+		return this.supply(() -> clientTemplate.install(artifacts));
+	}
+
+	public CompletableFuture<DeployResult> deployAsync(File path, String coordinates, String repositoryId) {
+		return this.supply(() -> clientTemplate.deploy(path, coordinates, repositoryId));
+	}
+
+	public CompletableFuture<DeployResult> deployAsync(RemoteRepository repository, Artifact... artifacts) {
+		return this.supply(() -> clientTemplate.deploy(repository, artifacts));
+	}
+
+	public MavenClientTemplate getClientTemplate() {
+		return clientTemplate;
+	}
+
+	public void shutdown() {
+		this.executor.shutdown();
+	}
+
+	/*
+	 * Run the operation on the executor, checked exceptions and rejections complete
+	 * the future exceptionally instead of being thrown to the caller.
+	 */
+	protected <T> CompletableFuture<T> supply(Operation<T> operation) {
+		if (this.admissions != null && !this.admissions.tryAcquire()) {
+			return rejected(new RejectedExecutionException("Too many pending operations"));
+		}
+		try {
+			return CompletableFuture.supplyAsync(() -> this.call(operation), this.executor);
+		} catch (RejectedExecutionException e) {
+			if (this.admissions != null) {
+				this.admissions.release();
+			}
+			return rejected(e);
+		}
+	}
+
+	private static <T> CompletableFuture<T> rejected(RejectedExecutionException e) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.completeExceptionally(e);
+		return future;
+	}
+
+	private <T> T call(Operation<T> operation) {
+		boolean acquired = false;
+		try {
+			if (this.permits != null) {
+				this.permits.acquire();
+				acquired = true;
+			}
+			return operation.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(e);
+		} catch (Exception e) {
+			throw new CompletionException(e);
+		} finally {
+			if (acquired) {
+				this.permits.release();
+			}
+			if (this.admissions != null) {
+				this.admissions.release();
+			}
+		}
+	}
+
+	protected static ExecutorService newThreadPoolExecutor(MavenClientProperties.Async async) {
+		final AtomicInteger counter = new AtomicInteger();
+		final String prefix = async.getThreadNamePrefix();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(async.getPoolSize(), async.getPoolSize(), 60L,
+				TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, async.getQueueCapacity())),
+				threadFactory, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/*
+	 * Executors#newVirtualThreadPerTaskExecutor is only available since JDK 21, fall
+	 * back to the bounded thread pool on older runtimes.
+	 */
+	protected static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (Exception e) {
+			log.warn("Virtual threads are not supported by this JDK, using a platform thread pool.");
+			return null;
+		}
+	}
+
+	@FunctionalInterface
+	protected interface Operation<T> {
+
+		T call() throws Exception;
+
+	}
+
+}
@@ -15,42 +15,87 @@
  */
 package org.apache.maven.spring.boot.ext;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.text.ChoiceFormat;
-import java.text.MessageFormat;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
 import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.cache.ArtifactResultCache;
+import org.apache.maven.spring.boot.cache.DependencyGraphCache;
+import org.apache.maven.spring.boot.cache.InMemoryArtifactResultCache;
+import org.apache.maven.spring.boot.cache.ModelCache;
+import org.apache.maven.spring.boot.cache.NegativeResultCache;
+import org.apache.maven.spring.boot.cache.SharedModelCache;
+import org.apache.maven.spring.boot.cache.VersionIndex;
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.checksum.ChecksumPublisher;
+import org.apache.maven.spring.boot.checksum.ChecksumTransferListener;
+import org.apache.maven.spring.boot.deploy.BulkDeployResult;
+import org.apache.maven.spring.boot.deploy.BulkDeployer;
+import org.apache.maven.spring.boot.index.ClassIndex;
+import org.apache.maven.spring.boot.local.LocalRepositoryEvictor;
+import org.apache.maven.spring.boot.local.LocalRepositoryIndex;
+import org.apache.maven.spring.boot.local.LocalRepositoryScanner;
+import org.apache.maven.spring.boot.repository.HedgedArtifactResolver;
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreaker;
+import org.apache.maven.spring.boot.repository.RepositoryRouter;
 import org.apache.maven.spring.boot.utils.ArtifactUtils;
 import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.RepositoryException;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.artifact.AbstractArtifact;
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.deployment.DeployRequest;
 import org.eclipse.aether.deployment.DeployResult;
 import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.impl.DefaultServiceLocator;
 import org.eclipse.aether.installation.InstallRequest;
 import org.eclipse.aether.installation.InstallResult;
 import org.eclipse.aether.installation.InstallationException;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.ArtifactRepository;
 import org.eclipse.aether.repository.Authentication;
+import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.Proxy;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
@@ -68,8 +113,20 @@ import org.eclipse.aether.resolution.VersionRangeResult;
 import org.eclipse.aether.resolution.VersionRequest;
 import org.eclipse.aether.resolution.VersionResolutionException;
 import org.eclipse.aether.resolution.VersionResult;
+import org.eclipse.aether.spi.connector.ArtifactDownload;
+import org.eclipse.aether.spi.connector.RepositoryConnector;
+import org.eclipse.aether.spi.connector.RepositoryConnectorProvider;
+import org.eclipse.aether.spi.connector.layout.RepositoryLayoutProvider;
+import org.eclipse.aether.spi.connector.transport.TransporterProvider;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.NoRepositoryConnectorException;
 import org.eclipse.aether.util.artifact.JavaScopes;
+import org.eclipse.aether.util.filter.DependencyFilterUtils;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
 import org.eclipse.aether.version.Version;
+import org.eclipse.aether.version.VersionConstraint;
+import org.eclipse.aether.version.VersionScheme;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
@@ -93,16 +150,46 @@ import com.google.common.collect.Iterables;
  * 	<p>6、发布本地构件到远程仓库</p>
  * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
  */
-public class MavenClientTemplate {
+public class MavenClientTemplate implements Closeable {
 
 	private Logger log = LoggerFactory.getLogger(RepositorySystemUtils.class);
 	private String DEFAULT_CONTENT_TYPE = "default";
+	private static final String MAVEN_METADATA_XML = "maven-metadata.xml";
+	private static final String META_INF_MAVEN = "META-INF/maven/";
+	private static final String POM_XML = "pom.xml";
+	private static final String POM_PROPERTIES = "pom.properties";
 	private List<RemoteRepository> remoteRepositories = new LinkedList<RemoteRepository>();
 	private Map<String, RemoteRepository> remoteRepositoriesMap = new HashMap<String, RemoteRepository>();
 	private final RepositorySystem repositorySystem;
+	private final RepositorySystemSessionFactory sessionFactory;
+	private volatile ArtifactResultCache artifactCache;
+	private volatile NegativeResultCache negativeCache;
+	private volatile DependencyGraphCache dependencyCache;
+	private volatile VersionIndex versionIndex;
+	private volatile ModelCache modelCache;
+	private volatile SharedModelCache parentModelCache;
+	private volatile ClassIndex classIndex;
+	private volatile OperationListener operationListener;
+	private final LocalRepositoryScanner localRepositoryScanner;
+	private final LocalRepositoryEvictor localRepositoryEvictor;
+	private final LocalRepositoryIndex localRepositoryIndex;
+	private final ModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
+	private final MavenModelResolver modelResolver = new MavenModelResolver(this);
+	private final long versionRefreshInterval;
+	private final VersionScheme versionScheme = new GenericVersionScheme();
+	/* built once, failures only concatenate it with the resource */
+	private final String repositoriesDescription;
+	private final RequestCoalescer requestCoalescer;
+	private final HedgedArtifactResolver hedgedResolver;
+	private final RepositoryRouter repositoryRouter;
+	private final RepositoryCircuitBreaker circuitBreaker;
+	private final ChecksumTransferListener checksumListener;
+	private final ChecksumPublisher checksumPublisher;
+	private final RepositoryConnectorProvider connectorProvider;
+	private final BulkDeployer bulkDeployer;
+	private final List<String> sidecarAlgorithms = new ArrayList<>();
 	private MavenClientProperties properties;
 	private final Authentication authentication;
-	private MavenXpp3Reader modelReader = new MavenXpp3Reader();
 
 	/**
 	 * Create an instance using the provided properties.
@@ -178,7 +265,382 @@ public class MavenClientTemplate {
 			this.remoteRepositoriesMap.put(entry.getKey(), repository);
 			this.remoteRepositories.add(repository);
 		}
-		this.repositorySystem = RepositorySystemUtils.newRepositorySystem();
+		int repositoryCount = this.properties.getRemoteRepositories().size();
+		this.repositoriesDescription = (repositoryCount == 1 ? "repository: " : "repositories: ")
+				+ (repositoryCount == 0 ? "none"
+						: StringUtils.collectionToDelimitedString(this.properties.getRemoteRepositories().keySet(),
+								",", "[", "]"));
+		DefaultServiceLocator serviceLocator = RepositorySystemUtils.newServiceLocator();
+		this.repositorySystem = serviceLocator.getService(RepositorySystem.class);
+		this.connectorProvider = serviceLocator.getService(RepositoryConnectorProvider.class);
+		this.sessionFactory = new RepositorySystemSessionFactory(this.repositorySystem, this.properties,
+				this.authentication);
+		long updateInterval = RepositorySystemUtils.updateInterval(this.properties.getUpdatePolicy(),
+				this.remoteRepositories);
+		this.sessionFactory.setMaxAge(updateInterval);
+		if (this.properties.getCache().isEnabled()) {
+			this.artifactCache = new InMemoryArtifactResultCache(this.properties.getCache().getMaximumSize(),
+					this.properties.getCache().getSnapshotTtl().toMillis());
+		}
+		this.requestCoalescer = this.properties.isCoalesceRequests() ? new RequestCoalescer() : null;
+		MavenClientProperties.Hedging hedging = this.properties.getHedging();
+		this.hedgedResolver = hedging.isEnabled()
+				? new HedgedArtifactResolver(this.repositorySystem, hedging.getThreads(), hedging.getDelay().toMillis(),
+						hedging.getPercentile())
+				: null;
+		this.repositoryRouter = this.properties.getRouting().isEnabled()
+				? new RepositoryRouter(this.properties.getRouting().getDecay())
+				: null;
+		MavenClientProperties.CircuitBreaker circuitBreaker = this.properties.getCircuitBreaker();
+		if (circuitBreaker.isEnabled()) {
+			this.circuitBreaker = new RepositoryCircuitBreaker(circuitBreaker.getFailureThreshold(),
+					circuitBreaker.getOpenDuration().toMillis());
+			this.sessionFactory.addRepositoryListener(this.circuitBreaker);
+		} else {
+			this.circuitBreaker = null;
+		}
+		if (this.properties.getDependencyCache().isEnabled()) {
+			File graphDirectory = this.properties.getDependencyCache().isPersistent()
+					? new File(localRepository, ".cache/dependency-graphs")
+					: null;
+			this.dependencyCache = new DependencyGraphCache(this.properties.getDependencyCache().getMaximumSize(),
+					this.properties.getCache().getSnapshotTtl().toMillis(), graphDirectory);
+		}
+		if (this.properties.getNegativeCache().isEnabled()) {
+			this.negativeCache = new NegativeResultCache(this.properties.getNegativeCache().getMaximumSize(),
+					this.properties.getNegativeCache().getTtl().toMillis());
+		}
+		if (this.properties.getVersionIndex().isEnabled()) {
+			this.versionIndex = new VersionIndex(this.properties.getVersionIndex().getMaximumSize());
+		}
+		this.versionRefreshInterval = updateInterval;
+		if (this.properties.getModelCache().isEnabled()) {
+			this.modelCache = new ModelCache(this.properties.getModelCache().getMaximumSize());
+		}
+		if (this.properties.getParentModelCache().isEnabled()) {
+			this.parentModelCache = new SharedModelCache(this.properties.getParentModelCache().getMaximumSize());
+		}
+		if (this.properties.getClassIndex().isEnabled()) {
+			File indexFile = this.properties.getClassIndex().isPersistent()
+					? new File(localRepository, ".cache/class-index.bin")
+					: null;
+			this.classIndex = new ClassIndex(indexFile, this.properties.getClassIndex().getThreads());
+		}
+		MavenClientProperties.Checksums checksums = this.properties.getChecksums();
+		if (checksums.isEnabled() && !checksums.getAlgorithms().isEmpty()) {
+			for (String algorithm : checksums.getAlgorithms()) {
+				// Aether writes the SHA-1 and MD5 sidecars itself
+				if (!"SHA-1".equalsIgnoreCase(algorithm) && !"MD5".equalsIgnoreCase(algorithm)) {
+					this.sidecarAlgorithms.add(algorithm);
+				}
+			}
+		}
+		this.checksumPublisher = this.sidecarAlgorithms.isEmpty() ? null
+				: new ChecksumPublisher(serviceLocator.getService(TransporterProvider.class),
+						serviceLocator.getService(RepositoryLayoutProvider.class), this.sidecarAlgorithms);
+		MavenClientProperties.Deploy deploy = this.properties.getDeploy();
+		String unchangedAlgorithm = null;
+		if (deploy.isSkipUnchanged()) {
+			// the strongest digest published next to every deployed artifact
+			unchangedAlgorithm = "SHA-1";
+			for (String algorithm : this.sidecarAlgorithms) {
+				if ("SHA-256".equalsIgnoreCase(algorithm)) {
+					unchangedAlgorithm = algorithm;
+				}
+			}
+		}
+		this.bulkDeployer = new BulkDeployer(this.repositorySystem, this.connectorProvider, deploy.getConcurrency(),
+				deploy.getMaxAttempts(), deploy.getBackoff().toMillis(), deploy.getMaxBackoff().toMillis(),
+				unchangedAlgorithm, this.checksumPublisher);
+		if (checksums.isEnabled() && !checksums.getAlgorithms().isEmpty()
+				&& !RepositoryPolicy.CHECKSUM_POLICY_IGNORE.equals(this.properties.getChecksumPolicy())) {
+			this.checksumListener = new ChecksumTransferListener(checksums.getAlgorithms());
+			this.sessionFactory.addTransferListener(this.checksumListener);
+			if (this.hedgedResolver != null) {
+				this.hedgedResolver.setChecksumListener(this.checksumListener);
+			}
+		} else {
+			this.checksumListener = null;
+		}
+		MavenClientProperties.Scanner scanner = this.properties.getScanner();
+		if (scanner.isEnabled()) {
+			File stateFile = scanner.isPersistent() ? new File(localRepository, ".cache/scanner-state.bin") : null;
+			this.localRepositoryScanner = new LocalRepositoryScanner(localRepository, stateFile, scanner.getThreads(),
+					scanner.getAction(), this);
+			if (!scanner.getInterval().isZero()) {
+				this.localRepositoryScanner.schedule(scanner.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+			}
+		} else {
+			this.localRepositoryScanner = null;
+		}
+		MavenClientProperties.Eviction eviction = this.properties.getEviction();
+		if (eviction.isEnabled()) {
+			File accessFile = eviction.isPersistent() ? new File(localRepository, ".cache/access-times.bin") : null;
+			this.localRepositoryEvictor = new LocalRepositoryEvictor(localRepository, accessFile,
+					eviction.getMaximumSize().toBytes(), eviction.getMaximumVersions(),
+					eviction.getMinimumAge().toMillis());
+			this.localRepositoryEvictor.schedule(eviction.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+		} else {
+			this.localRepositoryEvictor = null;
+		}
+		MavenClientProperties.LocalIndex localIndex = this.properties.getLocalIndex();
+		if (localIndex.isEnabled()) {
+			this.localRepositoryIndex = new LocalRepositoryIndex(localRepository, localIndex.getThreads(),
+					localIndex.isWatch());
+			this.localRepositoryIndex.buildAsync();
+		} else {
+			this.localRepositoryIndex = null;
+		}
+		if (this.localRepositoryEvictor != null) {
+			this.localRepositoryEvictor.setEvictionListener(this::removed);
+		}
+		if (this.localRepositoryScanner != null) {
+			this.localRepositoryScanner.setQuarantineListener(this::removed);
+		}
+	}
+
+	/**
+	 * get the factory holding the shared {@link RepositorySystemSession}, use it to
+	 * fork sessions with per-request overrides.
+	 * 
+	 * @return the {@link RepositorySystemSessionFactory} of this template
+	 */
+	public RepositorySystemSessionFactory getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * get the cache of resolved artifacts, {@code null} if caching is disabled.
+	 * 
+	 * @return the {@link ArtifactResultCache} of this template
+	 */
+	public ArtifactResultCache getArtifactCache() {
+		return artifactCache;
+	}
+
+	/**
+	 * Replace the cache of resolved artifacts, {@code null} disables caching.
+	 * 
+	 * @param artifactCache the {@link ArtifactResultCache} to use
+	 */
+	public void setArtifactCache(ArtifactResultCache artifactCache) {
+		this.artifactCache = artifactCache;
+	}
+
+	/**
+	 * get the cache of resolved dependency graphs, {@code null} if disabled.
+	 * 
+	 * @return the {@link DependencyGraphCache} of this template
+	 */
+	public DependencyGraphCache getDependencyCache() {
+		return dependencyCache;
+	}
+
+	public void setDependencyCache(DependencyGraphCache dependencyCache) {
+		this.dependencyCache = dependencyCache;
+	}
+
+	public HedgedArtifactResolver getHedgedResolver() {
+		return hedgedResolver;
+	}
+
+	/**
+	 * get the router ordering the remote repositories, {@code null} if disabled.
+	 * 
+	 * @return the {@link RepositoryRouter} of this template
+	 */
+	public RepositoryRouter getRepositoryRouter() {
+		return repositoryRouter;
+	}
+
+	/**
+	 * get the circuit breaker of the remote repositories, {@code null} if disabled.
+	 * 
+	 * @return the {@link RepositoryCircuitBreaker} of this template
+	 */
+	public RepositoryCircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * get the listener computing the digests of the downloads
+	 * 
+	 * @return the {@link ChecksumTransferListener}, {@code null} if the checksums
+	 *         are disabled
+	 */
+	public ChecksumTransferListener getChecksumListener() {
+		return checksumListener;
+	}
+
+	/**
+	 * get the integrity scanner of the local repository
+	 * 
+	 * @return the {@link LocalRepositoryScanner}, {@code null} if the scanner is
+	 *         disabled
+	 */
+	public LocalRepositoryScanner getLocalRepositoryScanner() {
+		return localRepositoryScanner;
+	}
+
+	/**
+	 * get the evictor of least recently used artifacts of the local repository
+	 * 
+	 * @return the {@link LocalRepositoryEvictor}, {@code null} if the eviction is
+	 *         disabled
+	 */
+	public LocalRepositoryEvictor getLocalRepositoryEvictor() {
+		return localRepositoryEvictor;
+	}
+
+	/**
+	 * get the in-memory index of the local repository
+	 * 
+	 * @return the {@link LocalRepositoryIndex}, {@code null} if the index is
+	 *         disabled
+	 */
+	public LocalRepositoryIndex getLocalRepositoryIndex() {
+		return localRepositoryIndex;
+	}
+
+	/*
+	 * A version directory was evicted or a file quarantined, drop it from the
+	 * indexes of the local repository.
+	 */
+	private void removed(Path path) {
+		if (this.localRepositoryIndex != null) {
+			this.localRepositoryIndex.remove(path);
+		}
+		ClassIndex classIndex = this.classIndex;
+		if (classIndex != null) {
+			classIndex.remove(path);
+		}
+	}
+
+	/**
+	 * Stop the background threads of the enabled components and persist their
+	 * state, the template must not be used afterwards.
+	 */
+	public void shutdown() {
+		if (this.hedgedResolver != null) {
+			this.hedgedResolver.shutdown();
+		}
+		if (this.localRepositoryScanner != null) {
+			this.localRepositoryScanner.shutdown();
+		}
+		if (this.localRepositoryEvictor != null) {
+			this.localRepositoryEvictor.shutdown();
+		}
+		if (this.localRepositoryIndex != null) {
+			this.localRepositoryIndex.shutdown();
+		}
+		ClassIndex classIndex = this.classIndex;
+		if (classIndex != null) {
+			classIndex.shutdown();
+		}
+	}
+
+	@Override
+	public void close() {
+		this.shutdown();
+	}
+
+	/**
+	 * get the coalescer sharing in-flight resolutions, {@code null} if disabled.
+	 * 
+	 * @return the {@link RequestCoalescer} of this template
+	 */
+	public RequestCoalescer getRequestCoalescer() {
+		return requestCoalescer;
+	}
+
+	/**
+	 * get the cache of artifacts that were not found, {@code null} if disabled.
+	 * 
+	 * @return the {@link NegativeResultCache} of this template
+	 */
+	public NegativeResultCache getNegativeCache() {
+		return negativeCache;
+	}
+
+	public void setNegativeCache(NegativeResultCache negativeCache) {
+		this.negativeCache = negativeCache;
+	}
+
+	/**
+	 * get the index of the available versions, {@code null} if disabled.
+	 * 
+	 * @return the {@link VersionIndex} of this template
+	 */
+	public VersionIndex getVersionIndex() {
+		return versionIndex;
+	}
+
+	public void setVersionIndex(VersionIndex versionIndex) {
+		this.versionIndex = versionIndex;
+	}
+
+	/**
+	 * get the cache of the models read by {@link #resolve(File)}, {@code null} if
+	 * disabled.
+	 * 
+	 * @return the {@link ModelCache} of this template
+	 */
+	public ModelCache getModelCache() {
+		return modelCache;
+	}
+
+	public void setModelCache(ModelCache modelCache) {
+		this.modelCache = modelCache;
+	}
+
+	/**
+	 * get the cache of parent and imported models shared by all effective model
+	 * builds, {@code null} if disabled.
+	 * 
+	 * @return the {@link SharedModelCache} of this template
+	 */
+	public SharedModelCache getParentModelCache() {
+		return parentModelCache;
+	}
+
+	public void setParentModelCache(SharedModelCache parentModelCache) {
+		this.parentModelCache = parentModelCache;
+	}
+
+	/**
+	 * get the index of the classes of the resolved jars, {@code null} if disabled.
+	 * 
+	 * @return the {@link ClassIndex} of this template
+	 */
+	public ClassIndex getClassIndex() {
+		return classIndex;
+	}
+
+	public void setClassIndex(ClassIndex classIndex) {
+		this.classIndex = classIndex;
+	}
+
+	/**
+	 * get the remote repositories of this template, in the order they are asked.
+	 * 
+	 * @return the configured {@link RemoteRepository}s
+	 */
+	public List<RemoteRepository> getRemoteRepositories() {
+		return Collections.unmodifiableList(remoteRepositories);
+	}
+
+	public OperationListener getOperationListener() {
+		return operationListener;
+	}
+
+	/**
+	 * Set the listener notified of the duration of every operation and of its
+	 * phases, e.g. to record metrics.
+	 * 
+	 * @param operationListener the listener, may be {@code null}
+	 */
+	public void setOperationListener(OperationListener operationListener) {
+		this.operationListener = operationListener;
 	}
 
 	/**
@@ -270,32 +732,52 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public ArtifactResult artifact(MavenResource resource) {
+		return this.observe("artifact", () -> this.doArtifact(resource));
+	}
+
+	private ArtifactResult doArtifact(MavenResource resource) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
 		validateCoordinates(resource);
+		Artifact artifact = ArtifactUtils.toJarArtifact(resource);
+		ArtifactResultCache cache = this.artifactCache;
+		ArtifactResult cached = cache != null ? cache.get(artifact) : null;
+		if (cached != null) {
+			this.accessed(Collections.singletonList(cached));
+			return cached;
+		}
+		ArtifactResult local = this.localArtifact(artifact);
+		if (local != null) {
+			this.accessed(Collections.singletonList(local));
+			return local;
+		}
+		NegativeResultCache notFound = this.negativeCache;
+		if (notFound != null) {
+			notFound.check(artifact, this.remoteRepositories);
+		}
+		return this.coalesce("artifact", artifact, RepositorySystemUtils::copyArtifactResult, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
 
-		try {
+			try {
 
-			ArtifactRequest request = new ArtifactRequest(ArtifactUtils.toJarArtifact(resource),
-					this.remoteRepositories, JavaScopes.RUNTIME);
+				ArtifactRequest request = new ArtifactRequest(artifact, this.remoteRepositories,
+						JavaScopes.RUNTIME);
 
-			return this.repositorySystem.resolveArtifact(session, request);
+				ArtifactResult result = this.resolveArtifact(session, request);
+				if (cache != null) {
+					cache.put(artifact, result);
+				}
+				this.indexClasses(Collections.singletonList(result));
+				return result;
 
-		} catch (ArtifactResolutionException e) {
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
-		}
+			} catch (ArtifactResolutionException e) {
+				IllegalStateException failure = this.resolutionFailure(resource, e);
+				if (notFound != null && this.isNotFound(e)) {
+					notFound.put(artifact, this.remoteRepositories, failure);
+				}
+				throw failure;
+			}
+		});
 	}
 
 	/**
@@ -389,44 +871,171 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public List<ArtifactResult> artifacts(MavenResource resource) {
+		return this.observe("artifacts", () -> this.doArtifacts(resource));
+	}
+
+	private List<ArtifactResult> doArtifacts(MavenResource resource) {
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				this.properties, this.authentication);
 		validateCoordinates(resource);
-		try {
+		Artifact jar = ArtifactUtils.toJarArtifact(resource);
+		return this.coalesce("artifacts", jar, RepositorySystemUtils::copyArtifactResults, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
+			try {
+
+				List<ArtifactRequest> artifactRequests = new ArrayList<>(2);
+				if (properties.isResolvePom()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toPomArtifact(resource),
+							this.remoteRepositories, JavaScopes.RUNTIME));
+				}
+				if (properties.isResolveJavadoc()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJavadocArtifact(resource),
+							this.remoteRepositories, JavaScopes.COMPILE));
+				}
+				if (properties.isResolveSources()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toSourcesArtifact(resource),
+							this.remoteRepositories, JavaScopes.COMPILE));
+				}
+				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJarArtifact(resource),
+						this.remoteRepositories, JavaScopes.RUNTIME));
 
-			List<ArtifactRequest> artifactRequests = new ArrayList<>(2);
-			if (properties.isResolvePom()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toPomArtifact(resource), this.remoteRepositories,
-						JavaScopes.RUNTIME));
-			}
-			if (properties.isResolveJavadoc()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJavadocArtifact(resource),
-						this.remoteRepositories, JavaScopes.COMPILE));
+				return this.resolveArtifacts(session, artifactRequests);
+
+			} catch (ArtifactResolutionException e) {
+				throw this.resolutionFailure(resource, e);
 			}
-			if (properties.isResolveSources()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toSourcesArtifact(resource),
-						this.remoteRepositories, JavaScopes.COMPILE));
+		});
+	}
+
+	/**
+	 * Resolve many artifacts at once. Duplicate coordinates are resolved only once
+	 * and all artifacts go through a single resolution, so the downloads from one
+	 * repository run in parallel (see
+	 * {@link MavenClientProperties#getDownloadThreads()}). A coordinate that fails
+	 * to resolve does not abort the batch.
+	 * Each artifact is looked up in the caches like a single artifact, and the
+	 * repositories are asked in the order of the router, skipping those whose
+	 * circuit is open.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param coordinates The artifact coordinates in the format
+	 *                    {@code <groupId>:<artifactId>[:<extension>[:<classifier>]]:<version>},
+	 *                    must not be {@code null}.
+	 * @return a {@link BatchArtifactResult} with the result or failure of each
+	 *         coordinate
+	 */
+	public BatchArtifactResult artifactsByCoordinates(Collection<String> coordinates) {
+		Assert.notNull(coordinates, "coordinates must not be null");
+		BatchArtifactResult batchResult = new BatchArtifactResult();
+		List<MavenResource> resources = new ArrayList<>(coordinates.size());
+		for (String coordinate : coordinates) {
+			try {
+				resources.add(MavenResource.parse(coordinate, properties));
+			} catch (IllegalArgumentException e) {
+				batchResult.addFailure(coordinate, e);
 			}
-			artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJarArtifact(resource), this.remoteRepositories,
-					JavaScopes.RUNTIME));
+		}
+		return this.artifacts(resources, batchResult);
+	}
 
-			return this.repositorySystem.resolveArtifacts(session, artifactRequests);
+	/**
+	 * Resolve many artifacts at once. Duplicate resources are resolved only once
+	 * and all artifacts go through a single resolution, so the downloads from one
+	 * repository run in parallel (see
+	 * {@link MavenClientProperties#getDownloadThreads()}). A resource that fails to
+	 * resolve does not abort the batch.
+	 * Each artifact is looked up in the caches like a single artifact, and the
+	 * repositories are asked in the order of the router, skipping those whose
+	 * circuit is open.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param resources the {@link MavenResource}s representing the artifacts
+	 * @return a {@link BatchArtifactResult} with the result or failure of each
+	 *         resource
+	 */
+	public BatchArtifactResult artifacts(Collection<MavenResource> resources) {
+		Assert.notNull(resources, "resources must not be null");
+		return this.artifacts(resources, new BatchArtifactResult());
+	}
 
-		} catch (ArtifactResolutionException e) {
+	private BatchArtifactResult artifacts(Collection<MavenResource> resources, BatchArtifactResult batchResult) {
+		return this.observe("batch", () -> this.doArtifacts(resources, batchResult));
+	}
+
+	private BatchArtifactResult doArtifacts(Collection<MavenResource> resources, BatchArtifactResult batchResult) {
+
+		ArtifactResultCache cache = this.artifactCache;
+		NegativeResultCache notFound = this.negativeCache;
+		Map<String, ArtifactRequest> requests = new LinkedHashMap<>();
+		Map<String, MavenResource> requested = new HashMap<>();
+		List<ArtifactResult> hits = new ArrayList<>();
+		for (MavenResource resource : resources) {
+			Artifact artifact;
+			try {
+				validateCoordinates(resource);
+				artifact = ArtifactUtils.toJarArtifact(resource);
+			} catch (IllegalArgumentException e) {
+				batchResult.addFailure(String.valueOf(resource), e);
+				continue;
+			}
+			String key = artifact.toString();
+			if (requests.containsKey(key) || batchResult.getResults().containsKey(key)
+					|| batchResult.getFailures().containsKey(key)) {
+				continue;
+			}
+			// the caches are asked per artifact, like a single resolution does
+			ArtifactResult cached = cache != null ? cache.get(artifact) : null;
+			if (cached == null) {
+				cached = this.localArtifact(artifact);
+			}
+			if (cached != null) {
+				hits.add(cached);
+				batchResult.addResult(key, cached);
+				continue;
+			}
+			try {
+				if (notFound != null) {
+					notFound.check(artifact, this.remoteRepositories);
+				}
+			} catch (IllegalStateException e) {
+				batchResult.addFailure(key, e);
+				continue;
+			}
+			requests.put(key, new ArtifactRequest(artifact, this.remoteRepositories, JavaScopes.RUNTIME));
+			requested.put(key, resource);
+		}
+		this.accessed(hits);
+		if (requests.isEmpty()) {
+			return batchResult;
+		}
 
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
+		RepositorySystemSession session = this.sessionFactory.getSession();
+		Map<ArtifactResult, IllegalStateException> failures = new HashMap<>();
+		List<ArtifactResult> results = this.resolveArtifacts(session, new ArrayList<>(requests.values()), failures);
+
+		List<ArtifactResult> resolved = new ArrayList<>(results.size());
+		Iterator<String> keys = requests.keySet().iterator();
+		for (ArtifactResult result : results) {
+			String key = keys.next();
+			IllegalStateException failure = failures.get(result);
+			if (failure != null) {
+				batchResult.addFailure(key, failure);
+			} else if (result.isResolved()) {
+				if (cache != null) {
+					cache.put(result.getRequest().getArtifact(), result);
+				}
+				resolved.add(result);
+				batchResult.addResult(key, result);
+			} else {
+				ArtifactResolutionException e = new ArtifactResolutionException(Collections.singletonList(result));
+				if (notFound != null && this.isNotFound(e)) {
+					notFound.put(result.getRequest().getArtifact(), this.remoteRepositories,
+							this.resolutionFailure(requested.get(key), e));
+				}
+				batchResult.addFailure(key, e);
+			}
 		}
+		this.indexClasses(resolved);
+		return batchResult;
 	}
 
 	/**
@@ -518,36 +1127,78 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public DependencyResult dependencies(MavenResource resource) {
+		return this.dependencies(resource, null);
+	}
+
+	/**
+	 * get DependencyResult
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param resource the {@link MavenResource} representing the artifact
+	 * @param scope    the classpath scope the dependencies are resolved for, see
+	 *                 {@link JavaScopes}, may be {@code null} to resolve all
+	 *                 dependencies.
+	 * @return a {@link DependencyResult} representing the resolved artifact in the
+	 *         local repository
+	 * @throws IllegalStateException if the artifact does not exist or the
+	 *                               resolution fails
+	 */
+	public DependencyResult dependencies(MavenResource resource, String scope) {
+		return this.observe("dependencies", () -> this.doDependencies(resource, scope));
+	}
+
+	private DependencyResult doDependencies(MavenResource resource, String scope) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
 		validateCoordinates(resource);
+		Artifact artifact = ArtifactUtils.toJarArtifact(resource);
+		DependencyGraphCache cache = this.dependencyCache;
+		DependencyResult cached = cache != null ? cache.get(artifact, this.remoteRepositories, scope) : null;
+		if (cached != null) {
+			this.accessed(cached.getArtifactResults());
+			return cached;
+		}
+		return this.coalesce("dependencies:" + scope, artifact, RepositorySystemUtils::copyDependencyResult, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
 
-		try {
+			try {
 
-			CollectRequest collectRequest = new CollectRequest();
-			collectRequest.setRepositories(this.remoteRepositories);
-			collectRequest.setRootArtifact(ArtifactUtils.toJarArtifact(resource));
+				CollectRequest collectRequest = new CollectRequest();
+				collectRequest.setRepositories(this.repositories(artifact));
+				collectRequest.setRootArtifact(artifact);
 
-			DependencyRequest request = new DependencyRequest();
-			request.setCollectRequest(collectRequest);
+				DependencyRequest request = new DependencyRequest();
+				request.setCollectRequest(collectRequest);
+				if (scope != null) {
+					request.setFilter(DependencyFilterUtils.classpathFilter(scope));
+				}
 
-			return this.repositorySystem.resolveDependencies(session, request);
+				DependencyResult result;
+				this.beginResolution();
+				try {
+					// collected apart so the time of the graph and of the downloads is told apart
+					long start = System.nanoTime();
+					CollectResult collectResult = this.repositorySystem.collectDependencies(session, collectRequest);
+					this.phase("collect", start);
+					request.setRoot(collectResult.getRoot());
+					start = System.nanoTime();
+					result = this.repositorySystem.resolveDependencies(session, request);
+					this.phase("resolve", start);
+					this.accessed(result.getArtifactResults());
+				} finally {
+					this.endResolution();
+				}
+				this.verifyChecksums(result.getArtifactResults());
+				if (cache != null) {
+					cache.put(artifact, this.remoteRepositories, scope, result);
+				}
+				this.indexClasses(result.getArtifactResults());
+				return result;
 
-		} catch (DependencyResolutionException e) {
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
-		}
+			} catch (DependencyCollectionException | DependencyResolutionException e) {
+				throw this.resolutionFailure(resource, e);
+			}
+		});
 	}
 
 	/**
@@ -637,35 +1288,193 @@ public class MavenClientTemplate {
 	 *         the local repository
 	 */
 	public List<MetadataResult> metadata(MavenResource resource) {
+		return this.observe("metadata", () -> this.doMetadata(resource));
+	}
+
+	private List<MetadataResult> doMetadata(MavenResource resource) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
+		RepositorySystemSession session = this.sessionFactory.getSession();
 		validateCoordinates(resource);
 
 		List<MetadataRequest> requests = new ArrayList<>(this.remoteRepositories.size());
-		for (RemoteRepository repository : this.remoteRepositories) {
+		for (RemoteRepository repository : this.availableRepositories()) {
 			requests.add(new MetadataRequest().setDeleteLocalCopyIfMissing(properties.isDeleteLocalCopyIfMissing())
 					.setFavorLocalRepository(properties.isFavorLocalRepository()).setRepository(repository));
 		}
 
-		return this.repositorySystem.resolveMetadata(session, requests);
+		long start = System.nanoTime();
+		List<MetadataResult> results = this.repositorySystem.resolveMetadata(session, requests);
+		this.phase("metadata", start);
+		return results;
 	}
 
+	/**
+	 * Read the {@link Model} of a jar from its {@code META-INF/maven/<g>/<a>/pom.xml},
+	 * or from its {@code pom.properties} if the jar holds no pom. Models are cached by
+	 * path, size and modification time of the jar.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param file the jar file
+	 * @return the {@link Model} of the jar
+	 * @throws XmlPullParserException if the pom cannot be parsed
+	 * @throws IOException            if the jar cannot be read or holds no pom
+	 */
 	public Model resolve(File file) throws XmlPullParserException, IOException {
+		ModelCache cache = this.modelCache;
+		Model model = cache != null ? cache.get(file) : null;
+		if (model == null) {
+			model = this.readModel(file);
+			if (cache != null) {
+				cache.put(file, model);
+			}
+		}
+		return model;
+	}
+
+	/**
+	 * Build the effective model of a project pom: parents and imported BOMs are
+	 * resolved through the repositories of this template, properties are
+	 * interpolated and the inheritance is applied.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param pomFile the pom.xml of the project
+	 * @return the effective {@link Model}
+	 * @throws IllegalStateException if the model cannot be built
+	 */
+	public Model effectiveModel(File pomFile) {
+		Assert.notNull(pomFile, "pomFile must not be null");
+		DefaultModelBuildingRequest request = this.modelBuildingRequest();
+		request.setPomFile(pomFile);
+		return this.effectiveModel(request, pomFile.getPath());
+	}
+
+	/**
+	 * Build the effective model of the pom of an artifact.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param resource the {@link MavenResource} representing the artifact
+	 * @return the effective {@link Model}
+	 * @throws IllegalStateException if the pom cannot be resolved or the model
+	 *                               cannot be built
+	 */
+	public Model effectiveModel(MavenResource resource) {
+		Assert.notNull(resource, "MavenResource must not be null");
+		validateCoordinates(resource);
+		MavenResource pom = new MavenResource.Builder().groupId(resource.getGroupId())
+				.artifactId(resource.getArtifactId()).extension("pom").version(resource.getVersion()).build();
+		File pomFile = this.artifact(pom).getArtifact().getFile();
+		DefaultModelBuildingRequest request = this.modelBuildingRequest();
+		request.setModelSource(new FileModelSource(pomFile));
+		return this.effectiveModel(request, resource.toString());
+	}
+
+	private DefaultModelBuildingRequest modelBuildingRequest() {
+		DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
+		request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+		request.setProcessPlugins(false);
+		request.setTwoPhaseBuilding(false);
+		request.setSystemProperties(System.getProperties());
+		request.setModelResolver(this.modelResolver);
+		request.setModelCache(this.parentModelCache);
+		return request;
+	}
+
+	private Model effectiveModel(ModelBuildingRequest request, String description) {
+		return this.observe("effectiveModel", () -> this.doEffectiveModel(request, description));
+	}
+
+	private Model doEffectiveModel(ModelBuildingRequest request, String description) {
+		try {
+			return this.modelBuilder.build(request).getEffectiveModel();
+		} catch (ModelBuildingException e) {
+			throw new IllegalStateException("Failed to build the effective model of " + description, e);
+		}
+	}
+
+	private Model readModel(File file) throws XmlPullParserException, IOException {
 		try (ZipFile zipFile = new ZipFile(file)) {
-			Enumeration<? extends ZipEntry> entries = zipFile.entries();
-			while (entries.hasMoreElements()) {
-				ZipEntry entry = entries.nextElement();
-				// System.out.println(entry.getName());
-				if (entry.getName().endsWith("pom.xml")) {
-					InputStream input = zipFile.getInputStream(entry);
-					Model model = modelReader.read(new InputStreamReader(input));
-					return model;
+			ZipEntry pom = null;
+			ZipEntry pomProperties = null;
+			// a jar of the local repository tells its coordinates by its path, the
+			// entry is then looked up in the central directory without any scan
+			String prefix = this.pomPrefix(file);
+			if (prefix != null) {
+				pom = zipFile.getEntry(prefix + POM_XML);
+				pomProperties = pom == null ? zipFile.getEntry(prefix + POM_PROPERTIES) : null;
+			}
+			ZipEntry anyPom = null;
+			if (pom == null && pomProperties == null) {
+				// only the names of the central directory are compared, nothing is inflated
+				for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+					ZipEntry entry = entries.nextElement();
+					String name = entry.getName();
+					boolean isPom = name.endsWith("/" + POM_XML);
+					if (!name.startsWith(META_INF_MAVEN)) {
+						if (anyPom == null && name.endsWith(POM_XML)) {
+							anyPom = entry;
+						}
+						continue;
+					}
+					if (!isPom && !name.endsWith("/" + POM_PROPERTIES)) {
+						continue;
+					}
+					// prefer the pom of the jar itself over the poms of shaded dependencies
+					int end = name.lastIndexOf('/');
+					String artifactId = name.substring(name.lastIndexOf('/', end - 1) + 1, end);
+					boolean own = file.getName().startsWith(artifactId + "-");
+					if (isPom && (pom == null || own)) {
+						pom = entry;
+					} else if (!isPom && (pomProperties == null || own)) {
+						pomProperties = entry;
+					}
+				}
+			}
+			if (pom == null && pomProperties == null) {
+				// any pom.xml, as before
+				pom = anyPom;
+			}
+			if (pom != null) {
+				try (InputStream input = zipFile.getInputStream(pom)) {
+					// MavenXpp3Reader is not thread-safe, it is cheap to create
+					return new MavenXpp3Reader().read(input);
+				}
+			}
+			if (pomProperties != null) {
+				Properties pomInfo = new Properties();
+				try (InputStream input = zipFile.getInputStream(pomProperties)) {
+					pomInfo.load(input);
 				}
+				Model model = new Model();
+				model.setModelVersion("4.0.0");
+				model.setGroupId(pomInfo.getProperty("groupId"));
+				model.setArtifactId(pomInfo.getProperty("artifactId"));
+				model.setVersion(pomInfo.getProperty("version"));
+				return model;
 			}
 		}
-		throw new IOException("Not a maven project, unable to parse version information.");
+		throw new IOException("Not a maven project, unable to parse version information.");
+	}
+
+	/*
+	 * META-INF/maven/<groupId>/<artifactId>/ if the file lies in the local repository
+	 * layout <groupId path>/<artifactId>/<version>/<artifactId>-<version>.jar
+	 */
+	private String pomPrefix(File file) {
+		File versionDirectory = file.getAbsoluteFile().getParentFile();
+		File artifactDirectory = versionDirectory != null ? versionDirectory.getParentFile() : null;
+		File groupDirectory = artifactDirectory != null ? artifactDirectory.getParentFile() : null;
+		if (groupDirectory == null || !file.getName()
+				.startsWith(artifactDirectory.getName() + "-" + versionDirectory.getName())) {
+			return null;
+		}
+		String root = new File(this.properties.getLocalRepository()).getAbsolutePath() + File.separator;
+		String group = groupDirectory.getPath() + File.separator;
+		if (!group.startsWith(root) || group.length() == root.length()) {
+			return null;
+		}
+		String groupId = group.substring(root.length(), group.length() - 1).replace(File.separatorChar, '.');
+		return META_INF_MAVEN + groupId + "/" + artifactDirectory.getName() + "/";
 	}
 
 	/**
@@ -774,46 +1583,497 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public Resource resource(MavenResource resource) {
+		return this.observe("resource", () -> this.doResource(resource));
+	}
+
+	private Resource doResource(MavenResource resource) {
 		Assert.notNull(resource, "MavenResource must not be null");
 		validateCoordinates(resource);
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				this.properties, this.authentication);
-		ArtifactResult resolvedArtifact;
+		Artifact artifact = ArtifactUtils.toJarArtifact(resource);
+		ArtifactResultCache cache = this.artifactCache;
+		ArtifactResult cached = cache != null ? cache.get(artifact) : null;
+		if (cached != null) {
+			this.accessed(Collections.singletonList(cached));
+			return ArtifactUtils.toResource(cached);
+		}
+		ArtifactResult local = this.localArtifact(artifact);
+		if (local != null && this.isLocal(resource)) {
+			this.accessed(Collections.singletonList(local));
+			return ArtifactUtils.toResource(local);
+		}
+		NegativeResultCache notFound = this.negativeCache;
+		if (notFound != null) {
+			notFound.check(artifact, this.remoteRepositories);
+		}
+		return this.coalesce("resource", artifact, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
+			ArtifactResult resolvedArtifact;
+			try {
+
+				List<ArtifactRequest> artifactRequests = new ArrayList<>(2);
+				if (properties.isResolvePom()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toPomArtifact(resource),
+							this.remoteRepositories, JavaScopes.RUNTIME));
+				}
+				if (properties.isResolveJavadoc()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJavadocArtifact(resource),
+							this.remoteRepositories, JavaScopes.COMPILE));
+				}
+				if (properties.isResolveSources()) {
+					artifactRequests.add(new ArtifactRequest(ArtifactUtils.toSourcesArtifact(resource),
+							this.remoteRepositories, JavaScopes.COMPILE));
+				}
+				artifactRequests.add(new ArtifactRequest(artifact, this.remoteRepositories, JavaScopes.RUNTIME));
+
+				List<ArtifactResult> results = this.resolveArtifacts(session, artifactRequests);
+				resolvedArtifact = results.get(results.size() - 1);
+				if (cache != null) {
+					cache.put(artifact, resolvedArtifact);
+				}
+			} catch (ArtifactResolutionException e) {
+				IllegalStateException failure = this.resolutionFailure(resource, e);
+				if (notFound != null && this.isNotFound(e)) {
+					notFound.put(artifact, this.remoteRepositories, failure);
+				}
+				throw failure;
+			}
+			return ArtifactUtils.toResource(resolvedArtifact);
+		});
+	}
+
+	/*
+	 * The operation listener is told the duration and outcome of every public
+	 * operation, nested operations are reported on their own.
+	 */
+	private <T, E extends Exception> T observe(String operation, Operation<T, E> call) throws E {
+		OperationListener listener = this.operationListener;
+		if (listener == null) {
+			return call.call();
+		}
+		long start = System.nanoTime();
+		try {
+			T result = call.call();
+			listener.operationCompleted(operation, System.nanoTime() - start, null);
+			return result;
+		} catch (Throwable e) {
+			listener.operationCompleted(operation, System.nanoTime() - start, e);
+			throw e;
+		}
+	}
+
+	private void phase(String phase, long start) {
+		OperationListener listener = this.operationListener;
+		if (listener != null) {
+			listener.phaseCompleted(phase, System.nanoTime() - start);
+		}
+	}
+
+	@FunctionalInterface
+	private interface Operation<T, E extends Exception> {
+
+		T call() throws E;
+
+	}
+
+	/*
+	 * Concurrent callers for the same operation, artifact and repositories share one
+	 * in-flight resolution.
+	 */
+	private <T> T coalesce(String operation, Artifact artifact, Supplier<T> resolution) {
+		return this.coalesce(operation, artifact, UnaryOperator.identity(), resolution);
+	}
+
+	/*
+	 * The callers which join an in-flight resolution receive a copy of its result,
+	 * so that one caller's changes are not seen by the others.
+	 */
+	private <T> T coalesce(String operation, Artifact artifact, UnaryOperator<T> copy, Supplier<T> resolution) {
+		if (this.requestCoalescer == null) {
+			return resolution.get();
+		}
+		String key = operation + '|' + artifact + '|' + RepositorySystemUtils.repositoriesKey(this.remoteRepositories);
+		return this.requestCoalescer.execute(key, resolution, copy);
+	}
+
+	/*
+	 * The remote repositories of a request for the given artifact, in the order they
+	 * should be asked.
+	 */
+	private List<RemoteRepository> repositories(Artifact artifact) {
+		List<RemoteRepository> repositories = this.availableRepositories();
+		if (this.repositoryRouter == null) {
+			return repositories;
+		}
+		return this.repositoryRouter.route(artifact, repositories);
+	}
+
+	/*
+	 * The remote repositories whose circuit is not open.
+	 */
+	private List<RemoteRepository> availableRepositories() {
+		if (this.circuitBreaker == null) {
+			return this.remoteRepositories;
+		}
+		return this.circuitBreaker.filter(this.remoteRepositories);
+	}
+
+	/*
+	 * A missing artifact is only remembered when no repository was left out by the
+	 * circuit breaker.
+	 */
+	private boolean isNotFound(ArtifactResolutionException e) {
+		return NegativeResultCache.isNotFound(e) && (this.circuitBreaker == null || !this.circuitBreaker.isAnyOpen());
+	}
+
+	/*
+	 * Resolve through the hedged resolver when hedging is enabled, otherwise let
+	 * Aether try the repositories one after another. The outcome is recorded for the
+	 * repository router and downloads are verified against the remote checksums.
+	 */
+	private ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request)
+			throws ArtifactResolutionException {
+		request.setRepositories(this.repositories(request.getArtifact()));
+		long start = System.nanoTime();
+		this.beginResolution();
+		try {
+			ArtifactResult result = this.doResolveArtifact(session, request);
+			this.phase("resolve", start);
+			this.record(Collections.singletonList(result), start);
+			this.verifyChecksums(Collections.singletonList(result));
+			this.accessed(Collections.singletonList(result));
+			return result;
+		} catch (ArtifactResolutionException e) {
+			this.phase("resolve", start);
+			this.record(e.getResults(), start);
+			throw e;
+		} finally {
+			this.endResolution();
+		}
+	}
+
+	private ArtifactResult doResolveArtifact(RepositorySystemSession session, ArtifactRequest request)
+			throws ArtifactResolutionException {
+		if (this.hedgedResolver == null) {
+			return this.repositorySystem.resolveArtifact(session, request);
+		}
+		return this.hedgedResolver.resolve(session, request);
+	}
+
+	private List<ArtifactResult> resolveArtifacts(RepositorySystemSession session, List<ArtifactRequest> requests)
+			throws ArtifactResolutionException {
+		Map<ArtifactResult, IllegalStateException> failures = new HashMap<>();
+		List<ArtifactResult> results = this.resolveArtifacts(session, requests, failures);
+		for (ArtifactResult result : results) {
+			if (!result.isResolved()) {
+				throw new ArtifactResolutionException(results);
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw failures.values().iterator().next();
+		}
+		return results;
+	}
+
+	/*
+	 * Resolve the requests like resolveArtifact, without failing: the result of
+	 * each request is returned, resolved or not, and the resolved ones which do not
+	 * match the remote checksums are put into failures.
+	 */
+	private List<ArtifactResult> resolveArtifacts(RepositorySystemSession session, List<ArtifactRequest> requests,
+			Map<ArtifactResult, IllegalStateException> failures) {
+		for (ArtifactRequest request : requests) {
+			request.setRepositories(this.repositories(request.getArtifact()));
+		}
+		List<ArtifactResult> results;
+		long start = System.nanoTime();
+		this.beginResolution();
 		try {
+			if (this.hedgedResolver == null) {
+				try {
+					results = this.repositorySystem.resolveArtifacts(session, requests);
+				} catch (ArtifactResolutionException e) {
+					// the exception carries the results of all requests, including the resolved ones
+					results = e.getResults();
+				}
+				this.phase("resolve", start);
+				this.record(results, start);
+			} else {
+				results = new ArrayList<>(requests.size());
+				for (ArtifactRequest request : requests) {
+					long requestStart = System.nanoTime();
+					List<ArtifactResult> requestResults;
+					try {
+						requestResults = Collections.singletonList(this.hedgedResolver.resolve(session, request));
+					} catch (ArtifactResolutionException e) {
+						requestResults = e.getResults();
+					}
+					this.record(requestResults, requestStart);
+					results.addAll(requestResults);
+				}
+				this.phase("resolve", start);
+			}
+			// verified even when others failed, so that no digest is kept
+			failures.putAll(this.checksumFailures(results));
+			List<ArtifactResult> verified = new ArrayList<>(results);
+			verified.removeAll(failures.keySet());
+			this.accessed(verified);
+			return results;
+		} finally {
+			this.endResolution();
+		}
+	}
+
+	/*
+	 * Nothing is evicted from the local repository while a resolution runs.
+	 */
+	private void beginResolution() {
+		if (this.localRepositoryEvictor != null) {
+			this.localRepositoryEvictor.acquire();
+		}
+	}
+
+	private void endResolution() {
+		if (this.localRepositoryEvictor != null) {
+			this.localRepositoryEvictor.release();
+		}
+	}
 
-			List<ArtifactRequest> artifactRequests = new ArrayList<>(2);
-			if (properties.isResolvePom()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toPomArtifact(resource), this.remoteRepositories,
-						JavaScopes.RUNTIME));
+	/*
+	 * The access times drive the eviction of least recently used artifacts, the
+	 * resolved files are added to the local repository index.
+	 */
+	private void accessed(List<ArtifactResult> results) {
+		LocalRepositoryEvictor evictor = this.localRepositoryEvictor;
+		LocalRepositoryIndex index = this.localRepositoryIndex;
+		if (evictor == null && index == null) {
+			return;
+		}
+		for (ArtifactResult result : results) {
+			if (!result.isResolved()) {
+				continue;
 			}
-			if (properties.isResolveJavadoc()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJavadocArtifact(resource),
-						this.remoteRepositories, JavaScopes.COMPILE));
+			if (evictor != null) {
+				evictor.touch(result.getArtifact().getFile());
 			}
-			if (properties.isResolveSources()) {
-				artifactRequests.add(new ArtifactRequest(ArtifactUtils.toSourcesArtifact(resource),
-						this.remoteRepositories, JavaScopes.COMPILE));
+			if (index != null) {
+				index.add(result.getArtifact(), result.getArtifact().getFile());
 			}
-			artifactRequests.add(new ArtifactRequest(ArtifactUtils.toJarArtifact(resource), this.remoteRepositories,
-					JavaScopes.RUNTIME));
+		}
+	}
 
-			List<ArtifactResult> results = this.repositorySystem.resolveArtifacts(session, artifactRequests);
-			resolvedArtifact = results.get(results.size() - 1);
-		} catch (ArtifactResolutionException e) {
+	/*
+	 * A release artifact found in the local repository index is served without
+	 * asking Aether, which would build its path, stat it and read the
+	 * _remote.repositories next to it.
+	 */
+	private ArtifactResult localArtifact(Artifact artifact) {
+		LocalRepositoryIndex index = this.localRepositoryIndex;
+		if (index == null || ArtifactUtils.isVolatile(artifact)) {
+			return null;
+		}
+		File file = index.find(artifact);
+		if (file == null) {
+			return null;
+		}
+		ArtifactResult result = new ArtifactResult(
+				new ArtifactRequest(artifact, this.remoteRepositories, JavaScopes.RUNTIME));
+		result.setArtifact(artifact.setFile(file));
+		result.setRepository(new LocalRepository(this.properties.getLocalRepository()));
+		return result;
+	}
+
+	/*
+	 * The pom, javadoc and sources resolved along with the jar must be local too.
+	 */
+	private boolean isLocal(MavenResource resource) {
+		return (!properties.isResolvePom() || this.localArtifact(ArtifactUtils.toPomArtifact(resource)) != null)
+				&& (!properties.isResolveJavadoc()
+						|| this.localArtifact(ArtifactUtils.toJavadocArtifact(resource)) != null)
+				&& (!properties.isResolveSources()
+						|| this.localArtifact(ArtifactUtils.toSourcesArtifact(resource)) != null);
+	}
+
+	/*
+	 * The artifacts of a batch are downloaded concurrently, each result is recorded
+	 * with the duration of the whole call.
+	 */
+	private void record(List<ArtifactResult> results, long start) {
+		if (this.repositoryRouter == null) {
+			return;
+		}
+		long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		for (ArtifactResult result : results) {
+			this.repositoryRouter.record(result, latency);
+		}
+	}
+
+	private void verifyChecksums(List<ArtifactResult> results) {
+		Map<ArtifactResult, IllegalStateException> failures = this.checksumFailures(results);
+		if (!failures.isEmpty()) {
+			throw failures.values().iterator().next();
+		}
+	}
+
+	/*
+	 * Downloaded files are verified against the sidecar files of the repository
+	 * they came from, with the digests computed while their bytes arrived; the files
+	 * are not read again. Aether verified the SHA-1 and MD5 itself, only the other
+	 * algorithms are compared. Files served by the local repository were verified
+	 * when they were downloaded.
+	 */
+	private Map<ArtifactResult, IllegalStateException> checksumFailures(List<ArtifactResult> results) {
+		ChecksumTransferListener listener = this.checksumListener;
+		if (listener == null) {
+			return Collections.emptyMap();
+		}
+		long start = System.nanoTime();
+		Map<RemoteRepository, Map<ArtifactResult, Map<String, String>>> pending = new LinkedHashMap<>();
+		for (ArtifactResult result : results) {
+			Artifact artifact = result.getArtifact();
+			if (!result.isResolved() || artifact.getFile() == null
+					|| !(result.getRepository() instanceof RemoteRepository)) {
+				continue;
+			}
+			Map<String, String> digests = listener.take(artifact.getFile());
+			if (digests == null) {
+				continue;
+			}
+			digests = new LinkedHashMap<>(digests);
+			digests.keySet().retainAll(this.sidecarAlgorithms);
+			if (!digests.isEmpty()) {
+				pending.computeIfAbsent((RemoteRepository) result.getRepository(), key -> new LinkedHashMap<>())
+						.put(result, digests);
+			}
+		}
+		if (pending.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<ArtifactResult, IllegalStateException> failures = new LinkedHashMap<>();
+		for (Map.Entry<RemoteRepository, Map<ArtifactResult, Map<String, String>>> entry : pending.entrySet()) {
+			this.verifyChecksums(entry.getKey(), entry.getValue(), failures);
+		}
+		this.phase("checksum", start);
+		return failures;
+	}
+
+	/*
+	 * The sidecar files of one repository are fetched in one batch through its
+	 * connector into temporary files, they are neither resolved as artifacts nor
+	 * kept in the local repository. Most repositories only publish SHA-1 and MD5
+	 * sidecars, a missing sidecar is not an error.
+	 */
+	private void verifyChecksums(RemoteRepository repository, Map<ArtifactResult, Map<String, String>> digests,
+			Map<ArtifactResult, IllegalStateException> failures) {
+		List<ArtifactDownload> downloads = new ArrayList<>();
+		try {
+			for (Map.Entry<ArtifactResult, Map<String, String>> entry : digests.entrySet()) {
+				Artifact artifact = entry.getKey().getArtifact();
+				for (String algorithm : entry.getValue().keySet()) {
+					String extension = ChecksumCalculator.extension(algorithm);
+					Artifact sidecar = new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(),
+							artifact.getClassifier(), artifact.getExtension() + "." + extension, artifact.getVersion());
+					// a sidecar has no checksums of its own
+					downloads.add(new ArtifactDownload(sidecar, null, File.createTempFile("checksum-", "." + extension),
+							RepositoryPolicy.CHECKSUM_POLICY_IGNORE));
+				}
+			}
+			RepositoryConnector connector = this.connectorProvider
+					.newRepositoryConnector(this.sessionFactory.getSession(), repository);
+			try {
+				connector.get(downloads, null);
+			} finally {
+				connector.close();
+			}
+			Iterator<ArtifactDownload> sidecars = downloads.iterator();
+			for (Map.Entry<ArtifactResult, Map<String, String>> entry : digests.entrySet()) {
+				Artifact artifact = entry.getKey().getArtifact();
+				for (Map.Entry<String, String> digest : entry.getValue().entrySet()) {
+					ArtifactDownload sidecar = sidecars.next();
+					String expected = sidecar.getException() == null ? ChecksumCalculator.read(sidecar.getFile())
+							: null;
+					if (expected != null && !expected.equals(digest.getValue()) && !failures.containsKey(entry.getKey())) {
+						IllegalStateException failure = this.checksumFailure(artifact, repository, digest.getKey(),
+								expected, digest.getValue());
+						if (failure != null) {
+							failures.put(entry.getKey(), failure);
+						}
+					}
+				}
+			}
+		} catch (NoRepositoryConnectorException | IOException e) {
+			log.warn("Failed to fetch the checksums of " + digests.size() + " artifacts from " + repository.getId()
+					+ ": " + e.getMessage());
+		} finally {
+			for (ArtifactDownload sidecar : downloads) {
+				if (!sidecar.getFile().delete()) {
+					sidecar.getFile().deleteOnExit();
+				}
+			}
+		}
+	}
+
+	/*
+	 * A mismatch is logged unless the checksum policy is fail, then the file is
+	 * deleted and the failure returned.
+	 */
+	private IllegalStateException checksumFailure(Artifact artifact, RemoteRepository repository, String algorithm,
+			String expected, String actual) {
+		String message = algorithm + " checksum validation failed for " + artifact + " from " + repository.getId()
+				+ ", expected " + expected + " but is " + actual;
+		if (!RepositoryPolicy.CHECKSUM_POLICY_FAIL.equals(this.properties.getChecksumPolicy())) {
+			log.warn(message);
+			return null;
+		}
+		this.invalidate(artifact);
+		if (!artifact.getFile().delete()) {
+			log.warn("Failed to delete corrupted file " + artifact.getFile());
+		}
+		return new IllegalStateException(message);
+	}
+
+	/*
+	 * The checksum files of the configured algorithms Aether does not write
+	 * itself, uploaded next to the deployed artifacts. Like Aether does for the
+	 * SHA-1 and MD5 files, a checksum file that cannot be uploaded is only logged.
+	 */
+	private void deployChecksums(RepositorySystemSession session, RemoteRepository repository,
+			Collection<Artifact> artifacts) throws DeploymentException {
+		if (this.checksumPublisher == null) {
+			return;
+		}
+		try (ChecksumPublisher.Uploader uploader = this.checksumPublisher.newUploader(session, repository)) {
+			for (Artifact artifact : artifacts) {
+				try {
+					uploader.upload(artifact);
+				} catch (Exception e) {
+					log.warn("Failed to upload the checksums of " + artifact + ": " + e.getMessage());
+				}
+			}
+		} catch (RepositoryException e) {
+			throw new DeploymentException("Failed to upload the checksums to " + repository.getId(), e);
+		}
+	}
 
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
+	/*
+	 * Newly resolved jars are added to the class index in the background.
+	 */
+	private void indexClasses(List<ArtifactResult> results) {
+		ClassIndex index = this.classIndex;
+		if (index == null) {
+			return;
 		}
-		return ArtifactUtils.toResource(resolvedArtifact);
+		List<Artifact> artifacts = new ArrayList<>(results.size());
+		for (ArtifactResult result : results) {
+			if (result.isResolved()) {
+				artifacts.add(result.getArtifact());
+			}
+		}
+		index.indexAsync(artifacts);
+	}
+
+	private IllegalStateException resolutionFailure(MavenResource resource, Exception e) {
+		return new IllegalStateException("Failed to resolve MavenResource: " + resource + ". Configured remote "
+				+ this.repositoriesDescription, e);
 	}
 
 	private void validateCoordinates(MavenResource resource) {
@@ -912,32 +2172,32 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public VersionResult version(MavenResource resource) {
+		return this.observe("version", () -> this.doVersion(resource));
+	}
+
+	private VersionResult doVersion(MavenResource resource) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
 		validateCoordinates(resource);
+		Artifact jar = ArtifactUtils.toJarArtifact(resource);
+		return this.coalesce("version", jar, RepositorySystemUtils::copyVersionResult, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
 
-		try {
+			try {
 
-			VersionRequest request = new VersionRequest(ArtifactUtils.toJarArtifact(resource), this.remoteRepositories,
-					JavaScopes.RUNTIME);
+				Artifact artifact = ArtifactUtils.toJarArtifact(resource);
+				VersionRequest request = new VersionRequest(artifact, this.repositories(artifact),
+						JavaScopes.RUNTIME);
 
-			return this.repositorySystem.resolveVersion(session, request);
+				long start = System.nanoTime();
+				VersionResult result = this.repositorySystem.resolveVersion(session, request);
+				this.phase("metadata", start);
+				return result;
 
-		} catch (VersionResolutionException e) {
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
-		}
+			} catch (VersionResolutionException e) {
+				throw this.resolutionFailure(resource, e);
+			}
+		});
 	}
 
 	/**
@@ -1031,33 +2291,101 @@ public class MavenClientTemplate {
 	public VersionRangeResult versionRange(MavenResource resource) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
 		validateCoordinates(resource);
+		return this.observe("versionRange", () -> this.versionRange(resource, resource.getVersion()));
+	}
 
-		try {
+	/**
+	 * Resolve many version ranges in one pass: the maven-metadata.xml of every
+	 * groupId:artifactId that is not in the version index yet is fetched from all
+	 * repositories with a single metadata request, which Aether downloads in
+	 * parallel, and the versions of all repositories are merged.
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param coordinates The artifact coordinates in the format
+	 *                    {@code <groupId>:<artifactId>[:<extension>[:<classifier>]]:<range>}
+	 * @return the {@link VersionRangeResult} of each of the given coordinates,
+	 *         malformed coordinates or ranges are reported as exception of their
+	 *         result
+	 */
+	public Map<String, VersionRangeResult> versionRanges(Collection<String> coordinates) {
+		return this.observe("versionRanges", () -> this.doVersionRanges(coordinates));
+	}
+
+	private Map<String, VersionRangeResult> doVersionRanges(Collection<String> coordinates) {
+		Assert.notNull(coordinates, "coordinates must not be null");
+		Map<String, Artifact> artifacts = new LinkedHashMap<>();
+		List<Artifact> missing = new ArrayList<>();
+		Map<String, VersionIndex.Entry> entries = new HashMap<>();
+		VersionIndex index = this.versionIndex;
+		Map<String, VersionRangeResult> results = new LinkedHashMap<>();
+		for (String coordinate : coordinates) {
+			Artifact artifact;
+			try {
+				MavenResource resource = MavenResource.parse(coordinate, properties);
+				validateCoordinates(resource);
+				artifact = new DefaultArtifact(resource.getGroupId(), resource.getArtifactId(), "pom",
+						resource.getVersion());
+			} catch (IllegalArgumentException e) {
+				results.put(coordinate, new VersionRangeResult(new VersionRangeRequest()).addException(e));
+				continue;
+			}
+			// the result keeps the position of its coordinate
+			results.put(coordinate, null);
+			artifacts.put(coordinate, artifact);
+			String key = artifact.getGroupId() + ":" + artifact.getArtifactId();
+			if (this.isRange(artifact.getVersion()) && !entries.containsKey(key)) {
+				VersionIndex.Entry entry = index != null
+						? index.get(artifact.getGroupId(), artifact.getArtifactId(), this.versionRefreshInterval)
+						: null;
+				if (entry == null) {
+					missing.add(artifact);
+				}
+				entries.put(key, entry);
+			}
+		}
+		if (!missing.isEmpty()) {
+			entries.putAll(this.loadVersions(missing));
+		}
+		for (Map.Entry<String, Artifact> entry : artifacts.entrySet()) {
+			Artifact artifact = entry.getValue();
+			results.put(entry.getKey(), this.versionRange(artifact,
+					entries.get(artifact.getGroupId() + ":" + artifact.getArtifactId())));
+		}
+		return results;
+	}
+
+	/*
+	 * Resolve the given range instead of the version of the resource.
+	 */
+	private VersionRangeResult versionRange(MavenResource resource, String range) {
+		AbstractArtifact artifact = new DefaultArtifact(
+				resource.getGroupId() + ":" + resource.getArtifactId() + ":" + range);
+		if (this.versionIndex != null) {
+			VersionRangeResult result = this.versionRange(artifact,
+					this.isRange(range) ? this.versions(resource) : null);
+			if (!result.getExceptions().isEmpty()) {
+				throw this.resolutionFailure(resource, result.getExceptions().get(0));
+			}
+			return result;
+		}
+		return this.coalesce("versionRange", artifact, RepositorySystemUtils::copyVersionRangeResult, () -> {
+			RepositorySystemSession session = this.sessionFactory.getSession();
 
-			AbstractArtifact artifact = new DefaultArtifact(
-					resource.getGroupId() + ":" + resource.getArtifactId() + ":[0,)");
+			try {
 
-			VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, this.remoteRepositories,
-					JavaScopes.RUNTIME);
+				VersionRangeRequest rangeRequest = new VersionRangeRequest(artifact, this.repositories(artifact),
+						JavaScopes.RUNTIME);
 
-			return this.repositorySystem.resolveVersionRange(session, rangeRequest);
+				long start = System.nanoTime();
+				VersionRangeResult result = this.repositorySystem.resolveVersionRange(session, rangeRequest);
+				this.phase("metadata", start);
+				return result;
 
-		} catch (VersionRangeResolutionException e) {
-			ChoiceFormat pluralizer = new ChoiceFormat(new double[] { 0d, 1d, ChoiceFormat.nextDouble(1d) },
-					new String[] { "repositories: ", "repository: ", "repositories: " });
-			MessageFormat messageFormat = new MessageFormat(
-					"Failed to resolve MavenResource: {0}. Configured remote {1}: {2}");
-			messageFormat.setFormat(1, pluralizer);
-			String repos = properties.getRemoteRepositories().isEmpty() ? "none"
-					: StringUtils.collectionToDelimitedString(properties.getRemoteRepositories().keySet(), ",", "[",
-							"]");
-			throw new IllegalStateException(
-					messageFormat.format(new Object[] { resource, properties.getRemoteRepositories().size(), repos }),
-					e);
-		}
+			} catch (VersionRangeResolutionException e) {
+				throw this.resolutionFailure(resource, e);
+			}
+		});
 	}
 
 	/**
@@ -1071,11 +2399,23 @@ public class MavenClientTemplate {
 	 *                               resolution fails
 	 */
 	public Version lastVersion(MavenResource resource) {
+		return this.observe("lastVersion", () -> this.doLastVersion(resource));
+	}
+
+	private Version doLastVersion(MavenResource resource) {
 
 		Assert.notNull(resource, "MavenResource must not be null");
 		validateCoordinates(resource);
 
-		VersionRangeResult rangeResult = this.versionRange(resource);
+		if (this.versionIndex != null) {
+			Version latest = this.versions(resource).latest();
+			if (latest == null) {
+				throw this.resolutionFailure(resource, new IllegalStateException("No versions available"));
+			}
+			return latest;
+		}
+
+		VersionRangeResult rangeResult = this.versionRange(resource, "[0,)");
 
 		List<Version> versions = rangeResult.getVersions();
 
@@ -1084,6 +2424,160 @@ public class MavenClientTemplate {
 		return Iterables.getLast(versions);
 	}
 
+	/**
+	 * get last release version, SNAPSHOT versions are skipped
+	 * 
+	 * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+	 * @param resource the {@link MavenResource} representing the artifact
+	 * @return a {@link Version} representing the latest release of the artifact
+	 * @throws IllegalStateException if there is no release or the resolution fails
+	 */
+	public Version lastReleaseVersion(MavenResource resource) {
+		return this.observe("lastReleaseVersion", () -> this.doLastReleaseVersion(resource));
+	}
+
+	private Version doLastReleaseVersion(MavenResource resource) {
+
+		Assert.notNull(resource, "MavenResource must not be null");
+		validateCoordinates(resource);
+
+		Version release = this.versions(resource).latestRelease();
+		if (release == null) {
+			throw this.resolutionFailure(resource, new IllegalStateException("No release versions available"));
+		}
+		return release;
+	}
+
+	/*
+	 * The sorted versions of the groupId:artifactId of the resource, from the index
+	 * while its entry is fresh, otherwise from the maven-metadata.xml of the local
+	 * and the remote repositories.
+	 */
+	private VersionIndex.Entry versions(MavenResource resource) {
+		VersionIndex index = this.versionIndex;
+		if (index != null) {
+			VersionIndex.Entry entry = index.get(resource.getGroupId(), resource.getArtifactId(),
+					this.versionRefreshInterval);
+			if (entry != null) {
+				return entry;
+			}
+		}
+		Artifact artifact = new DefaultArtifact(resource.getGroupId(), resource.getArtifactId(), "pom", "[0,)");
+		return this.coalesce("versions", artifact,
+				() -> this.loadVersions(Collections.singletonList(artifact)).values().iterator().next());
+	}
+
+	/*
+	 * Load the versions of the groupId:artifactId of the given artifacts with one
+	 * metadata request, keyed by groupId:artifactId. A groupId:artifactId whose
+	 * metadata failed to download from any repository is not put into the index,
+	 * its versions may be incomplete.
+	 */
+	private Map<String, VersionIndex.Entry> loadVersions(Collection<Artifact> artifacts) {
+		RepositorySystemSession session = this.sessionFactory.getSession();
+		Map<String, TreeMap<Version, ArtifactRepository>> versions = new LinkedHashMap<>();
+		List<MetadataRequest> requests = new ArrayList<>();
+		for (Artifact artifact : artifacts) {
+			if (versions.put(artifact.getGroupId() + ":" + artifact.getArtifactId(), new TreeMap<>()) != null) {
+				continue;
+			}
+			Metadata metadata = new DefaultMetadata(artifact.getGroupId(), artifact.getArtifactId(),
+					MAVEN_METADATA_XML, Metadata.Nature.RELEASE_OR_SNAPSHOT);
+			// the local repository first, installed versions are listed as well
+			requests.add(new MetadataRequest(metadata, null, null));
+			for (RemoteRepository repository : this.repositories(artifact)) {
+				requests.add(new MetadataRequest(metadata, repository, null)
+						.setDeleteLocalCopyIfMissing(properties.isDeleteLocalCopyIfMissing())
+						.setFavorLocalRepository(properties.isFavorLocalRepository()));
+			}
+		}
+		long start = System.nanoTime();
+		List<MetadataResult> results = this.repositorySystem.resolveMetadata(session, requests);
+		this.phase("metadata", start);
+		Set<String> failed = new HashSet<>();
+		for (MetadataResult result : results) {
+			Exception exception = result.getException();
+			if (exception != null && !(exception instanceof MetadataNotFoundException)) {
+				Metadata requested = result.getRequest().getMetadata();
+				log.warn("Unable to load the versions of " + requested.getGroupId() + ":"
+						+ requested.getArtifactId() + " from " + result.getRequest().getRepository(), exception);
+				failed.add(requested.getGroupId() + ":" + requested.getArtifactId());
+			}
+			Metadata metadata = result.getMetadata();
+			if (metadata == null || metadata.getFile() == null) {
+				continue;
+			}
+			ArtifactRepository repository = result.getRequest().getRepository() != null
+					? result.getRequest().getRepository()
+					: session.getLocalRepository();
+			TreeMap<Version, ArtifactRepository> merged = versions
+					.get(metadata.getGroupId() + ":" + metadata.getArtifactId());
+			for (String version : this.readVersions(metadata.getFile())) {
+				try {
+					merged.putIfAbsent(this.versionScheme.parseVersion(version), repository);
+				} catch (InvalidVersionSpecificationException e) {
+					log.debug("Ignoring invalid version " + version + " of " + metadata, e);
+				}
+			}
+		}
+		VersionIndex index = this.versionIndex;
+		Map<String, VersionIndex.Entry> entries = new LinkedHashMap<>(versions.size());
+		for (Map.Entry<String, TreeMap<Version, ArtifactRepository>> entry : versions.entrySet()) {
+			String[] ga = entry.getKey().split(":");
+			entries.put(entry.getKey(), index != null && !failed.contains(entry.getKey())
+					? index.put(ga[0], ga[1], entry.getValue())
+					: new VersionIndex.Entry(entry.getValue()));
+		}
+		return entries;
+	}
+
+	private List<String> readVersions(File file) {
+		try (InputStream input = new FileInputStream(file)) {
+			// MetadataXpp3Reader is not thread-safe, it is cheap to create
+			Versioning versioning = new MetadataXpp3Reader().read(input, false).getVersioning();
+			return versioning != null ? versioning.getVersions() : Collections.<String>emptyList();
+		} catch (IOException | XmlPullParserException e) {
+			log.warn("Ignoring unreadable metadata " + file, e);
+			return Collections.emptyList();
+		}
+	}
+
+	/*
+	 * The versions of the entry within the range of the artifact, the entry is
+	 * not needed for a plain version.
+	 */
+	private VersionRangeResult versionRange(Artifact artifact, VersionIndex.Entry entry) {
+		VersionRangeResult result = new VersionRangeResult(
+				new VersionRangeRequest(artifact, this.remoteRepositories, JavaScopes.RUNTIME));
+		try {
+			VersionConstraint constraint = this.versionScheme.parseVersionConstraint(artifact.getVersion());
+			result.setVersionConstraint(constraint);
+			if (constraint.getRange() == null) {
+				// a plain version is returned as is, listed or not, like Aether does
+				result.addVersion(constraint.getVersion());
+				return result;
+			}
+			for (Version version : entry.range(constraint)) {
+				result.addVersion(version);
+				result.setRepository(version, entry.getRepository(version));
+			}
+		} catch (InvalidVersionSpecificationException e) {
+			result.addException(e);
+		}
+		return result;
+	}
+
+	/*
+	 * A malformed version is not a range, its result reports the exception.
+	 */
+	private boolean isRange(String version) {
+		try {
+			return this.versionScheme.parseVersionConstraint(version).getRange() != null;
+		} catch (InvalidVersionSpecificationException e) {
+			return false;
+		}
+	}
+
 	/**
 	 * install file to maven repository
 	 * 
@@ -1198,14 +2692,37 @@ public class MavenClientTemplate {
 	 *                               fails
 	 */
 	public InstallResult install(Artifact... artifacts) throws InstallationException {
+		return this.observe("install", () -> this.doInstall(artifacts));
+	}
 
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
+	private InstallResult doInstall(Artifact... artifacts) throws InstallationException {
+
+		RepositorySystemSession session = this.sessionFactory.getSession();
 
 		InstallRequest request = new InstallRequest();
 		request.setArtifacts(Arrays.asList(artifacts));
 
-		return this.repositorySystem.install(session, request);
+		this.beginResolution();
+		try {
+			InstallResult result = this.repositorySystem.install(session, request);
+			if (this.checksumPublisher != null) {
+				this.checksumPublisher.install(session, result.getArtifacts());
+			}
+			LocalRepositoryIndex index = this.localRepositoryIndex;
+			if (index != null) {
+				File basedir = session.getLocalRepository().getBasedir();
+				for (Artifact artifact : result.getArtifacts()) {
+					index.add(artifact, new File(basedir,
+							session.getLocalRepositoryManager().getPathForLocalArtifact(artifact)));
+				}
+			}
+			return result;
+		} catch (IOException e) {
+			throw new InstallationException("Failed to write the checksums of " + Arrays.toString(artifacts), e);
+		} finally {
+			this.invalidate(artifacts);
+			this.endResolution();
+		}
 
 	}
 
@@ -1331,16 +2848,105 @@ public class MavenClientTemplate {
 	 *                             fails
 	 */
 	public DeployResult deploy(RemoteRepository repository, Artifact... artifacts) throws DeploymentException {
+		return this.observe("deploy", () -> this.doDeploy(repository, artifacts));
+	}
+
+	private DeployResult doDeploy(RemoteRepository repository, Artifact... artifacts) throws DeploymentException {
 
-		RepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
-				properties, authentication);
+		RepositorySystemSession session = this.sessionFactory.getSession();
 
 		DeployRequest request = new DeployRequest();
 		request.setRepository(repository);
 		request.setArtifacts(Arrays.asList(artifacts));
-		
-		return this.repositorySystem.deploy(session, request);
 
+		this.beginResolution();
+		try {
+			DeployResult result = this.repositorySystem.deploy(session, request);
+			this.deployChecksums(session, repository, result.getArtifacts());
+			return result;
+		} finally {
+			this.invalidate(artifacts);
+			this.endResolution();
+		}
+
+	}
+
+	/**
+	 * Deploy many artifacts at once, see {@link #deployAll(RemoteRepository, Collection)}.
+	 * 
+	 * @param repositoryId The id of the repository to deploy to.
+	 * @param artifacts    The artifacts to deploy, with their files.
+	 * @return the outcome of each artifact
+	 * @throws DeploymentException if the repository cannot be reached at all
+	 */
+	public BulkDeployResult deployAll(String repositoryId, Collection<Artifact> artifacts)
+			throws DeploymentException {
+		RemoteRepository repository = this.remoteRepositoriesMap.get(repositoryId);
+		Assert.notNull(repository, "Unknown remote repository " + repositoryId);
+		return this.deployAll(repository, artifacts);
+	}
+
+	/**
+	 * Deploy many artifacts at once: the artifacts and their checksum sidecars are
+	 * uploaded in parallel, transient failures are retried with backoff and the
+	 * maven-metadata.xml of each groupId:artifactId is updated once, after its
+	 * artifacts. A failed artifact does not abort the others, the result reports
+	 * the outcome of each one. With
+	 * {@link MavenClientProperties.Deploy#isSkipUnchanged()}, release artifacts
+	 * identical to the remote ones are not uploaded again.
+	 * 
+	 * @param repository The repository to deploy to.
+	 * @param artifacts  The artifacts to deploy, with their files.
+	 * @return the outcome of each artifact
+	 * @throws DeploymentException if the repository cannot be reached at all
+	 */
+	public BulkDeployResult deployAll(RemoteRepository repository, Collection<Artifact> artifacts)
+			throws DeploymentException {
+		return this.observe("deployAll", () -> this.doDeployAll(repository, artifacts));
+	}
+
+	private BulkDeployResult doDeployAll(RemoteRepository repository, Collection<Artifact> artifacts)
+			throws DeploymentException {
+
+		Assert.notNull(repository, "repository must not be null");
+		Assert.notNull(artifacts, "artifacts must not be null");
+		Artifact[] array = artifacts.toArray(new Artifact[0]);
+		RepositorySystemSession session = this.sessionFactory.getSession();
+
+		this.beginResolution();
+		try {
+			return this.bulkDeployer.deploy(session, repository, artifacts);
+		} finally {
+			this.invalidate(array);
+			this.endResolution();
+		}
+
+	}
+
+	/*
+	 * Installed or deployed artifacts must not be served from the caches anymore,
+	 * called once the operation completed so that nothing resolved while it ran
+	 * stays cached.
+	 */
+	private void invalidate(Artifact... artifacts) {
+		ArtifactResultCache cache = this.artifactCache;
+		NegativeResultCache notFound = this.negativeCache;
+		DependencyGraphCache graphs = this.dependencyCache;
+		VersionIndex versions = this.versionIndex;
+		for (Artifact artifact : artifacts) {
+			if (cache != null) {
+				cache.invalidate(artifact);
+			}
+			if (notFound != null) {
+				notFound.invalidate(artifact);
+			}
+			if (graphs != null) {
+				graphs.invalidate(artifact);
+			}
+			if (versions != null) {
+				versions.invalidate(artifact.getGroupId(), artifact.getArtifactId());
+			}
+		}
 	}
 
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+import java.io.File;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.eclipse.aether.version.Version;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+
+/**
+ * {@link ModelResolver} resolving parent and imported POMs through a
+ * {@link MavenClientTemplate}, so that they benefit from its repositories and
+ * caches. Repositories declared in the POMs are ignored. The resolver holds no
+ * state and may be shared.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class MavenModelResolver implements ModelResolver {
+
+	private final MavenClientTemplate clientTemplate;
+
+	public MavenModelResolver(MavenClientTemplate clientTemplate) {
+		this.clientTemplate = clientTemplate;
+	}
+
+	@Override
+	public ModelSource resolveModel(String groupId, String artifactId, String version)
+			throws UnresolvableModelException {
+		try {
+			MavenResource resource = new MavenResource.Builder().groupId(groupId).artifactId(artifactId)
+					.extension("pom").version(version).build();
+			File file = clientTemplate.artifact(resource).getArtifact().getFile();
+			return new FileModelSource(file);
+		} catch (RuntimeException e) {
+			throw new UnresolvableModelException(e.getMessage(), groupId, artifactId, version, e);
+		}
+	}
+
+	@Override
+	public ModelSource resolveModel(Parent parent) throws UnresolvableModelException {
+		parent.setVersion(this.resolveVersion(parent.getGroupId(), parent.getArtifactId(), parent.getVersion()));
+		return this.resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+	}
+
+	@Override
+	public ModelSource resolveModel(Dependency dependency) throws UnresolvableModelException {
+		dependency.setVersion(
+				this.resolveVersion(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
+		return this.resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+	}
+
+	@Override
+	public void addRepository(Repository repository) {
+		// only the repositories of the template are used
+	}
+
+	@Override
+	public void addRepository(Repository repository, boolean replace) {
+		// only the repositories of the template are used
+	}
+
+	@Override
+	public ModelResolver newCopy() {
+		return this;
+	}
+
+	/*
+	 * A parent or import may be given as version range, the highest matching
+	 * version is used like Maven does.
+	 */
+	private String resolveVersion(String groupId, String artifactId, String version)
+			throws UnresolvableModelException {
+		if (version == null || !(version.startsWith("[") || version.startsWith("("))) {
+			return version;
+		}
+		Version highest;
+		try {
+			highest = clientTemplate.versionRange(groupId + ":" + artifactId + ":" + version).getHighestVersion();
+		} catch (RuntimeException e) {
+			throw new UnresolvableModelException(e.getMessage(), groupId, artifactId, version, e);
+		}
+		if (highest == null) {
+			throw new UnresolvableModelException("No versions matched the requested range '" + version + "'",
+					groupId, artifactId, version);
+		}
+		return highest.toString();
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+/**
+ * Notified of the duration of the operations of a {@link MavenClientTemplate}
+ * and of the phases they spend their time in: {@code metadata},
+ * {@code collect}, {@code resolve} and {@code checksum}.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public interface OperationListener {
+
+	/**
+	 * @param operation the operation, e.g. {@code artifact} or {@code dependencies}
+	 * @param duration  the duration in nanoseconds
+	 * @param failure   the failure of the operation, or {@code null} if it succeeded
+	 */
+	void operationCompleted(String operation, long duration, Throwable failure);
+
+	/**
+	 * @param phase    the phase of an operation
+	 * @param duration the duration in nanoseconds
+	 */
+	void phaseCompleted(String phase, long duration);
+
+}
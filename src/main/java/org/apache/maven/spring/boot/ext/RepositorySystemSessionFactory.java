@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+import org.apache.maven.spring.boot.MavenClientProperties;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryListener;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.Authentication;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
+import org.springframework.util.Assert;
+
+/**
+ * Holds a long-lived, read-only {@link RepositorySystemSession} that is shared by
+ * all operations of a {@link MavenClientTemplate}. The local repository manager,
+ * proxy selector and configuration are built once, and the session data pool and
+ * {@link DefaultRepositoryCache} are reused across calls. Per-request overrides
+ * are obtained by forking the base session, which only copies references.
+ * <p>
+ * Aether keeps the versions it resolved and the update checks it made in the
+ * cache and data of a session, so the base session is rebuilt once it is older
+ * than the update interval (see {@link #setMaxAge(long)}), otherwise SNAPSHOT,
+ * LATEST and metadata would not be refreshed before a restart.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RepositorySystemSessionFactory {
+
+	/**
+	 * The number of threads the basic repository connector uses for parallel
+	 * transfers.
+	 */
+	public static final String DOWNLOAD_THREADS = "aether.connector.basic.threads";
+
+	/**
+	 * The number of threads the metadata resolver uses for parallel downloads of
+	 * the metadata of one request.
+	 */
+	public static final String METADATA_THREADS = "aether.metadataResolver.threads";
+
+	private final RepositorySystem repositorySystem;
+	private final MavenClientProperties properties;
+	private final Authentication authentication;
+	private volatile RepositorySystemSession session;
+	private volatile long createdAt;
+	private volatile long maxAge = Long.MAX_VALUE;
+	private volatile RepositoryListener repositoryListener;
+	private volatile TransferListener transferListener;
+
+	public RepositorySystemSessionFactory(RepositorySystem repositorySystem, MavenClientProperties properties,
+			Authentication authentication) {
+		Assert.notNull(repositorySystem, "RepositorySystem must not be null");
+		Assert.notNull(properties, "MavenProperties must not be null");
+		this.repositorySystem = repositorySystem;
+		this.properties = properties;
+		this.authentication = authentication;
+	}
+
+	/**
+	 * Get the shared base session. When {@link MavenClientProperties#isReuseSession()}
+	 * is {@code false} a new session is built on every call, as before.
+	 *
+	 * @return the read-only {@link RepositorySystemSession}
+	 */
+	public RepositorySystemSession getSession() {
+		if (!properties.isReuseSession()) {
+			return this.newSession();
+		}
+		RepositorySystemSession current = this.session;
+		if (current == null || this.isExpired()) {
+			synchronized (this) {
+				current = this.session;
+				if (current == null || this.isExpired()) {
+					current = this.newSession();
+					this.createdAt = System.currentTimeMillis();
+					this.session = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private boolean isExpired() {
+		return System.currentTimeMillis() - this.createdAt >= this.maxAge;
+	}
+
+	public long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Set the time after which the shared base session is rebuilt, with its cache
+	 * and session data, e.g. the update interval of the repositories (see
+	 * {@link RepositorySystemUtils#updateInterval(String, java.util.List)}).
+	 *
+	 * @param maxAge the maximum age in milliseconds, {@link Long#MAX_VALUE} to keep
+	 *               the session until {@link #reset()}
+	 */
+	public void setMaxAge(long maxAge) {
+		Assert.isTrue(maxAge >= 0, "maxAge must not be negative");
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Fork the base session, the copy shares the local repository manager, data
+	 * pool and cache of the base session but may be modified freely.
+	 *
+	 * @return a mutable copy of the base session
+	 */
+	public DefaultRepositorySystemSession forkSession() {
+		return new DefaultRepositorySystemSession(this.getSession());
+	}
+
+	/**
+	 * Fork the base session with the given overrides.
+	 *
+	 * @param offline      The offline mode, may be {@code null} to keep the base
+	 *                     setting.
+	 * @param updatePolicy The update policy, may be {@code null} to keep the base
+	 *                     setting.
+	 * @return a read-only copy of the base session with the overrides applied
+	 */
+	public RepositorySystemSession forkSession(Boolean offline, String updatePolicy) {
+		DefaultRepositorySystemSession fork = this.forkSession();
+		if (offline != null) {
+			fork.setOffline(offline);
+		}
+		if (updatePolicy != null) {
+			fork.setUpdatePolicy(updatePolicy);
+		}
+		fork.setReadOnly();
+		return fork;
+	}
+
+	/**
+	 * Drop the shared base session, the next call builds a new one (e.g. after
+	 * the properties have been changed).
+	 */
+	public void reset() {
+		synchronized (this) {
+			this.session = null;
+		}
+	}
+
+	public RepositoryListener getRepositoryListener() {
+		return repositoryListener;
+	}
+
+	/**
+	 * Set the listener notified of the downloads and deployments of the sessions,
+	 * the shared base session is rebuilt on its next use.
+	 *
+	 * @param repositoryListener the listener, may be {@code null}
+	 */
+	public void setRepositoryListener(RepositoryListener repositoryListener) {
+		this.repositoryListener = repositoryListener;
+		this.reset();
+	}
+
+	/**
+	 * Add a listener notified of the downloads and deployments of the sessions,
+	 * after the listeners already set.
+	 *
+	 * @param repositoryListener the listener
+	 */
+	public synchronized void addRepositoryListener(RepositoryListener repositoryListener) {
+		Assert.notNull(repositoryListener, "RepositoryListener must not be null");
+		RepositoryListener current = this.repositoryListener;
+		this.setRepositoryListener(current == null ? repositoryListener
+				: ChainedRepositoryListener.newInstance(current, repositoryListener));
+	}
+
+	public TransferListener getTransferListener() {
+		return transferListener;
+	}
+
+	/**
+	 * Set the listener notified of the bytes transferred by the sessions, the
+	 * shared base session is rebuilt on its next use.
+	 *
+	 * @param transferListener the listener, may be {@code null}
+	 */
+	public void setTransferListener(TransferListener transferListener) {
+		this.transferListener = transferListener;
+		this.reset();
+	}
+
+	/**
+	 * Add a listener notified of the bytes transferred by the sessions, after the
+	 * listeners already set.
+	 *
+	 * @param transferListener the listener
+	 */
+	public synchronized void addTransferListener(TransferListener transferListener) {
+		Assert.notNull(transferListener, "TransferListener must not be null");
+		TransferListener current = this.transferListener;
+		this.setTransferListener(current == null ? transferListener
+				: ChainedTransferListener.newInstance(current, transferListener));
+	}
+
+	protected RepositorySystemSession newSession() {
+		DefaultRepositorySystemSession session = RepositorySystemUtils.newRepositorySystemSession(this.repositorySystem,
+				this.properties, this.authentication);
+		session.setCache(new DefaultRepositoryCache());
+		session.setConfigProperty(DOWNLOAD_THREADS, this.properties.getDownloadThreads());
+		session.setConfigProperty(METADATA_THREADS, this.properties.getDownloadThreads());
+		if (this.repositoryListener != null) {
+			session.setRepositoryListener(this.repositoryListener);
+		}
+		if (this.transferListener != null) {
+			session.setTransferListener(this.transferListener);
+		}
+		session.setReadOnly();
+		return session;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.ext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight execution of identical requests: while a request for a key is in
+ * flight, concurrent callers for the same key wait for it and receive its result
+ * or its exception instead of starting their own resolution. A mutable result
+ * is copied for each caller which joined the request, see
+ * {@link #execute(String, Supplier, UnaryOperator)}, and a failure is thrown to
+ * each of them as a new exception caused by it.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RequestCoalescer {
+
+	private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder executions = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	/**
+	 * Execute a request with an immutable result, which is shared as is.
+	 *
+	 * @param key      identifies identical requests
+	 * @param supplier executes the request
+	 * @return the result
+	 */
+	public <T> T execute(String key, Supplier<T> supplier) {
+		return this.execute(key, supplier, UnaryOperator.identity());
+	}
+
+	/**
+	 * Execute a request with a mutable result: the caller executing it receives
+	 * the result, each caller which joined it receives its own copy.
+	 *
+	 * @param key      identifies identical requests
+	 * @param supplier executes the request
+	 * @param copy     copies the result
+	 * @return the result
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(String key, Supplier<T> supplier, UnaryOperator<T> copy) {
+		CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+		if (existing != null) {
+			coalesced.increment();
+			try {
+				T result = (T) existing.join();
+				return result == null ? null : copy.apply(result);
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				// a new instance per caller, like the negative cache does, so that callers
+				// do not share the stack trace and suppressed exceptions of one instance
+				throw new IllegalStateException(cause.getMessage(), cause);
+			}
+		}
+		executions.increment();
+		try {
+			T result = supplier.get();
+			// the joined callers copy a snapshot no caller holds, the result may be
+			// modified as soon as it is returned
+			future.complete(result == null ? null : copy.apply(result));
+			return result;
+		} catch (RuntimeException | Error e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	/**
+	 * @return the number of requests that were actually executed
+	 */
+	public long getExecutionCount() {
+		return executions.sum();
+	}
+
+	/**
+	 * @return the number of requests that joined an in-flight request
+	 */
+	public long getCoalescedCount() {
+		return coalesced.sum();
+	}
+
+	/**
+	 * @return the number of requests currently in flight
+	 */
+	public int getInFlightCount() {
+		return inFlight.size();
+	}
+
+}
@@ -0,0 +1,537 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Index of the classes provided by resolved jars. Jars are read in parallel, only
+ * the names of their central directory are used. The index is held as package
+ * &rarr; simple class name &rarr; artifacts, so a package name is stored once
+ * however many classes it has, and simple names are interned. The jars only
+ * keep the names of their packages, their classes are told by the ids in the
+ * index. Lookups take a read lock and two hash lookups, no zip I/O.
+ * <p>
+ * The index may be persisted to a file, e.g. next to the local repository; jars
+ * are only read again when their size or modification time changed.
+ * </p>
+ * <p>
+ * Removed jars free their slot in the jar table for the next jar, so the table
+ * never grows beyond the number of jars indexed at the same time.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class ClassIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ClassIndex.class);
+	private static final int FORMAT = 1;
+	private static final String CLASS_SUFFIX = ".class";
+	private static final String VERSIONS_PREFIX = "META-INF/versions/";
+	private static final int[] NONE = new int[0];
+
+	private final File file;
+	private final ExecutorService executor;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	/* jars queued by indexAsync and not read yet */
+	private final AtomicInteger pending = new AtomicInteger();
+	private volatile boolean dirty;
+	/* artifact id -> indexed jar, removed jars leave a null slot until reused */
+	private final List<IndexedJar> jars = new ArrayList<>();
+	private final Deque<Integer> freeIds = new ArrayDeque<>();
+	private final Map<String, Integer> jarsByPath = new HashMap<>();
+	/* package -> simple class name -> artifact ids */
+	private final Map<String, Map<String, int[]>> packages = new HashMap<>();
+
+	/**
+	 * @param file    the file the index is persisted to, may be {@code null} to
+	 *                keep the index in memory only
+	 * @param threads the number of threads reading jars
+	 */
+	public ClassIndex(File file, int threads) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		this.file = file;
+		final AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), runnable -> {
+					Thread thread = new Thread(runnable, "maven-client-class-index-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		this.executor = executor;
+		if (file != null && file.isFile()) {
+			this.load();
+		}
+	}
+
+	/**
+	 * Index the given artifacts in parallel and wait for it, jars already indexed
+	 * with the same size and modification time are skipped.
+	 *
+	 * @param artifacts the resolved artifacts
+	 */
+	public void index(Collection<Artifact> artifacts) {
+		List<Future<?>> futures = new ArrayList<>(artifacts.size());
+		for (Artifact artifact : artifacts) {
+			if (this.isStale(artifact)) {
+				futures.add(this.executor.submit(() -> this.indexJar(artifact)));
+			}
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ExecutionException e) {
+				log.warn("Unable to index classes", e.getCause());
+			}
+		}
+		this.flush();
+	}
+
+	/**
+	 * Index the given artifacts in the background, the persisted index is updated
+	 * once the queued jars are read.
+	 *
+	 * @param artifacts the resolved artifacts
+	 */
+	public void indexAsync(Collection<Artifact> artifacts) {
+		for (Artifact artifact : artifacts) {
+			if (!this.isStale(artifact)) {
+				continue;
+			}
+			pending.incrementAndGet();
+			try {
+				this.executor.submit(() -> {
+					try {
+						this.indexJar(artifact);
+					} finally {
+						// the last queued jar read writes the index
+						if (pending.decrementAndGet() == 0) {
+							this.flush();
+						}
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				pending.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @param className the binary name of a class, e.g. {@code org.example.Foo$Bar}
+	 * @return the coordinates of the artifacts providing the class
+	 */
+	public Set<String> findArtifacts(String className) {
+		int index = className.lastIndexOf('.');
+		String packageName = index > 0 ? className.substring(0, index) : "";
+		lock.readLock().lock();
+		try {
+			Map<String, int[]> classes = packages.get(packageName);
+			int[] ids = classes != null ? classes.get(className.substring(index + 1)) : null;
+			return this.coordinates(ids != null ? ids : NONE);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @param packageName the name of a package
+	 * @return the coordinates of the artifacts providing classes of the package
+	 */
+	public Set<String> findPackage(String packageName) {
+		lock.readLock().lock();
+		try {
+			Map<String, int[]> classes = packages.get(packageName);
+			if (classes == null) {
+				return Collections.emptySet();
+			}
+			Set<String> coordinates = new LinkedHashSet<>();
+			for (int[] ids : classes.values()) {
+				coordinates.addAll(this.coordinates(ids));
+			}
+			return coordinates;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the packages provided by more than one artifact, with the
+	 *         coordinates of those artifacts
+	 */
+	public Map<String, Set<String>> splitPackages() {
+		Map<String, Set<String>> splits = new TreeMap<>();
+		lock.readLock().lock();
+		try {
+			for (Map.Entry<String, Map<String, int[]>> entry : packages.entrySet()) {
+				Set<String> coordinates = new LinkedHashSet<>();
+				for (int[] ids : entry.getValue().values()) {
+					coordinates.addAll(this.coordinates(ids));
+				}
+				if (coordinates.size() > 1) {
+					splits.put(entry.getKey(), coordinates);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return splits;
+	}
+
+	/**
+	 * Drop the jars below the given path, e.g. a version directory deleted by the
+	 * evictor or a jar moved to quarantine by the scanner.
+	 *
+	 * @param path a file or directory of the local repository
+	 */
+	public void remove(Path path) {
+		Path absolute = path.toAbsolutePath();
+		lock.writeLock().lock();
+		try {
+			for (Iterator<Map.Entry<String, Integer>> it = jarsByPath.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<String, Integer> entry = it.next();
+				if (Paths.get(entry.getKey()).startsWith(absolute)) {
+					it.remove();
+					this.drop(entry.getValue());
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return the number of indexed jars
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return jarsByPath.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Write the index to its file if it changed since the last write.
+	 */
+	public void flush() {
+		if (file == null || !dirty) {
+			return;
+		}
+		lock.readLock().lock();
+		try {
+			dirty = false;
+			this.write();
+		} catch (IOException e) {
+			dirty = true;
+			log.warn("Unable to persist class index " + file, e);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public void shutdown() {
+		this.executor.shutdown();
+		try {
+			this.executor.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.flush();
+	}
+
+	private boolean isStale(Artifact artifact) {
+		File jar = artifact.getFile();
+		if (jar == null || !jar.getName().endsWith(".jar") || !jar.isFile()) {
+			return false;
+		}
+		lock.readLock().lock();
+		try {
+			Integer id = jarsByPath.get(jar.getAbsolutePath());
+			return id == null || !jars.get(id).matches(jar);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void indexJar(Artifact artifact) {
+		File jar = artifact.getFile();
+		IndexedJar indexed = new IndexedJar(artifact.toString(), jar.getAbsolutePath(), jar.length(),
+				jar.lastModified());
+		try {
+			this.merge(indexed, this.read(jar));
+		} catch (IOException e) {
+			log.warn("Unable to index the classes of " + artifact, e);
+		}
+	}
+
+	/*
+	 * Read the class names of a jar outside of any lock, grouped by package.
+	 */
+	private Map<String, Set<String>> read(File jar) throws IOException {
+		Map<String, Set<String>> classes = new LinkedHashMap<>();
+		try (ZipFile zipFile = new ZipFile(jar)) {
+			for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+				String name = entries.nextElement().getName();
+				if (!name.endsWith(CLASS_SUFFIX)) {
+					continue;
+				}
+				if (name.startsWith(VERSIONS_PREFIX)) {
+					// multi-release jars: META-INF/versions/<n>/org/example/Foo.class, the
+					// versioned classes usually repeat a base class and are added once
+					int index = name.indexOf('/', VERSIONS_PREFIX.length());
+					name = index > 0 ? name.substring(index + 1) : name;
+				}
+				int index = name.lastIndexOf('/');
+				String simpleName = name.substring(index + 1, name.length() - CLASS_SUFFIX.length());
+				if ("module-info".equals(simpleName) || "package-info".equals(simpleName)) {
+					continue;
+				}
+				String packageName = index > 0 ? name.substring(0, index).replace('/', '.') : "";
+				add(classes, packageName, simpleName);
+			}
+		}
+		return classes;
+	}
+
+	private static void add(Map<String, Set<String>> classes, String packageName, String simpleName) {
+		// the index and the jars share the interned names
+		classes.computeIfAbsent(packageName.intern(), key -> new LinkedHashSet<>()).add(simpleName.intern());
+	}
+
+	private void merge(IndexedJar indexed, Map<String, Set<String>> jarClasses) {
+		lock.writeLock().lock();
+		try {
+			Integer previous = jarsByPath.remove(indexed.path);
+			if (previous != null) {
+				this.drop(previous);
+			}
+			Integer free = freeIds.poll();
+			int id;
+			if (free != null) {
+				id = free;
+				jars.set(id, indexed);
+			} else {
+				id = jars.size();
+				jars.add(indexed);
+			}
+			jarsByPath.put(indexed.path, id);
+			indexed.packages = jarClasses.keySet().toArray(new String[0]);
+			for (Map.Entry<String, Set<String>> entry : jarClasses.entrySet()) {
+				Map<String, int[]> classes = packages.computeIfAbsent(entry.getKey(), key -> new HashMap<>());
+				for (String simpleName : entry.getValue()) {
+					int[] ids = classes.get(simpleName);
+					if (ids == null) {
+						classes.put(simpleName, new int[] { id });
+						continue;
+					}
+					// a reused id may be lower than the others, keep the ids sorted
+					int index = Arrays.binarySearch(ids, id);
+					if (index < 0) {
+						index = -index - 1;
+						int[] grown = new int[ids.length + 1];
+						System.arraycopy(ids, 0, grown, 0, index);
+						grown[index] = id;
+						System.arraycopy(ids, index, grown, index + 1, ids.length - index);
+						classes.put(simpleName, grown);
+					}
+				}
+			}
+			dirty = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/*
+	 * Called with the write lock held: drop a jar whose file changed or was
+	 * removed, its path is already unmapped and its slot becomes free.
+	 */
+	private void drop(int id) {
+		IndexedJar indexed = jars.get(id);
+		for (String packageName : indexed.packages) {
+			Map<String, int[]> classes = packages.get(packageName);
+			if (classes == null) {
+				continue;
+			}
+			classes.replaceAll((simpleName, ids) -> {
+				int index = Arrays.binarySearch(ids, id);
+				if (index < 0) {
+					return ids;
+				}
+				int[] shrunk = new int[ids.length - 1];
+				System.arraycopy(ids, 0, shrunk, 0, index);
+				System.arraycopy(ids, index + 1, shrunk, index, ids.length - index - 1);
+				return shrunk;
+			});
+			classes.values().removeIf(ids -> ids.length == 0);
+			if (classes.isEmpty()) {
+				packages.remove(packageName);
+			}
+		}
+		jars.set(id, null);
+		freeIds.push(id);
+		dirty = true;
+	}
+
+	private Set<String> coordinates(int[] ids) {
+		if (ids.length == 0) {
+			return Collections.emptySet();
+		}
+		Set<String> coordinates = new LinkedHashSet<>(ids.length);
+		for (int id : ids) {
+			coordinates.add(jars.get(id).coordinates);
+		}
+		return coordinates;
+	}
+
+	/*
+	 * Called with a lock held. Format: FORMAT, jar count, then per jar coordinates,
+	 * path, length, last modified, package count and per package its name, class
+	 * count and simple names.
+	 */
+	private void write() throws IOException {
+		Path directory = file.getAbsoluteFile().getParentFile().toPath();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, file.getName(), ".tmp");
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			output.writeInt(FORMAT);
+			output.writeInt(jarsByPath.size());
+			for (int id = 0; id < jars.size(); id++) {
+				IndexedJar indexed = jars.get(id);
+				if (indexed == null) {
+					continue;
+				}
+				output.writeUTF(indexed.coordinates);
+				output.writeUTF(indexed.path);
+				output.writeLong(indexed.length);
+				output.writeLong(indexed.lastModified);
+				output.writeInt(indexed.packages.length);
+				for (String packageName : indexed.packages) {
+					// the classes of the jar are those listing its id
+					List<String> simpleNames = new ArrayList<>();
+					for (Map.Entry<String, int[]> entry : packages.get(packageName).entrySet()) {
+						if (Arrays.binarySearch(entry.getValue(), id) >= 0) {
+							simpleNames.add(entry.getKey());
+						}
+					}
+					output.writeUTF(packageName);
+					output.writeInt(simpleNames.size());
+					for (String simpleName : simpleNames) {
+						output.writeUTF(simpleName);
+					}
+				}
+			}
+		}
+		Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void load() {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != FORMAT) {
+				return;
+			}
+			for (int count = input.readInt(); count > 0; count--) {
+				IndexedJar indexed = new IndexedJar(input.readUTF(), input.readUTF(), input.readLong(),
+						input.readLong());
+				Map<String, Set<String>> classes = new LinkedHashMap<>();
+				for (int packageCount = input.readInt(); packageCount > 0; packageCount--) {
+					String packageName = input.readUTF();
+					for (int classCount = input.readInt(); classCount > 0; classCount--) {
+						add(classes, packageName, input.readUTF());
+					}
+				}
+				// jars changed or deleted since the index was written are read again on demand
+				if (indexed.matches(new File(indexed.path))) {
+					this.merge(indexed, classes);
+				}
+			}
+			dirty = false;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Ignoring unreadable class index " + file, e);
+		}
+	}
+
+	private static class IndexedJar {
+
+		private final String coordinates;
+		private final String path;
+		private final long length;
+		private final long lastModified;
+		/* the interned names of the packages the jar has classes in */
+		private String[] packages;
+
+		IndexedJar(String coordinates, String path, long length, long lastModified) {
+			this.coordinates = coordinates;
+			this.path = path;
+			this.length = length;
+			this.lastModified = lastModified;
+		}
+
+		boolean matches(File jar) {
+			return jar.length() == length && jar.lastModified() == lastModified;
+		}
+
+	}
+
+}
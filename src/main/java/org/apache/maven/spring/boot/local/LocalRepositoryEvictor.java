@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.local;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps a local repository below a size cap and a number of versions per
+ * groupId:artifactId by deleting the least recently used version directories.
+ * The template records the access time of every artifact it resolves, a
+ * directory never accessed through the template counts as accessed when its
+ * newest file was written.
+ * <p>
+ * Resolutions hold a shared lock while they run and a directory is only moved
+ * out of the repository under the exclusive lock, so nothing is deleted under an
+ * in-flight download. The moved directory is deleted once the lock is released,
+ * resolutions only wait for a rename.
+ * Directories accessed within the minimum age are never deleted, which protects
+ * the files handed out by recent resolutions.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class LocalRepositoryEvictor {
+
+	private static final Logger log = LoggerFactory.getLogger(LocalRepositoryEvictor.class);
+	private static final int FORMAT = 1;
+	private static final long LOCK_TIMEOUT = 1000;
+	private static final String[] METADATA_PREFIXES = { "maven-metadata", "resolver-status" };
+	private static final String TRASH = ".trash";
+
+	private final Path basedir;
+	private final Path trash;
+	private final File file;
+	private final long maximumSize;
+	private final int maximumVersions;
+	private final long minimumAge;
+	private final ConcurrentMap<Path, Long> accessTimes = new ConcurrentHashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final LongAdder evicted = new LongAdder();
+	private final LongAdder evictedBytes = new LongAdder();
+	private volatile ScheduledExecutorService scheduler;
+	private volatile Consumer<Path> evictionListener;
+
+	/**
+	 * @param basedir         the local repository
+	 * @param file            the file the access times are persisted to, may be
+	 *                        {@code null} to keep them in memory only
+	 * @param maximumSize     the maximum size of the repository in bytes, {@code 0}
+	 *                        for no limit
+	 * @param maximumVersions the maximum number of versions kept per
+	 *                        groupId:artifactId, {@code 0} for no limit
+	 * @param minimumAge      the time in milliseconds a directory is kept after it
+	 *                        was accessed
+	 */
+	public LocalRepositoryEvictor(File basedir, File file, long maximumSize, int maximumVersions, long minimumAge) {
+		Assert.notNull(basedir, "basedir must not be null");
+		Assert.isTrue(maximumSize >= 0, "maximumSize must not be negative");
+		Assert.isTrue(maximumVersions >= 0, "maximumVersions must not be negative");
+		this.basedir = basedir.toPath().toAbsolutePath();
+		this.trash = this.basedir.resolve(TRASH);
+		this.file = file;
+		this.maximumSize = maximumSize;
+		this.maximumVersions = maximumVersions;
+		this.minimumAge = minimumAge;
+		if (file != null && file.isFile()) {
+			this.load();
+		}
+	}
+
+	/**
+	 * Record an access to the version directory of the given file.
+	 *
+	 * @param artifactFile a file of the local repository
+	 */
+	public void touch(File artifactFile) {
+		if (artifactFile == null) {
+			return;
+		}
+		Path directory = artifactFile.toPath().toAbsolutePath().getParent();
+		if (directory != null && directory.startsWith(basedir)) {
+			accessTimes.put(directory, System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Mark the start of a resolution, no directory is deleted until the matching
+	 * {@link #release()}.
+	 */
+	public void acquire() {
+		lock.readLock().lock();
+	}
+
+	public void release() {
+		lock.readLock().unlock();
+	}
+
+	/**
+	 * Delete least recently used version directories until the limits are met.
+	 *
+	 * @return the outcome of the pass
+	 */
+	public synchronized EvictionResult evict() {
+		long start = System.nanoTime();
+		EvictionResult result = new EvictionResult();
+		List<VersionDirectory> directories;
+		try {
+			// left over by a pass that did not complete
+			if (Files.isDirectory(trash)) {
+				deleteRecursively(trash);
+			}
+		} catch (IOException e) {
+			log.warn("Unable to empty " + trash, e);
+		}
+		try {
+			directories = this.walk();
+		} catch (IOException e) {
+			log.warn("Unable to walk local repository " + basedir, e);
+			return result;
+		}
+		Map<Path, List<VersionDirectory>> artifacts = new HashMap<>();
+		for (VersionDirectory directory : directories) {
+			result.size += directory.size;
+			artifacts.computeIfAbsent(directory.path.getParent(), path -> new ArrayList<>()).add(directory);
+		}
+		Comparator<VersionDirectory> leastRecentlyUsed = Comparator.comparingLong(directory -> directory.lastAccess);
+		Set<VersionDirectory> victims = new LinkedHashSet<>();
+		if (maximumVersions > 0) {
+			for (List<VersionDirectory> versions : artifacts.values()) {
+				if (versions.size() > maximumVersions) {
+					versions.sort(leastRecentlyUsed);
+					victims.addAll(versions.subList(0, versions.size() - maximumVersions));
+				}
+			}
+		}
+		if (maximumSize > 0) {
+			long remaining = result.size;
+			for (VersionDirectory victim : victims) {
+				remaining -= victim.size;
+			}
+			directories.sort(leastRecentlyUsed);
+			for (int i = 0; i < directories.size() && remaining > maximumSize; i++) {
+				if (victims.add(directories.get(i))) {
+					remaining -= directories.get(i).size;
+				}
+			}
+		}
+		long threshold = System.currentTimeMillis() - minimumAge;
+		for (VersionDirectory victim : victims) {
+			if (victim.lastAccess < threshold) {
+				this.delete(victim, result);
+			}
+		}
+		accessTimes.keySet().removeIf(path -> !Files.isDirectory(path));
+		this.persist();
+		result.duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		if (result.evicted > 0) {
+			log.info("Evicted from local repository " + basedir + ": " + result);
+		}
+		return result;
+	}
+
+	/**
+	 * Evict in the background at a fixed delay.
+	 *
+	 * @param interval the delay between the end of a pass and the next one
+	 * @param unit     the unit of the interval
+	 */
+	public synchronized void schedule(long interval, TimeUnit unit) {
+		Assert.isTrue(interval > 0, "interval must be greater than 0");
+		if (scheduler == null) {
+			this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, "maven-client-repository-evictor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				this.evict();
+			} catch (RuntimeException e) {
+				log.warn("Failed to evict from local repository " + basedir, e);
+			}
+		}, interval, interval, unit);
+	}
+
+	/**
+	 * @return the number of version directories deleted
+	 */
+	public long getEvictedCount() {
+		return evicted.sum();
+	}
+
+	public long getEvictedBytes() {
+		return evictedBytes.sum();
+	}
+
+	/**
+	 * @param evictionListener notified of every deleted version directory, may be
+	 *                         {@code null}
+	 */
+	public void setEvictionListener(Consumer<Path> evictionListener) {
+		this.evictionListener = evictionListener;
+	}
+
+	public void shutdown() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		// keep the access times recorded since the last pass
+		this.persist();
+	}
+
+	/*
+	 * A version directory is a directory holding files other than metadata, the
+	 * directories of groupIds and artifactIds only hold metadata.
+	 */
+	private List<VersionDirectory> walk() throws IOException {
+		final Map<Path, VersionDirectory> directories = new HashMap<>();
+		Files.walkFileTree(basedir, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+				// skips .cache, .quarantine and the like
+				return directory.equals(basedir) || !directory.getFileName().toString().startsWith(".")
+						? FileVisitResult.CONTINUE
+						: FileVisitResult.SKIP_SUBTREE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+				String name = path.getFileName().toString();
+				for (String prefix : METADATA_PREFIXES) {
+					if (name.startsWith(prefix)) {
+						return FileVisitResult.CONTINUE;
+					}
+				}
+				Path parent = path.getParent();
+				if (!parent.equals(basedir)) {
+					directories.computeIfAbsent(parent, VersionDirectory::new).add(attributes);
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path path, IOException e) {
+				// deleted while walking
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+		List<VersionDirectory> result = new ArrayList<>(directories.values());
+		for (VersionDirectory directory : result) {
+			Long lastAccess = accessTimes.get(directory.path);
+			if (lastAccess != null) {
+				directory.lastAccess = lastAccess;
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Only the rename into the trash and the update of the indexes hold the
+	 * exclusive lock, the files are deleted after it is released.
+	 */
+	private void delete(VersionDirectory victim, EvictionResult result) {
+		Path trashed;
+		try {
+			if (!lock.writeLock().tryLock(LOCK_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				// busy, the next pass tries again
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		try {
+			Long lastAccess = accessTimes.get(victim.path);
+			if (lastAccess != null && lastAccess > victim.lastAccess) {
+				// used since the walk
+				return;
+			}
+			Files.createDirectories(trash);
+			trashed = Files.createTempDirectory(trash, "evicted").resolve(victim.path.getFileName());
+			Files.move(victim.path, trashed, StandardCopyOption.ATOMIC_MOVE);
+			accessTimes.remove(victim.path);
+			// no resolution finds the moved files in the indexes
+			Consumer<Path> listener = this.evictionListener;
+			if (listener != null) {
+				listener.accept(victim.path);
+			}
+		} catch (IOException e) {
+			log.warn("Unable to evict " + victim.path, e);
+			return;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		result.evicted++;
+		result.evictedBytes += victim.size;
+		evicted.increment();
+		evictedBytes.add(victim.size);
+		try {
+			deleteRecursively(trashed.getParent());
+		} catch (IOException e) {
+			// the next pass empties the trash
+			log.warn("Unable to delete " + trashed, e);
+		}
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) throws IOException {
+				Files.deleteIfExists(path);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path path, IOException e) throws IOException {
+				Files.deleteIfExists(path);
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+	}
+
+	/*
+	 * Format: FORMAT, entry count, then per entry the path relative to the local
+	 * repository and the access time.
+	 */
+	private void persist() {
+		if (file == null) {
+			return;
+		}
+		try {
+			Path directory = file.getAbsoluteFile().getParentFile().toPath();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, file.getName(), ".tmp");
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				Map<Path, Long> snapshot = new HashMap<>(accessTimes);
+				output.writeInt(FORMAT);
+				output.writeInt(snapshot.size());
+				for (Map.Entry<Path, Long> entry : snapshot.entrySet()) {
+					output.writeUTF(basedir.relativize(entry.getKey()).toString());
+					output.writeLong(entry.getValue());
+				}
+			}
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Unable to persist access times " + file, e);
+		}
+	}
+
+	private void load() {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != FORMAT) {
+				return;
+			}
+			for (int count = input.readInt(); count > 0; count--) {
+				accessTimes.put(basedir.resolve(input.readUTF()), input.readLong());
+			}
+		} catch (IOException | RuntimeException e) {
+			accessTimes.clear();
+			log.warn("Ignoring unreadable access times " + file, e);
+		}
+	}
+
+	private static class VersionDirectory {
+
+		private final Path path;
+		private long size;
+		private long lastAccess;
+
+		VersionDirectory(Path path) {
+			this.path = path;
+		}
+
+		void add(BasicFileAttributes attributes) {
+			size += attributes.size();
+			lastAccess = Math.max(lastAccess, attributes.lastModifiedTime().toMillis());
+		}
+
+	}
+
+	/**
+	 * The outcome of an eviction pass.
+	 */
+	public static class EvictionResult {
+
+		private long size;
+		private long evicted;
+		private long evictedBytes;
+		private long duration;
+
+		/**
+		 * @return the size of the repository in bytes before the pass
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the number of version directories deleted
+		 */
+		public long getEvictedCount() {
+			return evicted;
+		}
+
+		public long getEvictedBytes() {
+			return evictedBytes;
+		}
+
+		/**
+		 * @return the duration of the pass in milliseconds
+		 */
+		public long getDuration() {
+			return duration;
+		}
+
+		@Override
+		public String toString() {
+			return "size=" + size + ", evicted=" + evicted + ", evictedBytes=" + evictedBytes + ", duration="
+					+ duration + "ms";
+		}
+
+	}
+
+}
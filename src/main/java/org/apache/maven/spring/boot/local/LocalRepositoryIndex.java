@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.local;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.spring.boot.utils.ArtifactUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * In-memory index of the artifacts of a local repository, coordinates &rarr;
+ * file. It is built by a parallel walk of the repository and kept current by
+ * the template, which adds what it resolves and installs, and optionally by a
+ * {@link WatchService} on every directory of the repository, which picks up
+ * changes made by other processes. A lookup is a single hash lookup without any
+ * file system access. The coordinates are also kept per version directory, so
+ * removing a file or a version directory does not go through the whole index.
+ * <p>
+ * The index does not know which remote repository a file came from, it should
+ * only serve release artifacts, which never change once published.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class LocalRepositoryIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(LocalRepositoryIndex.class);
+
+	private final Path basedir;
+	private final ForkJoinPool pool;
+	private final WatchService watchService;
+	private final ConcurrentMap<WatchKey, Path> watched = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, File> artifacts = new ConcurrentHashMap<>();
+	/* version directory -> coordinates of its indexed files */
+	private final ConcurrentMap<Path, Set<String>> directories = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * @param basedir the local repository
+	 * @param threads the parallelism of the walk
+	 * @param watch   {@code true} to follow the changes of the repository with a
+	 *                {@link WatchService}
+	 */
+	public LocalRepositoryIndex(File basedir, int threads, boolean watch) {
+		Assert.notNull(basedir, "basedir must not be null");
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		this.basedir = basedir.toPath().toAbsolutePath();
+		this.pool = new ForkJoinPool(threads);
+		WatchService watchService = null;
+		if (watch) {
+			try {
+				watchService = this.basedir.getFileSystem().newWatchService();
+			} catch (IOException e) {
+				log.warn("Unable to watch local repository " + basedir + ", changes of other processes are missed", e);
+			}
+		}
+		this.watchService = watchService;
+		if (watchService != null) {
+			Thread thread = new Thread(this::watch, "maven-client-repository-watcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Walk the repository in parallel and wait for it.
+	 */
+	public void build() {
+		if (Files.isDirectory(basedir)) {
+			pool.invoke(new DirectoryTask(basedir));
+		}
+		log.debug("Indexed " + artifacts.size() + " artifacts of local repository " + basedir);
+	}
+
+	/**
+	 * Walk the repository in the background, lookups miss until the artifacts are
+	 * indexed.
+	 */
+	public void buildAsync() {
+		if (Files.isDirectory(basedir)) {
+			pool.execute(new DirectoryTask(basedir));
+		}
+	}
+
+	/**
+	 * @param artifact the artifact
+	 * @return the file of the artifact in the local repository or {@code null} if
+	 *         it is not indexed
+	 */
+	public File find(Artifact artifact) {
+		File file = artifacts.get(artifact.toString());
+		if (file == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return file;
+	}
+
+	/**
+	 * @param artifact the artifact, its file is ignored
+	 * @param file     the file of the artifact in the local repository
+	 */
+	public void add(Artifact artifact, File file) {
+		if (file != null && file.toPath().toAbsolutePath().startsWith(basedir)) {
+			this.put(artifact.toString(), file.getAbsoluteFile());
+		}
+	}
+
+	/**
+	 * Remove a file or, for a directory, every file below it. Checksum, temporary
+	 * and other files that are not artifacts are ignored.
+	 *
+	 * @param path a file or directory of the repository
+	 */
+	public void remove(Path path) {
+		final Path absolute = path.toAbsolutePath();
+		Set<String> keys = directories.remove(absolute);
+		if (keys != null) {
+			// a version directory
+			for (String key : keys) {
+				artifacts.computeIfPresent(key, (k, file) -> absolute.equals(file.toPath().getParent()) ? null : file);
+			}
+			return;
+		}
+		if (!absolute.startsWith(basedir) || !LocalRepositoryScanner.isArtifact(absolute.getFileName().toString())) {
+			return;
+		}
+		Artifact artifact = ArtifactUtils.fromPath(basedir.relativize(absolute).toString());
+		if (artifact != null) {
+			String key = artifact.toString();
+			if (artifacts.remove(key, absolute.toFile())) {
+				Set<String> siblings = directories.get(absolute.getParent());
+				if (siblings != null) {
+					siblings.remove(key);
+				}
+			}
+			return;
+		}
+		// a groupId or artifactId directory, only its version directories are visited
+		for (Map.Entry<Path, Set<String>> entry : directories.entrySet()) {
+			if (entry.getKey().startsWith(absolute)) {
+				this.remove(entry.getKey());
+			}
+		}
+	}
+
+	public int size() {
+		return artifacts.size();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	public void shutdown() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+		pool.shutdown();
+	}
+
+	private void index(Path file) {
+		if (!LocalRepositoryScanner.isArtifact(file.getFileName().toString())) {
+			return;
+		}
+		Artifact artifact = ArtifactUtils.fromPath(basedir.relativize(file).toString());
+		if (artifact != null) {
+			this.put(artifact.toString(), file.toFile());
+		}
+	}
+
+	private void put(String key, File file) {
+		File previous = artifacts.put(key, file);
+		Path directory = file.toPath().getParent();
+		if (previous != null && !directory.equals(previous.toPath().getParent())) {
+			Set<String> keys = directories.get(previous.toPath().getParent());
+			if (keys != null) {
+				keys.remove(key);
+			}
+		}
+		directories.computeIfAbsent(directory, path -> ConcurrentHashMap.newKeySet()).add(key);
+	}
+
+	private void register(Path directory) {
+		if (watchService == null) {
+			return;
+		}
+		try {
+			watched.put(directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_DELETE), directory);
+		} catch (IOException e) {
+			// e.g. the inotify limit is reached
+			log.debug("Unable to watch " + directory + ": " + e.getMessage());
+		}
+	}
+
+	private void watch() {
+		while (true) {
+			WatchKey key;
+			try {
+				key = watchService.take();
+			} catch (InterruptedException | ClosedWatchServiceException e) {
+				return;
+			}
+			Path directory = watched.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					// events were lost, walk again
+					artifacts.clear();
+					directories.clear();
+					this.buildAsync();
+					continue;
+				}
+				if (directory == null) {
+					continue;
+				}
+				Path child = directory.resolve((Path) event.context());
+				if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+					this.remove(child);
+				} else if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+					// files may have been created before the directory was registered
+					if (!child.getFileName().toString().startsWith(".")) {
+						pool.execute(new DirectoryTask(child));
+					}
+				} else {
+					this.index(child);
+				}
+			}
+			if (!key.reset()) {
+				watched.remove(key);
+			}
+		}
+	}
+
+	private class DirectoryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final Path directory;
+
+		DirectoryTask(Path directory) {
+			this.directory = directory;
+		}
+
+		@Override
+		protected void compute() {
+			register(directory);
+			List<DirectoryTask> subdirectories = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				for (Path entry : entries) {
+					BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+							LinkOption.NOFOLLOW_LINKS);
+					if (attributes.isDirectory()) {
+						// skips .cache, .quarantine and the like
+						if (!entry.getFileName().toString().startsWith(".")) {
+							subdirectories.add(new DirectoryTask(entry));
+						}
+					} else if (attributes.isRegularFile()) {
+						index(entry);
+					}
+				}
+			} catch (IOException e) {
+				log.debug("Unable to list " + directory + ": " + e.getMessage());
+			}
+			invokeAll(subdirectories);
+		}
+
+	}
+
+}
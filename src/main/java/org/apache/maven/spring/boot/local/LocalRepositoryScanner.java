@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.local;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.apache.maven.spring.boot.utils.ArtifactUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Verifies the files of a local repository. The directories are walked in
+ * parallel by a fork-join pool; every artifact is checked against the
+ * {@code .sha1}, {@code .sha256} and {@code .sha512} files next to it, computed
+ * in one pass, and zip based artifacts must have a readable central directory,
+ * which a truncated file has lost. Corrupt files are reported, moved to the
+ * {@code .quarantine} directory of the local repository or moved there and
+ * downloaded again through the template.
+ * <p>
+ * The size and modification time of every file found intact are remembered, an
+ * incremental scan skips the files that did not change since. The state may be
+ * persisted to a file so that it survives restarts.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class LocalRepositoryScanner {
+
+	private static final Logger log = LoggerFactory.getLogger(LocalRepositoryScanner.class);
+	private static final int FORMAT = 1;
+	public static final String QUARANTINE_DIRECTORY = ".quarantine";
+	private static final List<String> ALGORITHMS = Arrays.asList("SHA-1", "SHA-256", "SHA-512");
+	private static final String[] ZIP_EXTENSIONS = { ".jar", ".war", ".ear", ".zip" };
+	private static final String[] IGNORED_PREFIXES = { ".", "_", "maven-metadata", "resolver-status" };
+	private static final String[] IGNORED_SUFFIXES = { ".sha1", ".md5", ".sha256", ".sha512", ".asc",
+			".lastUpdated", ".tmp", ".part", ".lock" };
+
+	/**
+	 * What is done with a corrupt file.
+	 */
+	public enum Action {
+
+		/** Only report the file. */
+		REPORT,
+
+		/** Move the file to the quarantine directory. */
+		QUARANTINE,
+
+		/** Move the file to the quarantine directory and download it again. */
+		REFETCH
+
+	}
+
+	private final Path basedir;
+	private final Path quarantine;
+	private final File file;
+	private final Action action;
+	private final MavenClientTemplate template;
+	private final ForkJoinPool pool;
+	private final ConcurrentMap<String, long[]> verified = new ConcurrentHashMap<>();
+	private volatile ScheduledExecutorService scheduler;
+	private volatile Consumer<Path> quarantineListener;
+
+	/**
+	 * @param basedir  the local repository
+	 * @param file     the file the state of the incremental scans is persisted to,
+	 *                 may be {@code null} to keep it in memory only
+	 * @param threads  the parallelism of the walk
+	 * @param action   what is done with corrupt files
+	 * @param template the template downloading corrupt files again, required for
+	 *                 {@link Action#REFETCH}
+	 */
+	public LocalRepositoryScanner(File basedir, File file, int threads, Action action, MavenClientTemplate template) {
+		Assert.notNull(basedir, "basedir must not be null");
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		Assert.notNull(action, "action must not be null");
+		Assert.isTrue(action != Action.REFETCH || template != null, "REFETCH requires a MavenClientTemplate");
+		this.basedir = basedir.toPath().toAbsolutePath();
+		this.quarantine = this.basedir.resolve(QUARANTINE_DIRECTORY);
+		this.file = file;
+		this.action = action;
+		this.template = template;
+		this.pool = new ForkJoinPool(threads);
+		if (file != null && file.isFile()) {
+			this.load();
+		}
+	}
+
+	/**
+	 * Scan the files changed since the last scan.
+	 *
+	 * @return the outcome of the scan
+	 */
+	public ScanResult scan() {
+		return this.scan(true);
+	}
+
+	/**
+	 * @param incremental {@code false} to verify all files again
+	 * @return the outcome of the scan
+	 */
+	public synchronized ScanResult scan(boolean incremental) {
+		long start = System.nanoTime();
+		ScanResult result = new ScanResult();
+		if (Files.isDirectory(basedir)) {
+			pool.invoke(new DirectoryTask(basedir, incremental, result));
+		}
+		// corrupt files are handled after the walk, not while their directory is listed
+		for (Path corrupt : result.corrupt) {
+			this.handle(corrupt, result);
+		}
+		result.duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		this.persist();
+		log.info("Scanned local repository " + basedir + ": " + result);
+		return result;
+	}
+
+	/**
+	 * Scan incrementally in the background at a fixed delay.
+	 *
+	 * @param interval the delay between the end of a scan and the next one
+	 * @param unit     the unit of the interval
+	 */
+	public synchronized void schedule(long interval, TimeUnit unit) {
+		Assert.isTrue(interval > 0, "interval must be greater than 0");
+		if (scheduler == null) {
+			this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+				Thread thread = new Thread(runnable, "maven-client-repository-scanner");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				this.scan(true);
+			} catch (RuntimeException e) {
+				log.warn("Failed to scan local repository " + basedir, e);
+			}
+		}, interval, interval, unit);
+	}
+
+	/**
+	 * Forget the state of the previous scans, the next scan verifies all files.
+	 */
+	public void reset() {
+		verified.clear();
+	}
+
+	/**
+	 * @param quarantineListener notified of every file moved to quarantine, with
+	 *                           its former path, may be {@code null}
+	 */
+	public void setQuarantineListener(Consumer<Path> quarantineListener) {
+		this.quarantineListener = quarantineListener;
+	}
+
+	public void shutdown() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		pool.shutdown();
+	}
+
+	/*
+	 * Checksum, signature, metadata, tracking and temporary files are not artifacts.
+	 */
+	static boolean isArtifact(String name) {
+		for (String prefix : IGNORED_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return false;
+			}
+		}
+		for (String suffix : IGNORED_SUFFIXES) {
+			if (name.endsWith(suffix)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void verify(Path path, BasicFileAttributes attributes, boolean incremental, ScanResult result) {
+		String key = basedir.relativize(path).toString();
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		long[] known = verified.get(key);
+		if (incremental && known != null && known[0] == size && known[1] == lastModified) {
+			result.unchanged.increment();
+			return;
+		}
+		result.verified.increment();
+		String failure;
+		try {
+			failure = this.check(path, result);
+		} catch (IOException e) {
+			failure = e.getMessage();
+		}
+		try {
+			BasicFileAttributes current = Files.readAttributes(path, BasicFileAttributes.class,
+					LinkOption.NOFOLLOW_LINKS);
+			if (current.size() != size || current.lastModifiedTime().toMillis() != lastModified) {
+				// replaced while it was read, e.g. by a concurrent download; the next scan checks it
+				verified.remove(key);
+				return;
+			}
+		} catch (IOException e) {
+			// deleted while it was read
+			verified.remove(key);
+			return;
+		}
+		if (failure == null) {
+			verified.put(key, new long[] { size, lastModified });
+			return;
+		}
+		verified.remove(key);
+		log.warn("Corrupt file in local repository " + path + ": " + failure);
+		result.corrupt.add(path);
+	}
+
+	/*
+	 * Returns the reason the file is corrupt or null.
+	 */
+	private String check(Path path, ScanResult result) throws IOException {
+		String name = path.getFileName().toString();
+		boolean checked = false;
+		for (String extension : ZIP_EXTENSIONS) {
+			if (name.endsWith(extension)) {
+				checked = true;
+				// opening reads the end record and the central directory only
+				try {
+					new ZipFile(path.toFile()).close();
+				} catch (IOException e) {
+					return "invalid zip central directory: " + e.getMessage();
+				}
+				break;
+			}
+		}
+		List<String> algorithms = new ArrayList<>(ALGORITHMS.size());
+		for (String algorithm : ALGORITHMS) {
+			if (Files.isRegularFile(sidecar(path, algorithm))) {
+				algorithms.add(algorithm);
+			}
+		}
+		if (!algorithms.isEmpty()) {
+			checked = true;
+			Map<String, String> digests = ChecksumCalculator.calculate(path.toFile(), algorithms);
+			for (Map.Entry<String, String> digest : digests.entrySet()) {
+				String expected = ChecksumCalculator.read(sidecar(path, digest.getKey()).toFile());
+				if (expected != null && !expected.equals(digest.getValue())) {
+					return digest.getKey() + " mismatch, expected " + expected + " but is " + digest.getValue();
+				}
+			}
+		}
+		if (!checked) {
+			result.unverifiable.increment();
+		}
+		return null;
+	}
+
+	private Path sidecar(Path path, String algorithm) {
+		return path.resolveSibling(path.getFileName() + "." + ChecksumCalculator.extension(algorithm));
+	}
+
+	private void handle(Path path, ScanResult result) {
+		if (action == Action.REPORT) {
+			return;
+		}
+		Path relative = basedir.relativize(path);
+		try {
+			Path target = quarantine.resolve(relative);
+			Files.createDirectories(target.getParent());
+			Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+			result.quarantined.increment();
+		} catch (IOException e) {
+			log.warn("Unable to quarantine " + path, e);
+			return;
+		}
+		Consumer<Path> listener = this.quarantineListener;
+		if (listener != null) {
+			listener.accept(path);
+		}
+		if (action != Action.REFETCH) {
+			return;
+		}
+		Artifact artifact = ArtifactUtils.fromPath(relative.toString());
+		if (artifact == null) {
+			log.warn("Unable to download " + path + " again, the path does not follow the repository layout");
+			return;
+		}
+		try {
+			template.artifact(artifact.getGroupId(), artifact.getArtifactId(), artifact.getClassifier(),
+					artifact.getExtension(), artifact.getVersion());
+			result.refetched.increment();
+		} catch (RuntimeException e) {
+			log.warn("Unable to download " + artifact + " again", e);
+		}
+	}
+
+	/*
+	 * Format: FORMAT, entry count, then per entry relative path, size and last
+	 * modified.
+	 */
+	private void persist() {
+		if (file == null) {
+			return;
+		}
+		try {
+			Path directory = file.getAbsoluteFile().getParentFile().toPath();
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, file.getName(), ".tmp");
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				Map<String, long[]> snapshot = new HashMap<>(verified);
+				output.writeInt(FORMAT);
+				output.writeInt(snapshot.size());
+				for (Map.Entry<String, long[]> entry : snapshot.entrySet()) {
+					output.writeUTF(entry.getKey());
+					output.writeLong(entry.getValue()[0]);
+					output.writeLong(entry.getValue()[1]);
+				}
+			}
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.warn("Unable to persist scanner state " + file, e);
+		}
+	}
+
+	private void load() {
+		try (DataInputStream input = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (input.readInt() != FORMAT) {
+				return;
+			}
+			for (int count = input.readInt(); count > 0; count--) {
+				verified.put(input.readUTF(), new long[] { input.readLong(), input.readLong() });
+			}
+		} catch (IOException | RuntimeException e) {
+			verified.clear();
+			log.warn("Ignoring unreadable scanner state " + file, e);
+		}
+	}
+
+	private class DirectoryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+		private final Path directory;
+		private final boolean incremental;
+		private final ScanResult result;
+
+		DirectoryTask(Path directory, boolean incremental, ScanResult result) {
+			this.directory = directory;
+			this.incremental = incremental;
+			this.result = result;
+		}
+
+		@Override
+		protected void compute() {
+			List<DirectoryTask> subdirectories = new ArrayList<>();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				for (Path entry : entries) {
+					String name = entry.getFileName().toString();
+					BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class,
+							LinkOption.NOFOLLOW_LINKS);
+					if (attributes.isDirectory()) {
+						// skips .quarantine, .cache and the like
+						if (!name.startsWith(".")) {
+							subdirectories.add(new DirectoryTask(entry, incremental, result));
+						}
+					} else if (attributes.isRegularFile() && isArtifact(name)) {
+						verify(entry, attributes, incremental, result);
+					}
+				}
+			} catch (IOException e) {
+				log.warn("Unable to list " + directory + ": " + e.getMessage());
+			}
+			invokeAll(subdirectories);
+		}
+
+	}
+
+	/**
+	 * The outcome of a scan.
+	 */
+	public static class ScanResult {
+
+		private final LongAdder verified = new LongAdder();
+		private final LongAdder unchanged = new LongAdder();
+		private final LongAdder unverifiable = new LongAdder();
+		private final LongAdder quarantined = new LongAdder();
+		private final LongAdder refetched = new LongAdder();
+		private final ConcurrentLinkedQueue<Path> corrupt = new ConcurrentLinkedQueue<>();
+		private long duration;
+
+		/**
+		 * @return the number of files read
+		 */
+		public long getVerifiedCount() {
+			return verified.sum();
+		}
+
+		/**
+		 * @return the number of files skipped because they did not change since the
+		 *         last scan
+		 */
+		public long getUnchangedCount() {
+			return unchanged.sum();
+		}
+
+		/**
+		 * @return the number of files read that have neither a checksum file nor a
+		 *         central directory
+		 */
+		public long getUnverifiableCount() {
+			return unverifiable.sum();
+		}
+
+		public long getQuarantinedCount() {
+			return quarantined.sum();
+		}
+
+		public long getRefetchedCount() {
+			return refetched.sum();
+		}
+
+		public List<Path> getCorrupt() {
+			return Collections.unmodifiableList(new ArrayList<>(corrupt));
+		}
+
+		/**
+		 * @return the duration of the scan in milliseconds
+		 */
+		public long getDuration() {
+			return duration;
+		}
+
+		@Override
+		public String toString() {
+			return "verified=" + getVerifiedCount() + ", unchanged=" + getUnchangedCount() + ", unverifiable="
+					+ getUnverifiableCount() + ", corrupt=" + corrupt.size() + ", quarantined=" + getQuarantinedCount()
+					+ ", refetched=" + getRefetchedCount() + ", duration=" + duration + "ms";
+		}
+
+	}
+
+}
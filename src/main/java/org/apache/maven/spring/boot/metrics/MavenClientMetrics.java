@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import org.apache.maven.spring.boot.cache.ArtifactResultCache;
+import org.apache.maven.spring.boot.cache.DependencyGraphCache;
+import org.apache.maven.spring.boot.cache.ModelCache;
+import org.apache.maven.spring.boot.cache.NegativeResultCache;
+import org.apache.maven.spring.boot.cache.SharedModelCache;
+import org.apache.maven.spring.boot.cache.VersionIndex;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.apache.maven.spring.boot.ext.OperationListener;
+import org.apache.maven.spring.boot.ext.RequestCoalescer;
+import org.apache.maven.spring.boot.index.ClassIndex;
+import org.apache.maven.spring.boot.local.LocalRepositoryEvictor;
+import org.apache.maven.spring.boot.local.LocalRepositoryIndex;
+import org.apache.maven.spring.boot.repository.HedgedArtifactResolver;
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreaker;
+import org.apache.maven.spring.boot.repository.RepositoryRouter;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer metrics of a {@link MavenClientTemplate}: the duration of its
+ * operations and of their phases, the bytes, duration and throughput of the
+ * transfers per remote repository, the transfers in flight, the hits and misses
+ * of its caches and its failures by exception type.
+ * <p>
+ * Every tag has a bounded set of values: operations and phases are fixed,
+ * repositories are the configured ones ({@code other} for a URL no configured
+ * repository has, e.g. a repository declared in a pom) and exceptions are
+ * tagged with the simple name of their root cause class.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class MavenClientMetrics implements MeterBinder, OperationListener {
+
+	private static final String OTHER = "other";
+
+	private final MavenClientTemplate template;
+	private final boolean histogram;
+	private final Map<String, String> repositoryIds;
+	private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+	private final ConcurrentMap<TransferResource, Long> transfers = new ConcurrentHashMap<>();
+	private final AtomicInteger activeTransfers = new AtomicInteger();
+	private volatile MeterRegistry registry;
+
+	/**
+	 * @param template  the instrumented template
+	 * @param histogram {@code true} to publish a percentile histogram of the
+	 *                  timers
+	 */
+	public MavenClientMetrics(MavenClientTemplate template, boolean histogram) {
+		Assert.notNull(template, "MavenClientTemplate must not be null");
+		this.template = template;
+		this.histogram = histogram;
+		this.repositoryIds = RepositorySystemUtils.repositoryIds(template.getRemoteRepositories());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+
+		cache(registry, "artifact", t -> count(t.getArtifactCache(), ArtifactResultCache::getHitCount),
+				t -> count(t.getArtifactCache(), ArtifactResultCache::getMissCount));
+		cache(registry, "dependency", t -> count(t.getDependencyCache(), DependencyGraphCache::getHitCount),
+				t -> count(t.getDependencyCache(), DependencyGraphCache::getMissCount));
+		cache(registry, "version", t -> count(t.getVersionIndex(), VersionIndex::getHitCount),
+				t -> count(t.getVersionIndex(), VersionIndex::getMissCount));
+		cache(registry, "model", t -> count(t.getModelCache(), ModelCache::getHitCount),
+				t -> count(t.getModelCache(), ModelCache::getMissCount));
+		cache(registry, "parentModel", t -> count(t.getParentModelCache(), SharedModelCache::getHitCount),
+				t -> count(t.getParentModelCache(), SharedModelCache::getMissCount));
+		cache(registry, "localIndex", t -> count(t.getLocalRepositoryIndex(), LocalRepositoryIndex::getHitCount),
+				t -> count(t.getLocalRepositoryIndex(), LocalRepositoryIndex::getMissCount));
+		FunctionCounter.builder("maven.client.cache.gets", template,
+				t -> count(t.getNegativeCache(), NegativeResultCache::getHitCount))
+				.tag("cache", "notFound").tag("result", "hit").register(registry);
+
+		FunctionCounter.builder("maven.client.requests.coalesced", template,
+				t -> count(t.getRequestCoalescer(), RequestCoalescer::getCoalescedCount)).register(registry);
+		FunctionCounter.builder("maven.client.requests.hedged", template,
+				t -> count(t.getHedgedResolver(), HedgedArtifactResolver::getHedgedCount)).register(registry);
+		FunctionCounter.builder("maven.client.circuit.opened", template,
+				t -> count(t.getCircuitBreaker(), RepositoryCircuitBreaker::getOpenedCount)).register(registry);
+		FunctionCounter.builder("maven.client.circuit.skipped", template,
+				t -> count(t.getCircuitBreaker(), RepositoryCircuitBreaker::getSkippedCount)).register(registry);
+		FunctionCounter.builder("maven.client.local.evicted", template,
+				t -> count(t.getLocalRepositoryEvictor(), LocalRepositoryEvictor::getEvictedCount)).register(registry);
+		FunctionCounter.builder("maven.client.local.evicted.bytes", template,
+				t -> count(t.getLocalRepositoryEvictor(), LocalRepositoryEvictor::getEvictedBytes)).baseUnit("bytes")
+				.register(registry);
+
+		Gauge.builder("maven.client.transfers.active", activeTransfers, AtomicInteger::get).register(registry);
+		Gauge.builder("maven.client.local.indexed", template,
+				t -> count(t.getLocalRepositoryIndex(), LocalRepositoryIndex::size)).register(registry);
+		Gauge.builder("maven.client.classes.indexed", template, t -> count(t.getClassIndex(), ClassIndex::size))
+				.register(registry);
+		for (String repositoryId : repositoryIds.values()) {
+			// 0 closed, 1 open, 2 half open
+			Gauge.builder("maven.client.circuit.state", template, t -> {
+				RepositoryCircuitBreaker breaker = t.getCircuitBreaker();
+				return breaker != null ? breaker.getState(repositoryId).ordinal() : 0;
+			}).tag("repository", repositoryId).register(registry);
+			Gauge.builder("maven.client.repository.cost", template, t -> {
+				RepositoryRouter router = t.getRepositoryRouter();
+				Double cost = router != null ? router.getCosts().get(repositoryId) : null;
+				return cost != null ? cost : Double.NaN;
+			}).tag("repository", repositoryId).baseUnit("milliseconds").register(registry);
+		}
+
+		template.setOperationListener(this);
+		template.getSessionFactory().addTransferListener(new MetricsTransferListener());
+	}
+
+	@Override
+	public void operationCompleted(String operation, long duration, Throwable failure) {
+		String outcome = failure == null ? "success" : "failure";
+		timer("maven.client.operations", "operation", operation, "outcome", outcome).record(duration,
+				TimeUnit.NANOSECONDS);
+		if (failure != null) {
+			counter("maven.client.failures", "operation", operation, "exception", exceptionName(failure))
+					.increment();
+		}
+	}
+
+	@Override
+	public void phaseCompleted(String phase, long duration) {
+		timer("maven.client.phases", "phase", phase).record(duration, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * @return the number of transfers started and not completed yet
+	 */
+	public int getActiveTransfers() {
+		return activeTransfers.get();
+	}
+
+	private void cache(MeterRegistry registry, String cache, ToLongFunction<MavenClientTemplate> hits,
+			ToLongFunction<MavenClientTemplate> misses) {
+		FunctionCounter.builder("maven.client.cache.gets", template, hits::applyAsLong).tag("cache", cache)
+				.tag("result", "hit").register(registry);
+		FunctionCounter.builder("maven.client.cache.gets", template, misses::applyAsLong).tag("cache", cache)
+				.tag("result", "miss").register(registry);
+	}
+
+	private static <S> long count(S source, ToLongFunction<S> count) {
+		return source != null ? count.applyAsLong(source) : 0;
+	}
+
+	/*
+	 * The meters are looked up by name and tags once, the registry keeps them.
+	 */
+	private Timer timer(String name, String... tags) {
+		return timers.computeIfAbsent(key(name, tags), key -> Timer.builder(name).tags(tags)
+				.publishPercentileHistogram(histogram).register(registry));
+	}
+
+	private Counter counter(String name, String... tags) {
+		return counters.computeIfAbsent(key(name, tags), key -> Counter.builder(name).tags(tags).register(registry));
+	}
+
+	private DistributionSummary summary(String name, String unit, String... tags) {
+		return summaries.computeIfAbsent(key(name, tags),
+				key -> DistributionSummary.builder(name).baseUnit(unit).tags(tags).register(registry));
+	}
+
+	private static String key(String name, String... tags) {
+		return name + '|' + String.join("|", tags);
+	}
+
+	private static String exceptionName(Throwable failure) {
+		Throwable cause = failure;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause.getClass().getSimpleName();
+	}
+
+	private String repositoryId(TransferResource resource) {
+		String id = repositoryIds.get(RepositorySystemUtils.normalizeUrl(resource.getRepositoryUrl()));
+		return id != null ? id : OTHER;
+	}
+
+	/*
+	 * A transfer is in flight from its initiation to its success or failure, a
+	 * download that is not found fails without ever starting.
+	 */
+	private class MetricsTransferListener extends AbstractTransferListener {
+
+		@Override
+		public void transferInitiated(TransferEvent event) {
+			transfers.put(event.getResource(), System.nanoTime());
+			activeTransfers.incrementAndGet();
+		}
+
+		@Override
+		public void transferCorrupted(TransferEvent event) {
+			counter("maven.client.transfers.corrupted", "repository", repositoryId(event.getResource())).increment();
+		}
+
+		@Override
+		public void transferSucceeded(TransferEvent event) {
+			completed(event, "success");
+		}
+
+		@Override
+		public void transferFailed(TransferEvent event) {
+			Exception exception = event.getException();
+			completed(event, exception instanceof ArtifactNotFoundException
+					|| exception instanceof MetadataNotFoundException ? "notFound" : "failure");
+		}
+
+		private void completed(TransferEvent event, String outcome) {
+			Long start = transfers.remove(event.getResource());
+			if (start == null) {
+				return;
+			}
+			activeTransfers.decrementAndGet();
+			long duration = System.nanoTime() - start;
+			String repository = repositoryId(event.getResource());
+			String direction = event.getRequestType() == TransferEvent.RequestType.PUT ? "upload" : "download";
+			timer("maven.client.transfers", "repository", repository, "direction", direction, "outcome", outcome)
+					.record(duration, TimeUnit.NANOSECONDS);
+			long bytes = event.getTransferredBytes();
+			if (bytes > 0) {
+				counter("maven.client.transfers.bytes", "repository", repository, "direction", direction)
+						.increment(bytes);
+				summary("maven.client.transfers.throughput", "bytes/s", "repository", repository, "direction",
+						direction).record(bytes * 1e9 / Math.max(duration, 1));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.repository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.apache.maven.spring.boot.checksum.ChecksumTransferListener;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.LocalArtifactRegistration;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.springframework.util.Assert;
+
+/**
+ * Resolves an artifact from several remote repositories concurrently instead of
+ * one after another. The first repository is asked immediately, each further
+ * repository is asked when no answer arrived within the hedge delay or as soon
+ * as an earlier attempt failed. The first successful result wins and the other
+ * attempts are cancelled.
+ * <p>
+ * The hedge delay is either fixed or, when a percentile is configured, the given
+ * percentile of the latencies observed for successful resolutions, so that only
+ * the slow tail is hedged.
+ * </p>
+ * <p>
+ * Cancelling an attempt does not interrupt a blocking download, so every
+ * attempt downloads into its own temporary local repository below
+ * {@code .cache/hedge}. Only the winner moves its file into the shared local
+ * repository and registers it there, the files of the other attempts are
+ * deleted when they finish.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class HedgedArtifactResolver {
+
+	private static final int SAMPLES = 256;
+	private static final int MIN_SAMPLES = 20;
+	private static final String HEDGE_DIRECTORY = ".cache/hedge";
+	private final RepositorySystem repositorySystem;
+	private final ExecutorService executor;
+	private final long delay;
+	private final double percentile;
+	private final long[] latencies = new long[SAMPLES];
+	private long sampleCount;
+	private volatile long percentileDelay = -1;
+	private final LongAdder hedged = new LongAdder();
+	private volatile ChecksumTransferListener checksumListener;
+
+	/**
+	 * @param repositorySystem the repository system
+	 * @param threads          the maximum number of concurrent attempts
+	 * @param delay            the fixed hedge delay in milliseconds, {@code 0}
+	 *                         asks all repositories at once
+	 * @param percentile       the latency percentile used as hedge delay once
+	 *                         enough samples were observed, {@code 0} to always
+	 *                         use the fixed delay
+	 */
+	public HedgedArtifactResolver(RepositorySystem repositorySystem, int threads, long delay, double percentile) {
+		Assert.notNull(repositorySystem, "RepositorySystem must not be null");
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		Assert.isTrue(percentile >= 0 && percentile < 100, "percentile must be in [0,100)");
+		this.repositorySystem = repositorySystem;
+		this.delay = delay;
+		this.percentile = percentile;
+		final AtomicInteger counter = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>(), runnable -> {
+					Thread thread = new Thread(runnable, "maven-client-hedge-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		this.executor = executor;
+	}
+
+	public ArtifactResult resolve(RepositorySystemSession session, ArtifactRequest request)
+			throws ArtifactResolutionException {
+
+		List<RemoteRepository> repositories = request.getRepositories();
+		if (session.isOffline() || repositories.size() < 2 || this.isLocal(session, request)) {
+			return this.repositorySystem.resolveArtifact(session, request);
+		}
+
+		AtomicBoolean won = new AtomicBoolean();
+		CompletionService<ArtifactResult> completion = new ExecutorCompletionService<ArtifactResult>(this.executor);
+		List<Future<ArtifactResult>> attempts = new ArrayList<>(repositories.size());
+		ArtifactResult failed = new ArtifactResult(request);
+		long hedgeDelay = this.hedgeDelay();
+		long start = System.nanoTime();
+		int next = 0;
+		int pending = 0;
+		try {
+			attempts.add(completion.submit(this.attempt(session, request, repositories.get(next++), won)));
+			pending++;
+			while (pending > 0) {
+				Future<ArtifactResult> done = next < repositories.size()
+						? completion.poll(hedgeDelay, TimeUnit.MILLISECONDS)
+						: completion.take();
+				if (done == null) {
+					// no answer within the hedge delay, ask the next repository as well
+					hedged.increment();
+					attempts.add(completion.submit(this.attempt(session, request, repositories.get(next++), won)));
+					pending++;
+					continue;
+				}
+				pending--;
+				try {
+					ArtifactResult result = done.get();
+					if (result.isResolved()) {
+						this.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+						return result;
+					}
+					for (Exception exception : result.getExceptions()) {
+						failed.addException(exception);
+					}
+				} catch (ExecutionException e) {
+					this.addExceptions(failed, e.getCause());
+				}
+				if (next < repositories.size()) {
+					attempts.add(completion.submit(this.attempt(session, request, repositories.get(next++), won)));
+					pending++;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failed.addException(e);
+		} finally {
+			for (Future<ArtifactResult> attempt : attempts) {
+				attempt.cancel(true);
+			}
+		}
+		throw new ArtifactResolutionException(Collections.singletonList(failed));
+	}
+
+	/**
+	 * @return the number of attempts started because the previous attempts were
+	 *         slower than the hedge delay
+	 */
+	public long getHedgedCount() {
+		return hedged.sum();
+	}
+
+	/**
+	 * @param checksumListener the listener whose digests follow the file of the
+	 *                         winning attempt, may be {@code null}
+	 */
+	public void setChecksumListener(ChecksumTransferListener checksumListener) {
+		this.checksumListener = checksumListener;
+	}
+
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	private boolean isLocal(RepositorySystemSession session, ArtifactRequest request) {
+		LocalArtifactRequest local = new LocalArtifactRequest(request.getArtifact(), request.getRepositories(),
+				request.getRequestContext());
+		return session.getLocalRepositoryManager().find(session, local).isAvailable();
+	}
+
+	private Callable<ArtifactResult> attempt(RepositorySystemSession session,
+			ArtifactRequest request, RemoteRepository repository, AtomicBoolean won) {
+		return () -> {
+			ArtifactRequest single = new ArtifactRequest(request.getArtifact(),
+					Collections.singletonList(repository), request.getRequestContext());
+			single.setTrace(request.getTrace());
+			File basedir = session.getLocalRepository().getBasedir();
+			Path directory = Files.createTempDirectory(Files.createDirectories(basedir.toPath().resolve(HEDGE_DIRECTORY)),
+					"attempt");
+			try {
+				DefaultRepositorySystemSession isolated = new DefaultRepositorySystemSession(session);
+				isolated.setLocalRepositoryManager(
+						this.repositorySystem.newLocalRepositoryManager(isolated, new LocalRepository(directory.toFile())));
+				ArtifactResult result = this.repositorySystem.resolveArtifact(isolated, single);
+				if (!result.isResolved()) {
+					return result;
+				}
+				if (!won.compareAndSet(false, true)) {
+					// another attempt already moved its file into place
+					this.moved(result.getArtifact().getFile(), null);
+					return new ArtifactResult(single);
+				}
+				return this.install(session, request, result);
+			} finally {
+				deleteQuietly(directory);
+			}
+		};
+	}
+
+	private ArtifactResult install(RepositorySystemSession session, ArtifactRequest request, ArtifactResult result)
+			throws IOException {
+		LocalRepositoryManager manager = session.getLocalRepositoryManager();
+		RemoteRepository repository = (RemoteRepository) result.getRepository();
+		Artifact artifact = result.getArtifact();
+		File target = new File(manager.getRepository().getBasedir(),
+				manager.getPathForRemoteArtifact(artifact, repository, request.getRequestContext()));
+		Files.createDirectories(target.getParentFile().toPath());
+		Files.move(artifact.getFile().toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		this.moved(artifact.getFile(), target);
+		artifact = artifact.setFile(target);
+		manager.add(session, new LocalArtifactRegistration(artifact, repository,
+				Collections.singleton(request.getRequestContext())));
+		ArtifactResult installed = new ArtifactResult(request);
+		installed.setArtifact(artifact);
+		installed.setRepository(repository);
+		return installed;
+	}
+
+	private void moved(File source, File target) {
+		ChecksumTransferListener listener = this.checksumListener;
+		if (listener != null) {
+			listener.moved(source, target);
+		}
+	}
+
+	private static void deleteQuietly(Path directory) {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+		} catch (IOException | UncheckedIOException e) {
+			// best effort, the directory lives below the ignored .cache directory
+		}
+	}
+
+	private void addExceptions(ArtifactResult failed, Throwable cause) {
+		if (cause instanceof ArtifactResolutionException) {
+			for (ArtifactResult result : ((ArtifactResolutionException) cause).getResults()) {
+				for (Exception exception : result.getExceptions()) {
+					failed.addException(exception);
+				}
+			}
+		} else if (cause instanceof Exception) {
+			failed.addException((Exception) cause);
+		} else {
+			failed.addException(new IllegalStateException(cause));
+		}
+	}
+
+	protected long hedgeDelay() {
+		long observed = this.percentileDelay;
+		return observed >= 0 ? observed : this.delay;
+	}
+
+	protected synchronized void record(long latency) {
+		if (this.percentile <= 0) {
+			return;
+		}
+		this.latencies[(int) (this.sampleCount % SAMPLES)] = latency;
+		this.sampleCount++;
+		// recompute the percentile every few samples rather than on every call
+		if (this.sampleCount >= MIN_SAMPLES && this.sampleCount % 16 == 0) {
+			long[] sorted = Arrays.copyOf(this.latencies, (int) Math.min(this.sampleCount, SAMPLES));
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(this.percentile / 100d * sorted.length) - 1;
+			this.percentileDelay = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+		}
+	}
+
+}
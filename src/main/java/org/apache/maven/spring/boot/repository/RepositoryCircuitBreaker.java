@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.MetadataNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.util.Assert;
+
+/**
+ * Circuit breaker per remote repository. It listens to the downloads of the
+ * repository system session: after the configured number of consecutive transport
+ * failures the circuit of a repository opens and the repository is left out of
+ * the requests. Once the open duration elapsed the circuit becomes half-open and
+ * a single request may probe the repository again; a successful download closes
+ * the circuit, a failure opens it again. A missing artifact or metadata is an
+ * answer of the repository and counts as success.
+ * <p>
+ * Every state change is published as a {@link RepositoryCircuitBreakerEvent} when
+ * an {@link ApplicationEventPublisher} is set.
+ * </p>
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RepositoryCircuitBreaker extends AbstractRepositoryListener {
+
+	private static final Logger log = LoggerFactory.getLogger(RepositoryCircuitBreaker.class);
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openDuration;
+	private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+	private final LongAdder opened = new LongAdder();
+	private final LongAdder skipped = new LongAdder();
+	private volatile ApplicationEventPublisher eventPublisher;
+
+	/**
+	 * @param failureThreshold the number of consecutive transport failures that
+	 *                         open the circuit
+	 * @param openDuration     the time in milliseconds a circuit stays open before
+	 *                         a probe is allowed
+	 */
+	public RepositoryCircuitBreaker(int failureThreshold, long openDuration) {
+		Assert.isTrue(failureThreshold > 0, "failureThreshold must be greater than 0");
+		this.failureThreshold = failureThreshold;
+		this.openDuration = openDuration;
+	}
+
+	/**
+	 * @param repositories the configured repositories
+	 * @return the repositories whose circuit is closed or which may be probed, all
+	 *         repositories if every circuit is open since leaving out all of them
+	 *         cannot do better
+	 */
+	public List<RemoteRepository> filter(List<RemoteRepository> repositories) {
+		if (circuits.isEmpty()) {
+			return repositories;
+		}
+		List<RemoteRepository> available = new ArrayList<>(repositories.size());
+		for (RemoteRepository repository : repositories) {
+			Circuit circuit = circuits.get(repository.getId());
+			if (circuit == null || circuit.allow()) {
+				available.add(repository);
+			} else {
+				skipped.increment();
+			}
+		}
+		return available.isEmpty() ? repositories : available;
+	}
+
+	/**
+	 * @return {@code true} if any repository is currently left out, so that an
+	 *         artifact that was not found might still exist
+	 */
+	public boolean isAnyOpen() {
+		for (Circuit circuit : circuits.values()) {
+			if (circuit.getState() != State.CLOSED) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public State getState(String repositoryId) {
+		Circuit circuit = circuits.get(repositoryId);
+		return circuit != null ? circuit.getState() : State.CLOSED;
+	}
+
+	public Map<String, State> getStates() {
+		Map<String, State> states = new HashMap<>();
+		for (Map.Entry<String, Circuit> entry : circuits.entrySet()) {
+			states.put(entry.getKey(), entry.getValue().getState());
+		}
+		return states;
+	}
+
+	/**
+	 * @return the number of times a circuit was opened
+	 */
+	public long getOpenedCount() {
+		return opened.sum();
+	}
+
+	/**
+	 * @return the number of times a repository was left out of a request
+	 */
+	public long getSkippedCount() {
+		return skipped.sum();
+	}
+
+	public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Override
+	public void artifactDownloaded(RepositoryEvent event) {
+		this.record(event.getRepository(), event.getException(), event.getException() instanceof ArtifactNotFoundException);
+	}
+
+	@Override
+	public void metadataDownloaded(RepositoryEvent event) {
+		this.record(event.getRepository(), event.getException(), event.getException() instanceof MetadataNotFoundException);
+	}
+
+	protected void record(ArtifactRepository repository, Exception exception, boolean notFound) {
+		if (!(repository instanceof RemoteRepository)) {
+			return;
+		}
+		Circuit circuit = circuits.computeIfAbsent(repository.getId(), Circuit::new);
+		if (exception == null || notFound) {
+			circuit.success();
+		} else {
+			circuit.failure();
+		}
+	}
+
+	protected void transition(String repositoryId, State from, State to) {
+		if (to == State.OPEN) {
+			opened.increment();
+			log.warn("Circuit of remote repository " + repositoryId + " opened, it is skipped for " + openDuration + " ms");
+		} else if (log.isInfoEnabled()) {
+			log.info("Circuit of remote repository " + repositoryId + " changed from " + from + " to " + to);
+		}
+		ApplicationEventPublisher publisher = this.eventPublisher;
+		if (publisher != null) {
+			publisher.publishEvent(new RepositoryCircuitBreakerEvent(this, repositoryId, from, to));
+		}
+	}
+
+	private class Circuit {
+
+		private final String repositoryId;
+		private State state = State.CLOSED;
+		private int failures;
+		private long openedAt;
+		private long probeAt;
+
+		Circuit(String repositoryId) {
+			this.repositoryId = repositoryId;
+		}
+
+		synchronized State getState() {
+			return state;
+		}
+
+		boolean allow() {
+			State from;
+			synchronized (this) {
+				long now = System.currentTimeMillis();
+				if (state == State.CLOSED) {
+					return true;
+				}
+				if (state == State.HALF_OPEN) {
+					// a probe whose request never reached the repository must not block others
+					if (now - probeAt < openDuration) {
+						return false;
+					}
+					probeAt = now;
+					return true;
+				}
+				if (now - openedAt < openDuration) {
+					return false;
+				}
+				from = state;
+				state = State.HALF_OPEN;
+				probeAt = now;
+			}
+			transition(repositoryId, from, State.HALF_OPEN);
+			return true;
+		}
+
+		void success() {
+			State from;
+			synchronized (this) {
+				failures = 0;
+				if (state == State.CLOSED) {
+					return;
+				}
+				from = state;
+				state = State.CLOSED;
+			}
+			transition(repositoryId, from, State.CLOSED);
+		}
+
+		void failure() {
+			State from;
+			synchronized (this) {
+				failures++;
+				if (state == State.OPEN || (state == State.CLOSED && failures < failureThreshold)) {
+					return;
+				}
+				from = state;
+				state = State.OPEN;
+				openedAt = System.currentTimeMillis();
+			}
+			transition(repositoryId, from, State.OPEN);
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.repository;
+
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreaker.State;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when the circuit of a remote repository changes its state.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+@SuppressWarnings("serial")
+public class RepositoryCircuitBreakerEvent extends ApplicationEvent {
+
+	private final String repositoryId;
+	private final State from;
+	private final State to;
+
+	public RepositoryCircuitBreakerEvent(RepositoryCircuitBreaker source, String repositoryId, State from, State to) {
+		super(source);
+		this.repositoryId = repositoryId;
+		this.from = from;
+		this.to = to;
+	}
+
+	public String getRepositoryId() {
+		return repositoryId;
+	}
+
+	public State getFrom() {
+		return from;
+	}
+
+	public State getTo() {
+		return to;
+	}
+
+}
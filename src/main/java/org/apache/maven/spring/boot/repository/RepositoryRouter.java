@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.springframework.util.Assert;
+
+/**
+ * Orders the remote repositories of a request by how likely and how fast they are
+ * to answer. For every repository the success rate and the latency of the
+ * resolutions it served are tracked as exponentially weighted moving averages;
+ * the expected cost of asking a repository is its latency divided by its success
+ * rate. The repository that served a groupId (or one of its parent prefixes)
+ * before is always asked first.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RepositoryRouter {
+
+	private static final int MAX_GROUPS = 10000;
+	private static final double MIN_SUCCESS_RATE = 0.05d;
+	private final double decay;
+	private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, String> groups = new ConcurrentHashMap<>();
+
+	/**
+	 * @param decay the weight of a new sample in the moving averages, in (0,1]
+	 */
+	public RepositoryRouter(double decay) {
+		Assert.isTrue(decay > 0 && decay <= 1, "decay must be in (0,1]");
+		this.decay = decay;
+	}
+
+	/**
+	 * @param artifact     the requested artifact
+	 * @param repositories the configured repositories
+	 * @return a new list with the repositories in the order they should be asked
+	 */
+	public List<RemoteRepository> route(Artifact artifact, List<RemoteRepository> repositories) {
+		if (repositories.size() < 2) {
+			return repositories;
+		}
+		final String preferred = this.preferred(artifact.getGroupId());
+		final Map<String, Double> costs = new HashMap<>(repositories.size());
+		for (RemoteRepository repository : repositories) {
+			Statistics stats = statistics.get(repository.getId());
+			// repositories without samples come first so that they get explored
+			costs.put(repository.getId(), stats != null ? stats.cost() : 0d);
+		}
+		List<RemoteRepository> routed = new ArrayList<>(repositories);
+		// the sort is stable, equal costs keep the configured order
+		Collections.sort(routed, Comparator.<RemoteRepository, Boolean>comparing(
+				repository -> !repository.getId().equals(preferred))
+				.thenComparing(repository -> costs.get(repository.getId())));
+		return routed;
+	}
+
+	/**
+	 * Record the outcome of a resolution: the serving repository is credited with
+	 * the latency, every repository that reported a transfer error or a missing
+	 * artifact is debited.
+	 *
+	 * @param result  the result of the resolution
+	 * @param latency the duration of the resolution in milliseconds
+	 */
+	public void record(ArtifactResult result, long latency) {
+		for (Exception exception : result.getExceptions()) {
+			if (exception instanceof ArtifactTransferException) {
+				RemoteRepository repository = ((ArtifactTransferException) exception).getRepository();
+				if (repository != null) {
+					this.stats(repository).failure(decay);
+				}
+			}
+		}
+		ArtifactRepository repository = result.getRepository();
+		if (result.isResolved() && repository instanceof RemoteRepository) {
+			this.stats((RemoteRepository) repository).success(decay, latency);
+			if (groups.size() >= MAX_GROUPS) {
+				groups.clear();
+			}
+			groups.put(result.getArtifact().getGroupId(), repository.getId());
+		}
+	}
+
+	/**
+	 * @return the expected cost in milliseconds of each repository with samples
+	 */
+	public Map<String, Double> getCosts() {
+		Map<String, Double> costs = new HashMap<>();
+		for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+			costs.put(entry.getKey(), entry.getValue().cost());
+		}
+		return costs;
+	}
+
+	public void reset() {
+		statistics.clear();
+		groups.clear();
+	}
+
+	/*
+	 * Look up the groupId and its parent prefixes, e.g. org.springframework.boot
+	 * then org.springframework then org.
+	 */
+	private String preferred(String groupId) {
+		String prefix = groupId;
+		while (prefix != null) {
+			String repositoryId = groups.get(prefix);
+			if (repositoryId != null) {
+				return repositoryId;
+			}
+			int index = prefix.lastIndexOf('.');
+			prefix = index > 0 ? prefix.substring(0, index) : null;
+		}
+		return null;
+	}
+
+	private Statistics stats(RemoteRepository repository) {
+		return statistics.computeIfAbsent(repository.getId(), id -> new Statistics());
+	}
+
+	private static class Statistics {
+
+		private double successRate = 1d;
+		private double latency;
+		private boolean sampled;
+
+		synchronized void success(double decay, long sample) {
+			successRate = successRate + decay * (1d - successRate);
+			latency = sampled ? latency + decay * (sample - latency) : sample;
+			sampled = true;
+		}
+
+		synchronized void failure(double decay) {
+			successRate = successRate - decay * successRate;
+		}
+
+		synchronized double cost() {
+			// one millisecond floor keeps the success rate relevant for local hits
+			return Math.max(latency, 1d) / Math.max(successRate, MIN_SUCCESS_RATE);
+		}
+
+	}
+
+}
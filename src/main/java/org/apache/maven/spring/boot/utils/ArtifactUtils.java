@@ -15,6 +15,9 @@
  */
 package org.apache.maven.spring.boot.utils;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.eclipse.aether.artifact.Artifact;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -28,6 +31,9 @@ import org.springframework.core.io.FileSystemResource;
 
 public class ArtifactUtils {
 
+	private static final String SNAPSHOT = "SNAPSHOT";
+	private static final Pattern TIMESTAMP = Pattern.compile("\\d{8}\\.\\d{6}-\\d+");
+
 	public static FileSystemResource toResource(ArtifactResult resolvedArtifact) {
 		return new FileSystemResource(resolvedArtifact.getArtifact().getFile());
 	}
@@ -63,6 +69,65 @@ public class ArtifactUtils {
 				extension,
 				resource.getVersion());
 	}
+
+	/*
+	 * SNAPSHOT, LATEST/RELEASE and range versions may resolve to different files over time.
+	 */
+	public static boolean isVolatile(Artifact artifact) {
+		String version = artifact.getVersion();
+		return artifact.isSnapshot() || "LATEST".equals(version) || "RELEASE".equals(version)
+				|| version.startsWith("[") || version.startsWith("(");
+	}
+
+	/*
+	 * The artifact stored at the given path of a local repository with the default
+	 * layout, e.g. org/example/demo/1.0/demo-1.0-tests.jar, or null if the path does
+	 * not follow the layout. Timestamped SNAPSHOT files keep their timestamp version.
+	 */
+	public static Artifact fromPath(String path) {
+		String[] segments = path.replace('\\', '/').split("/");
+		if (segments.length < 4) {
+			return null;
+		}
+		String fileName = segments[segments.length - 1];
+		String baseVersion = segments[segments.length - 2];
+		String artifactId = segments[segments.length - 3];
+		if (!fileName.startsWith(artifactId + "-")) {
+			return null;
+		}
+		String rest = fileName.substring(artifactId.length() + 1);
+		String version;
+		if (rest.startsWith(baseVersion)) {
+			version = baseVersion;
+		} else if (baseVersion.endsWith(SNAPSHOT)) {
+			String prefix = baseVersion.substring(0, baseVersion.length() - SNAPSHOT.length());
+			Matcher matcher = TIMESTAMP.matcher(rest);
+			if (!rest.startsWith(prefix) || !matcher.region(prefix.length(), rest.length()).lookingAt()) {
+				return null;
+			}
+			version = prefix + matcher.group();
+		} else {
+			return null;
+		}
+		rest = rest.substring(version.length());
+		String classifier = "";
+		if (rest.startsWith("-")) {
+			int dot = rest.indexOf('.');
+			if (dot < 0) {
+				return null;
+			}
+			classifier = rest.substring(1, dot);
+			rest = rest.substring(dot);
+		}
+		if (!rest.startsWith(".") || rest.length() < 2) {
+			return null;
+		}
+		StringBuilder groupId = new StringBuilder();
+		for (int i = 0; i < segments.length - 3; i++) {
+			groupId.append(i > 0 ? "." : "").append(segments[i]);
+		}
+		return new DefaultArtifact(groupId.toString(), artifactId, classifier, rest.substring(1), version);
+	}
      
 	
 }
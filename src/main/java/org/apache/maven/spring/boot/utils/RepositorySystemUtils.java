@@ -15,7 +15,11 @@
  */
 package org.apache.maven.spring.boot.utils;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
 import org.eclipse.aether.ConfigurationProperties;
@@ -31,11 +35,18 @@ import org.eclipse.aether.repository.AuthenticationContext;
 import org.eclipse.aether.repository.AuthenticationDigest;
 import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.Proxy;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionResult;
 import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
 import org.eclipse.aether.spi.connector.transport.TransporterFactory;
 import org.eclipse.aether.transport.file.FileTransporterFactory;
 import org.eclipse.aether.transport.http.HttpTransporterFactory;
 import org.eclipse.aether.util.repository.DefaultProxySelector;
+import org.eclipse.aether.version.Version;
 import org.springframework.cloud.deployer.resource.maven.MavenProperties;
 import org.springframework.cloud.deployer.resource.maven.MavenResource;
 
@@ -136,8 +147,16 @@ public class RepositorySystemUtils {
 	 * Using the prepopulated {@link DefaultServiceLocator}, we need to register the repository connector
 	 * and transporter factories
 	 */
-	@SuppressWarnings("unchecked")
 	public static RepositorySystem newRepositorySystem() {
+		return newServiceLocator().getService(RepositorySystem.class);
+	}
+
+	/*
+	 * The locator of the repository system, which also gives access to lower level
+	 * components such as the repository connectors.
+	 */
+	@SuppressWarnings("unchecked")
+	public static DefaultServiceLocator newServiceLocator() {
 		
 		DefaultServiceLocator locator = MavenRepositorySystemUtils.newServiceLocator();
 		locator.addService(RepositoryConnectorFactory.class, BasicRepositoryConnectorFactory.class);
@@ -156,9 +175,146 @@ public class RepositorySystemUtils {
 				throw new RuntimeException(exception);
 			}
 		});
-		return locator.getService(RepositorySystem.class);
+		return locator;
 	}
 	
+	/**
+	 * Build a key identifying a list of remote repositories, in order.
+	 *
+	 * @param repositories the remote repositories
+	 * @return the ids and urls of the repositories
+	 */
+	public static String repositoriesKey(List<RemoteRepository> repositories) {
+		StringBuilder key = new StringBuilder();
+		for (RemoteRepository repository : repositories) {
+			key.append(repository.getId()).append('=').append(repository.getUrl()).append(';');
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Map the URLs of remote repositories to their ids, e.g. to tell the
+	 * repository of a {@link org.eclipse.aether.transfer.TransferResource}.
+	 *
+	 * @param repositories the remote repositories
+	 * @return the id of each repository keyed by its URL without trailing slash
+	 */
+	public static Map<String, String> repositoryIds(List<RemoteRepository> repositories) {
+		Map<String, String> ids = new HashMap<>();
+		for (RemoteRepository repository : repositories) {
+			ids.put(normalizeUrl(repository.getUrl()), repository.getId());
+		}
+		return ids;
+	}
+
+	public static String normalizeUrl(String url) {
+		return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+	}
+
+	/**
+	 * The time after which remote metadata is checked again: the update policy of
+	 * the session when it is set, since it overrides the policies of the
+	 * repositories in Aether, else the shortest update policy of the enabled
+	 * release and snapshot policies of the repositories.
+	 *
+	 * @param updatePolicy the update policy of the session, may be {@code null}
+	 * @param repositories the remote repositories
+	 * @return the interval in milliseconds, {@link Long#MAX_VALUE} for never
+	 */
+	public static long updateInterval(String updatePolicy, List<RemoteRepository> repositories) {
+		if (updatePolicy != null && !updatePolicy.isEmpty()) {
+			return updateInterval(updatePolicy);
+		}
+		long interval = Long.MAX_VALUE;
+		for (RemoteRepository repository : repositories) {
+			for (RepositoryPolicy policy : new RepositoryPolicy[] { repository.getPolicy(false),
+					repository.getPolicy(true) }) {
+				if (policy.isEnabled()) {
+					interval = Math.min(interval, updateInterval(policy.getUpdatePolicy()));
+				}
+			}
+		}
+		return interval;
+	}
+
+	/**
+	 * @param updatePolicy an update policy, {@code daily} is taken as 24 hours,
+	 *                     {@code always} as zero
+	 * @return the interval in milliseconds, {@link Long#MAX_VALUE} for never
+	 */
+	public static long updateInterval(String updatePolicy) {
+		if (RepositoryPolicy.UPDATE_POLICY_NEVER.equals(updatePolicy)) {
+			return Long.MAX_VALUE;
+		}
+		if (RepositoryPolicy.UPDATE_POLICY_ALWAYS.equals(updatePolicy)) {
+			return 0;
+		}
+		if (updatePolicy != null && updatePolicy.startsWith(RepositoryPolicy.UPDATE_POLICY_INTERVAL)) {
+			try {
+				return TimeUnit.MINUTES.toMillis(Long.parseLong(
+						updatePolicy.substring(RepositoryPolicy.UPDATE_POLICY_INTERVAL.length() + 1)));
+			} catch (RuntimeException e) {
+				// malformed interval, fall back to daily like Aether does
+			}
+		}
+		return TimeUnit.DAYS.toMillis(1);
+	}
+
+	/**
+	 * Copy a result, so that changes of the copy are not seen by the holders of
+	 * the original, e.g. a cache or the other callers of a coalesced request.
+	 *
+	 * @param result the result to copy
+	 * @return a copy holding the same artifact, repository and exceptions
+	 */
+	public static ArtifactResult copyArtifactResult(ArtifactResult result) {
+		ArtifactResult copy = new ArtifactResult(result.getRequest()).setArtifact(result.getArtifact())
+				.setRepository(result.getRepository());
+		for (Exception exception : result.getExceptions()) {
+			copy.addException(exception);
+		}
+		return copy;
+	}
+
+	public static List<ArtifactResult> copyArtifactResults(List<ArtifactResult> results) {
+		List<ArtifactResult> copy = new ArrayList<>(results.size());
+		for (ArtifactResult result : results) {
+			copy.add(copyArtifactResult(result));
+		}
+		return copy;
+	}
+
+	public static DependencyResult copyDependencyResult(DependencyResult result) {
+		DependencyResult copy = new DependencyResult(result.getRequest());
+		copy.setRoot(result.getRoot());
+		copy.setCycles(new ArrayList<>(result.getCycles()));
+		copy.setCollectExceptions(new ArrayList<>(result.getCollectExceptions()));
+		copy.setArtifactResults(copyArtifactResults(result.getArtifactResults()));
+		return copy;
+	}
+
+	public static VersionResult copyVersionResult(VersionResult result) {
+		VersionResult copy = new VersionResult(result.getRequest()).setVersion(result.getVersion())
+				.setRepository(result.getRepository());
+		for (Exception exception : result.getExceptions()) {
+			copy.addException(exception);
+		}
+		return copy;
+	}
+
+	public static VersionRangeResult copyVersionRangeResult(VersionRangeResult result) {
+		VersionRangeResult copy = new VersionRangeResult(result.getRequest())
+				.setVersionConstraint(result.getVersionConstraint());
+		for (Version version : result.getVersions()) {
+			copy.addVersion(version);
+			copy.setRepository(version, result.getRepository(version));
+		}
+		for (Exception exception : result.getExceptions()) {
+			copy.addException(exception);
+		}
+		return copy;
+	}
+
 	public static Dependency createDependencyRoot(MavenResource resource) {
         Artifact artifact = null;
         if (resource.getClassifier() == null) {
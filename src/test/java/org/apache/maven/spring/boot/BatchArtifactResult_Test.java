@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.maven.spring.boot.ext.BatchArtifactResult;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+
+/**
+ * The de-duplication and partial failures of a {@link BatchArtifactResult}.
+ */
+public class BatchArtifactResult_Test {
+
+	private MavenClientTemplate template(File localRepository) {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(localRepository.getAbsolutePath());
+		properties.setOffline(true);
+		return new MavenClientTemplate(properties);
+	}
+
+	@Test
+	public void testBatch() throws Exception {
+
+		File localRepository = Files.createTempDirectory("batch").toFile();
+		MavenClientTemplate clientTemplate = this.template(localRepository);
+		File jar = File.createTempFile("batch", ".jar");
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		clientTemplate.install(jar, "org.example:batch:1.0");
+
+		MavenClientProperties properties = new MavenClientProperties();
+		BatchArtifactResult result = clientTemplate.artifacts(Arrays.asList(
+				MavenResource.parse("org.example:batch:1.0", properties),
+				MavenResource.parse("org.example:batch:1.0", properties),
+				MavenResource.parse("org.example:missing:1.0", properties)));
+		assertFalse(result.isSuccessful());
+		assertEquals(1, result.getResults().size());
+		assertTrue(result.getResults().get("org.example:batch:jar:1.0").isResolved());
+		assertEquals(1, result.getFailures().size());
+		Exception failure = result.getFailures().get("org.example:missing:jar:1.0");
+		assertTrue(failure instanceof ArtifactResolutionException);
+		assertEquals("org.example:missing:jar:1.0", ((ArtifactResolutionException) failure).getResults().get(0)
+				.getRequest().getArtifact().toString());
+
+		// served by the artifact cache this time
+		long hits = clientTemplate.getArtifactCache().getHitCount();
+		result = clientTemplate.artifactsByCoordinates(Arrays.asList("org.example:batch:1.0", "not-a-coordinate"));
+		assertEquals(1, result.getResults().size());
+		assertTrue(result.getFailures().containsKey("not-a-coordinate"));
+		assertEquals(hits + 1, clientTemplate.getArtifactCache().getHitCount());
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.apache.maven.spring.boot.deploy.BulkDeployResult;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Test;
+
+/**
+ * Deploy the jars and poms of a generated repository to an
+ * {@link EmbeddedRepositoryServer} failing one request out of ten: every upload
+ * must eventually succeed and the maven-metadata.xml of each artifact must list
+ * all of its versions. Deploy them again skipping the unchanged ones.
+ */
+public class BulkDeploy_Test {
+
+	private static int artifacts = 20;
+	private static int versions = 3;
+
+	private List<Artifact> artifacts(RepositoryFixture fixture) {
+		List<Artifact> deployed = new ArrayList<>();
+		for (int i = 0; i < artifacts; i++) {
+			for (int v = 0; v < versions; v++) {
+				String version = fixture.version(v);
+				File directory = new File(fixture.getBasedir(), RepositoryFixture.GROUP_ID.replace('.', '/') + "/"
+						+ fixture.artifactId(i) + "/" + version);
+				String name = fixture.artifactId(i) + "-" + version;
+				deployed.add(new DefaultArtifact(RepositoryFixture.GROUP_ID, fixture.artifactId(i), "jar", version)
+						.setFile(new File(directory, name + ".jar")));
+				deployed.add(new DefaultArtifact(RepositoryFixture.GROUP_ID, fixture.artifactId(i), "pom", version)
+						.setFile(new File(directory, name + ".pom")));
+			}
+		}
+		return deployed;
+	}
+
+	@Test
+	public void testDeployAll() throws Exception {
+
+		RepositoryFixture fixture = new RepositoryFixture(Files.createTempDirectory("bulk-source").toFile(),
+				artifacts, versions, 0, 16 * 1024).generate();
+		File remote = Files.createTempDirectory("bulk-remote").toFile();
+		List<Artifact> deployed = this.artifacts(fixture);
+
+		try (EmbeddedRepositoryServer server = new EmbeddedRepositoryServer(remote)) {
+			server.setErrorRate(0.1);
+			MavenClientProperties properties = fixture
+					.properties(Files.createTempDirectory("bulk-local").toFile(), server.getUrl());
+			properties.getDeploy().setConcurrency(8);
+			properties.getDeploy().setMaxAttempts(10);
+			properties.getDeploy().setBackoff(Duration.ofMillis(10));
+			MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+			BulkDeployResult result = clientTemplate.deployAll(RepositoryFixture.REPOSITORY_ID, deployed);
+			assertTrue(result.getFailures().toString(), result.isSuccessful());
+			// the injected errors were retried
+			assertTrue(server.getErrorCount() > 0);
+			assertEquals(deployed.size(), result.getOutcomes().size());
+			for (Artifact artifact : deployed) {
+				File file = new File(remote, RepositoryFixture.GROUP_ID.replace('.', '/') + "/"
+						+ artifact.getArtifactId() + "/" + artifact.getVersion() + "/" + artifact.getFile().getName());
+				assertTrue(file + " was not deployed", file.isFile());
+			}
+			for (int i = 0; i < artifacts; i++) {
+				File file = new File(remote, RepositoryFixture.GROUP_ID.replace('.', '/') + "/"
+						+ fixture.artifactId(i) + "/maven-metadata.xml");
+				try (InputStream input = new FileInputStream(file)) {
+					Metadata metadata = new MetadataXpp3Reader().read(input, false);
+					assertEquals(versions, metadata.getVersioning().getVersions().size());
+					assertEquals(fixture.version(versions - 1), metadata.getVersioning().getRelease());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSkipUnchanged() throws Exception {
+
+		RepositoryFixture fixture = new RepositoryFixture(Files.createTempDirectory("bulk-source").toFile(),
+				artifacts, versions, 0, 16 * 1024).generate();
+		List<Artifact> deployed = this.artifacts(fixture);
+
+		try (EmbeddedRepositoryServer server = new EmbeddedRepositoryServer(
+				Files.createTempDirectory("bulk-remote").toFile())) {
+			MavenClientProperties properties = fixture
+					.properties(Files.createTempDirectory("bulk-local").toFile(), server.getUrl());
+			properties.getDeploy().setSkipUnchanged(true);
+			MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+			BulkDeployResult first = clientTemplate.deployAll(RepositoryFixture.REPOSITORY_ID, deployed);
+			assertEquals(0, first.getSkippedBytes());
+
+			// one jar changed since
+			File changed = deployed.get(0).getFile();
+			Files.write(changed.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+			long uploads = server.getUploadCount();
+			BulkDeployResult second = clientTemplate.deployAll(RepositoryFixture.REPOSITORY_ID, deployed);
+			assertTrue(second.isSuccessful());
+			assertTrue(server.getUploadCount() > uploads);
+			assertEquals(BulkDeployResult.Status.DEPLOYED, second.getOutcomes().get(0).getStatus());
+			assertEquals(changed.length(), second.getUploadedBytes());
+			for (BulkDeployResult.Outcome outcome : second.getOutcomes().subList(1, deployed.size())) {
+				assertEquals(outcome.toString(), BulkDeployResult.Status.SKIPPED, outcome.getStatus());
+			}
+			assertEquals(first.getUploadedBytes() - first.getOutcomes().get(0).getBytes(), second.getSkippedBytes());
+		}
+	}
+
+	@Test
+	public void testSkipUnchangedWithoutSha256() throws Exception {
+
+		RepositoryFixture fixture = new RepositoryFixture(Files.createTempDirectory("bulk-source").toFile(),
+				artifacts, versions, 0, 16 * 1024).generate();
+		List<Artifact> deployed = this.artifacts(fixture);
+
+		try (EmbeddedRepositoryServer server = new EmbeddedRepositoryServer(
+				Files.createTempDirectory("bulk-remote").toFile())) {
+			MavenClientProperties properties = fixture
+					.properties(Files.createTempDirectory("bulk-local").toFile(), server.getUrl());
+			properties.getDeploy().setSkipUnchanged(true);
+			// deployed with the .sha1 sidecars only
+			BulkDeployResult first = new MavenClientTemplate(properties)
+					.deployAll(RepositoryFixture.REPOSITORY_ID, deployed);
+			assertTrue(first.isSuccessful());
+
+			properties.getChecksums().setEnabled(true);
+			BulkDeployResult second = new MavenClientTemplate(properties)
+					.deployAll(RepositoryFixture.REPOSITORY_ID, deployed);
+			for (BulkDeployResult.Outcome outcome : second.getOutcomes()) {
+				assertEquals(outcome.toString(), BulkDeployResult.Status.SKIPPED, outcome.getStatus());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.checksum.ChecksumTransferListener;
+import org.apache.maven.spring.boot.ext.BatchArtifactResult;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferResource;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+/**
+ * The single pass over an artifact against one pass per algorithm, and the
+ * verification of downloads against SHA-256 sidecar files.
+ */
+public class ChecksumCalculator_Test {
+
+	private static List<String> algorithms = Arrays.asList("SHA-1", "SHA-256", "SHA-512");
+
+	@Test
+	public void testSinglePass() throws Exception {
+
+		File file = File.createTempFile("checksum", ".jar");
+		file.deleteOnExit();
+		Files.write(file.toPath(), new byte[64 * 1024 + 1]);
+
+		Map<String, String> single = ChecksumCalculator.calculate(file, algorithms);
+		for (String algorithm : algorithms) {
+			Map<String, String> separate = ChecksumCalculator.calculate(file, Collections.singletonList(algorithm));
+			assertEquals(single.get(algorithm), separate.get(algorithm));
+		}
+	}
+
+	@Test
+	public void testDigest() throws Exception {
+		ChecksumCalculator calculator = new ChecksumCalculator(Arrays.asList("SHA-256"));
+		byte[] data = "abc".getBytes(StandardCharsets.US_ASCII);
+		calculator.update(data, 0, data.length);
+		assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+				calculator.digest().get("SHA-256"));
+	}
+
+	private void download(ChecksumTransferListener listener, DefaultRepositorySystemSession session, File file) {
+		TransferResource resource = new TransferResource("file:/remote/", file.getName(), file, null);
+		TransferEvent.Builder builder = new TransferEvent.Builder(session, resource)
+				.setRequestType(TransferEvent.RequestType.GET);
+		listener.transferStarted(builder.copy().setType(TransferEvent.EventType.STARTED).build());
+		listener.transferSucceeded(builder.copy().setType(TransferEvent.EventType.SUCCEEDED).build());
+	}
+
+	@Test
+	public void testCompletedEviction() throws Exception {
+
+		ChecksumTransferListener listener = new ChecksumTransferListener(Arrays.asList("SHA-256"));
+		DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+		File directory = new File(System.getProperty("java.io.tmpdir"));
+		for (int i = 0; i <= 10000; i++) {
+			download(listener, session, new File(directory, "download-" + i + ".jar"));
+		}
+		// only the eldest digest nobody took is dropped
+		assertNull(listener.take(new File(directory, "download-0.jar")));
+		assertNotNull(listener.take(new File(directory, "download-1.jar")));
+		assertNotNull(listener.take(new File(directory, "download-10000.jar")));
+	}
+
+	private MavenClientTemplate template(File remote) throws Exception {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("checksum-local").toString());
+		properties.setChecksumPolicy("fail");
+		properties.setResolvePom(false);
+		properties.getChecksums().setEnabled(true);
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		return new MavenClientTemplate(properties);
+	}
+
+	private void publish(File remote, String artifactId, String sha256) throws Exception {
+		File jar = new File(remote, "org/example/" + artifactId + "/1.0/" + artifactId + "-1.0.jar");
+		jar.getParentFile().mkdirs();
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		Map<String, String> digests = ChecksumCalculator.calculate(jar, algorithms);
+		Files.write(new File(jar.getPath() + ".sha1").toPath(),
+				digests.get("SHA-1").getBytes(StandardCharsets.US_ASCII));
+		Files.write(new File(jar.getPath() + ".sha256").toPath(),
+				(sha256 != null ? sha256 : digests.get("SHA-256")).getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void testVerify() throws Exception {
+
+		File remote = Files.createTempDirectory("checksum-remote").toFile();
+		publish(remote, "valid", null);
+		publish(remote, "corrupted", "0000000000000000000000000000000000000000000000000000000000000000");
+		MavenClientTemplate clientTemplate = template(remote);
+
+		assertTrue(clientTemplate.artifact("org.example:valid:1.0").isResolved());
+		try {
+			clientTemplate.artifact("org.example:corrupted:1.0");
+			fail("the SHA-256 mismatch must be detected");
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("SHA-256"));
+		}
+		File local = clientTemplate.getSessionFactory().getSession().getLocalRepository().getBasedir();
+		assertFalse(new File(local, "org/example/corrupted/1.0/corrupted-1.0.jar").exists());
+		// the sidecars are compared, not resolved into the local repository
+		assertFalse(new File(local, "org/example/valid/1.0/valid-1.0.jar.sha256").exists());
+	}
+
+	@Test
+	public void testVerifyBatch() throws Exception {
+
+		File remote = Files.createTempDirectory("checksum-remote").toFile();
+		publish(remote, "valid", null);
+		publish(remote, "corrupted", "0000000000000000000000000000000000000000000000000000000000000000");
+		MavenClientTemplate clientTemplate = template(remote);
+
+		BatchArtifactResult result = clientTemplate
+				.artifactsByCoordinates(Arrays.asList("org.example:valid:1.0", "org.example:corrupted:1.0"));
+		assertTrue(result.getResults().containsKey("org.example:valid:jar:1.0"));
+		assertTrue(result.getFailures().get("org.example:corrupted:jar:1.0") instanceof IllegalStateException);
+	}
+
+	@Test
+	public void testPublish() throws Exception {
+
+		File remote = Files.createTempDirectory("checksum-remote").toFile();
+		MavenClientTemplate clientTemplate = template(remote);
+		File jar = File.createTempFile("published", ".jar");
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		String sha256 = ChecksumCalculator.calculate(jar, algorithms).get("SHA-256");
+
+		clientTemplate.install(new DefaultArtifact("org.example:published:1.0").setFile(jar));
+		File local = clientTemplate.getSessionFactory().getSession().getLocalRepository().getBasedir();
+		File installed = new File(local, "org/example/published/1.0/published-1.0.jar");
+		assertEquals(sha256, ChecksumCalculator.read(new File(installed.getPath() + ".sha256")));
+
+		clientTemplate.deploy(jar, "org.example:published:1.0", "fixture");
+		File deployed = new File(remote, "org/example/published/1.0/published-1.0.jar");
+		assertEquals(sha256, ChecksumCalculator.read(new File(deployed.getPath() + ".sha256")));
+		assertTrue(new File(deployed.getPath() + ".sha512").isFile());
+		// checksum files of their artifact, not artifacts with checksums of their own
+		assertFalse(new File(deployed.getPath() + ".sha256.sha1").exists());
+		assertFalse(new File(deployed.getPath() + ".sha256.md5").exists());
+	}
+
+}
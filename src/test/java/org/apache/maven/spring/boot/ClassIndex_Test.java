@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.spring.boot.index.ClassIndex;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Test;
+
+public class ClassIndex_Test {
+
+	private static int jars = 10;
+	private static int classes = 100;
+
+	private Artifact jar(File directory, int i) throws Exception {
+		File file = new File(directory, "lib-" + i + "-1.0.jar");
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+			for (int c = 0; c < classes; c++) {
+				output.putNextEntry(new ZipEntry("org/example/lib" + i + "/Class" + c + ".class"));
+				output.closeEntry();
+			}
+			// every jar also contributes to one shared package
+			output.putNextEntry(new ZipEntry("org/example/shared/Lib" + i + ".class"));
+			output.closeEntry();
+		}
+		return new DefaultArtifact("org.example:lib-" + i + ":1.0").setFile(file);
+	}
+
+	@Test
+	public void testIndex() throws Exception {
+
+		File directory = Files.createTempDirectory("class-index").toFile();
+		List<Artifact> artifacts = new ArrayList<>();
+		for (int i = 0; i < jars; i++) {
+			artifacts.add(jar(directory, i));
+		}
+		File indexFile = new File(directory, ".cache/class-index.bin");
+
+		ClassIndex index = new ClassIndex(indexFile, 4);
+		index.index(artifacts);
+
+		assertEquals(Collections.singleton("org.example:lib-7:jar:1.0"), index.findArtifacts("org.example.lib7.Class42"));
+		assertEquals(jars, index.findPackage("org.example.shared").size());
+		assertEquals(1, index.splitPackages().size());
+
+		// reloaded from the file, nothing is read again
+		ClassIndex reloaded = new ClassIndex(indexFile, 4);
+		assertEquals(jars, reloaded.size());
+		assertEquals(Collections.singleton("org.example:lib-7:jar:1.0"), reloaded.findArtifacts("org.example.lib7.Class42"));
+		index.shutdown();
+		reloaded.shutdown();
+	}
+
+	@Test
+	public void testIndexAsync() throws Exception {
+
+		File directory = Files.createTempDirectory("class-index").toFile();
+		List<Artifact> artifacts = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			artifacts.add(jar(directory, i));
+		}
+		File indexFile = new File(directory, ".cache/class-index.bin");
+		ClassIndex index = new ClassIndex(indexFile, 4);
+		index.indexAsync(artifacts);
+
+		// the index is written once all queued jars are read
+		long deadline = System.currentTimeMillis() + 10000;
+		int persisted = 0;
+		while (persisted < artifacts.size() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			ClassIndex reloaded = new ClassIndex(indexFile, 1);
+			persisted = reloaded.size();
+			reloaded.shutdown();
+		}
+		assertEquals(artifacts.size(), persisted);
+		index.shutdown();
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+
+		File directory = Files.createTempDirectory("class-index").toFile();
+		File release = new File(directory, "mr-1.0.jar");
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(release.toPath()))) {
+			for (String name : Arrays.asList("org/example/mr/Foo.class", "META-INF/versions/9/org/example/mr/Foo.class",
+					"META-INF/versions/11/org/example/mr/Foo.class")) {
+				output.putNextEntry(new ZipEntry(name));
+				output.closeEntry();
+			}
+		}
+		ClassIndex index = new ClassIndex(null, 2);
+		index.index(Arrays.asList(jar(directory, 0), jar(directory, 1), jar(directory, 2),
+				new DefaultArtifact("org.example:mr:1.0").setFile(release)));
+		assertEquals(Collections.singleton("org.example:mr:jar:1.0"), index.findArtifacts("org.example.mr.Foo"));
+
+		index.remove(new File(directory, "lib-1-1.0.jar").toPath());
+		assertEquals(3, index.size());
+		assertEquals(Collections.emptySet(), index.findArtifacts("org.example.lib1.Class42"));
+		assertEquals(2, index.findPackage("org.example.shared").size());
+
+		// the freed slot is reused by the next jar, lookups stay consistent
+		index.index(Collections.singletonList(jar(directory, 3)));
+		assertEquals(4, index.size());
+		assertEquals(Collections.singleton("org.example:lib-3:jar:1.0"), index.findArtifacts("org.example.lib3.Class42"));
+		assertEquals(3, index.findPackage("org.example.shared").size());
+		index.shutdown();
+	}
+
+}
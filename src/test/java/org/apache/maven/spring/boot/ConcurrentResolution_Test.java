@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.junit.Test;
+
+/**
+ * Drive {@link MavenClientTemplate} from many threads against an
+ * {@link EmbeddedRepositoryServer} with latency, limited bandwidth and, in a
+ * second run, injected errors. All threads share one local repository; every
+ * file it ends up with must be identical to the remote one.
+ */
+public class ConcurrentResolution_Test {
+
+	private static int threads = 8;
+	private static int operations = 20;
+	private static int artifacts = 20;
+
+	private interface Operation {
+
+		void run(int index) throws Exception;
+
+	}
+
+	/*
+	 * Runs the operation on random artifacts from all threads at once and
+	 * returns the number of failed operations.
+	 */
+	private long run(Operation operation) throws Exception {
+		LongAdder failures = new LongAdder();
+		CountDownLatch ready = new CountDownLatch(1);
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			workers[t] = new Thread(() -> {
+				try {
+					ready.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < operations; i++) {
+					try {
+						operation.run(ThreadLocalRandom.current().nextInt(artifacts));
+					} catch (Exception e) {
+						failures.increment();
+					}
+				}
+			});
+			workers[t].start();
+		}
+		ready.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		return failures.sum();
+	}
+
+	private int verify(RepositoryFixture fixture, File localRepository) throws Exception {
+		List<String> sha1 = Collections.singletonList("SHA-1");
+		int verified = 0;
+		for (int i = 0; i < artifacts; i++) {
+			File remote = fixture.jar(i);
+			File local = new File(localRepository, fixture.getBasedir().toPath().relativize(remote.toPath()).toString());
+			if (local.exists()) {
+				assertEquals(local + " differs from the remote jar", ChecksumCalculator.calculate(remote, sha1),
+						ChecksumCalculator.calculate(local, sha1));
+				verified++;
+			}
+		}
+		return verified;
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+
+		RepositoryFixture fixture = new RepositoryFixture(Files.createTempDirectory("load-remote").toFile(), artifacts,
+				2, 3, 64 * 1024).generate();
+		File localRepository = Files.createTempDirectory("load-local").toFile();
+		try (EmbeddedRepositoryServer server = new EmbeddedRepositoryServer(fixture.getBasedir())) {
+			server.setLatency(2);
+			server.setBandwidth(20 * 1024 * 1024);
+
+			MavenClientProperties properties = fixture.properties(localRepository, server.getUrl());
+			// every call goes to the shared local repository
+			properties.getCache().setEnabled(false);
+			MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+			assertEquals(0, run(i -> clientTemplate.artifact(fixture.coordinates(i))));
+			assertEquals(0, run(i -> clientTemplate.resource(fixture.coordinates(i))));
+			assertEquals(0, run(i -> clientTemplate.dependencies(fixture.coordinates(i))));
+			assertEquals(0, run(i -> clientTemplate.versionRange(fixture.range(i))));
+			assertTrue(verify(fixture, localRepository) > 0);
+
+			// fresh local repository, one request out of ten fails
+			File faultyRepository = Files.createTempDirectory("load-local").toFile();
+			server.setErrorRate(0.1);
+			MavenClientProperties faulty = fixture.properties(faultyRepository, server.getUrl());
+			faulty.getCache().setEnabled(false);
+			MavenClientTemplate faultyTemplate = new MavenClientTemplate(faulty);
+			assertTrue(run(i -> faultyTemplate.artifact(fixture.coordinates(i))) < threads * operations);
+			assertTrue(server.getErrorCount() > 0);
+			verify(fixture, faultyRepository);
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.spring.boot.cache.DependencyGraphCache;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.junit.Test;
+
+/**
+ * A persisted graph survives a restart until one of its members is installed or
+ * deployed; graphs resolved through ranges are never persisted.
+ */
+public class DependencyGraphCache_Test {
+
+	private static List<RemoteRepository> repositories = Collections.emptyList();
+
+	private DependencyResult graph(Artifact root, Artifact child, String childConstraint) throws Exception {
+		DefaultDependencyNode rootNode = new DefaultDependencyNode(root);
+		DefaultDependencyNode childNode = new DefaultDependencyNode(new Dependency(child, "compile"));
+		childNode.setVersionConstraint(new GenericVersionScheme().parseVersionConstraint(childConstraint));
+		List<DependencyNode> children = new ArrayList<>();
+		children.add(childNode);
+		rootNode.setChildren(children);
+		DependencyResult result = new DependencyResult(new DependencyRequest());
+		result.setRoot(rootNode);
+		result.setArtifactResults(Collections
+				.singletonList(new ArtifactResult(new ArtifactRequest(childNode)).setArtifact(child)));
+		result.setCycles(Collections.emptyList());
+		result.setCollectExceptions(Collections.emptyList());
+		return result;
+	}
+
+	private Artifact artifact(String coordinates) throws Exception {
+		File file = File.createTempFile("graph", ".jar");
+		return new DefaultArtifact(coordinates).setFile(file);
+	}
+
+	@Test
+	public void testInvalidatePersisted() throws Exception {
+
+		File directory = Files.createTempDirectory("graphs").toFile();
+		Artifact root = this.artifact("org.example:root:1.0");
+		Artifact child = this.artifact("org.example:child:1.0");
+		new DependencyGraphCache(10, 0, directory).put(root, repositories, "runtime", this.graph(root, child, "1.0"));
+		assertEquals(1, directory.listFiles().length);
+
+		// a restarted node reads the graph back, until the child is deployed again
+		DependencyGraphCache restarted = new DependencyGraphCache(10, 0, directory);
+		restarted.invalidate(new DefaultArtifact("org.example:child:1.0"));
+		assertEquals(0, directory.listFiles().length);
+		assertNull(new DependencyGraphCache(10, 0, directory).get(root, repositories, "runtime"));
+	}
+
+	@Test
+	public void testInvalidateIndexed() throws Exception {
+
+		File directory = Files.createTempDirectory("graphs").toFile();
+		DependencyGraphCache cache = new DependencyGraphCache(10, 0, directory);
+		Artifact first = this.artifact("org.example:first:1.0");
+		cache.put(first, repositories, "runtime", this.graph(first, this.artifact("org.example:a:1.0"), "1.0"));
+		// builds the index of the persisted graphs
+		cache.invalidate(new DefaultArtifact("org.example:unrelated:1.0"));
+		Artifact second = this.artifact("org.example:second:1.0");
+		cache.put(second, repositories, "runtime", this.graph(second, this.artifact("org.example:b:1.0"), "1.0"));
+		assertEquals(2, directory.listFiles().length);
+
+		cache.invalidate(new DefaultArtifact("org.example:b:1.0"));
+		assertEquals(1, directory.listFiles().length);
+		assertNull(cache.get(second, repositories, "runtime"));
+		assertNotNull(cache.get(first, repositories, "runtime"));
+	}
+
+	@Test
+	public void testVolatile() throws Exception {
+
+		File directory = Files.createTempDirectory("graphs").toFile();
+		DependencyGraphCache cache = new DependencyGraphCache(10, 60000, directory);
+		Artifact root = this.artifact("org.example:root:1.0");
+		Artifact child = this.artifact("org.example:child:1.2");
+		cache.put(root, repositories, "runtime", this.graph(root, child, "[1.0,2.0)"));
+		assertNotNull(cache.get(root, repositories, "runtime"));
+		assertEquals(0, directory.listFiles().length);
+
+		Artifact latest = this.artifact("org.example:root:LATEST");
+		cache.put(latest, repositories, "runtime", this.graph(latest, this.artifact("org.example:child:1.0"), "1.0"));
+		assertEquals(0, directory.listFiles().length);
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+/**
+ * Build the effective models of child poms sharing one parent that imports a
+ * BOM, with and without the shared parent model cache.
+ */
+public class EffectiveModel_Test {
+
+	private static int children = 10;
+	private static int managed = 50;
+
+	private void write(File file, String xml) throws Exception {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private MavenClientTemplate template(File remote, boolean shared) throws Exception {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("effective-local").toString());
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		properties.getParentModelCache().setEnabled(shared);
+		return new MavenClientTemplate(properties);
+	}
+
+	private void build(MavenClientTemplate clientTemplate, List<File> poms) {
+		for (File pom : poms) {
+			Model model = clientTemplate.effectiveModel(pom);
+			assertEquals("2.0." + (managed - 1), model.getDependencies().get(0).getVersion());
+		}
+	}
+
+	@Test
+	public void testSharedCache() throws Exception {
+
+		File remote = Files.createTempDirectory("effective-remote").toFile();
+		StringBuilder bom = new StringBuilder("<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId>"
+				+ "<artifactId>bom</artifactId><version>1.0</version><packaging>pom</packaging><dependencyManagement><dependencies>");
+		for (int i = 0; i < managed; i++) {
+			bom.append("<dependency><groupId>org.example.lib</groupId><artifactId>lib-").append(i)
+					.append("</artifactId><version>2.0.").append(i).append("</version></dependency>");
+		}
+		bom.append("</dependencies></dependencyManagement></project>");
+		write(new File(remote, "org/example/bom/1.0/bom-1.0.pom"), bom.toString());
+		write(new File(remote, "org/example/parent/1.0/parent-1.0.pom"),
+				"<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId><artifactId>parent</artifactId>"
+						+ "<version>1.0</version><packaging>pom</packaging><properties><bom.version>1.0</bom.version></properties>"
+						+ "<dependencyManagement><dependencies><dependency><groupId>org.example</groupId><artifactId>bom</artifactId>"
+						+ "<version>${bom.version}</version><type>pom</type><scope>import</scope></dependency></dependencies>"
+						+ "</dependencyManagement></project>");
+
+		File projects = Files.createTempDirectory("effective-children").toFile();
+		List<File> poms = new ArrayList<>();
+		for (int i = 0; i < children; i++) {
+			File pom = new File(projects, "child-" + i + "/pom.xml");
+			write(pom, "<project><modelVersion>4.0.0</modelVersion><parent><groupId>org.example</groupId>"
+					+ "<artifactId>parent</artifactId><version>1.0</version><relativePath/></parent>"
+					+ "<artifactId>child-" + i + "</artifactId><dependencies><dependency><groupId>org.example.lib</groupId>"
+					+ "<artifactId>lib-" + (managed - 1) + "</artifactId></dependency></dependencies></project>");
+			poms.add(pom);
+		}
+
+		MavenClientTemplate uncached = template(remote, false);
+		build(uncached, poms);
+		assertNull(uncached.getParentModelCache());
+
+		MavenClientTemplate cached = template(remote, true);
+		build(cached, poms.subList(0, 1));
+		long hits = cached.getParentModelCache().getHitCount();
+		// the parent read by the first build serves the others
+		build(cached, poms.subList(1, children));
+		assertTrue(cached.getParentModelCache().getHitCount() - hits >= children - 1);
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process HTTP Maven repository serving a directory, e.g. of a
+ * {@link RepositoryFixture}, with configurable latency, bandwidth and error
+ * injection. GET and HEAD read files, PUT writes them.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class EmbeddedRepositoryServer implements Closeable {
+
+	private static final int CHUNK = 8192;
+
+	private final File basedir;
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder uploads = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder bytesSent = new LongAdder();
+	private volatile long latency;
+	private volatile long bandwidth;
+	private volatile double errorRate;
+
+	public EmbeddedRepositoryServer(File basedir) throws IOException {
+		this.basedir = basedir.getCanonicalFile();
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "embedded-repository");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.server.createContext("/", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	public String getUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+
+	/**
+	 * @param latency the delay in milliseconds before each response
+	 */
+	public void setLatency(long latency) {
+		this.latency = latency;
+	}
+
+	/**
+	 * @param bandwidth the bytes per second of each response body, {@code 0} for
+	 *                  no limit
+	 */
+	public void setBandwidth(long bandwidth) {
+		this.bandwidth = bandwidth;
+	}
+
+	/**
+	 * @param errorRate the probability of a request to fail with 503
+	 */
+	public void setErrorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	public long getRequestCount() {
+		return requests.sum();
+	}
+
+	public long getUploadCount() {
+		return uploads.sum();
+	}
+
+	public long getErrorCount() {
+		return errors.sum();
+	}
+
+	public long getBytesSent() {
+		return bytesSent.sum();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.increment();
+		try {
+			if (latency > 0) {
+				Thread.sleep(latency);
+			}
+			if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+				errors.increment();
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			File file = new File(basedir, exchange.getRequestURI().getPath()).getCanonicalFile();
+			if (!file.toPath().startsWith(basedir.toPath())) {
+				exchange.sendResponseHeaders(403, -1);
+				return;
+			}
+			switch (exchange.getRequestMethod()) {
+			case "GET":
+			case "HEAD":
+				if (!file.isFile()) {
+					exchange.sendResponseHeaders(404, -1);
+				} else if ("HEAD".equals(exchange.getRequestMethod())) {
+					exchange.getResponseHeaders().set("Content-Length", String.valueOf(file.length()));
+					exchange.sendResponseHeaders(200, -1);
+				} else {
+					exchange.sendResponseHeaders(200, file.length());
+					this.send(file, exchange.getResponseBody());
+				}
+				break;
+			case "PUT":
+				file.getParentFile().mkdirs();
+				File temp = new File(file.getPath() + ".part-" + Thread.currentThread().getId());
+				try (InputStream input = exchange.getRequestBody()) {
+					Files.copy(input, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				uploads.increment();
+				exchange.sendResponseHeaders(201, -1);
+				break;
+			default:
+				exchange.sendResponseHeaders(405, -1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	/*
+	 * The body is written in chunks, each chunk waits until the bandwidth allows it.
+	 */
+	private void send(File file, OutputStream output) throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		long sent = 0;
+		byte[] buffer = new byte[CHUNK];
+		try (InputStream input = Files.newInputStream(file.toPath())) {
+			for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+				output.write(buffer, 0, read);
+				sent += read;
+				long limit = bandwidth;
+				if (limit > 0) {
+					long ahead = TimeUnit.SECONDS.toNanos(sent) / limit - (System.nanoTime() - start);
+					if (ahead > 0) {
+						TimeUnit.NANOSECONDS.sleep(ahead);
+					}
+				}
+			}
+		}
+		bytesSent.add(sent);
+	}
+
+}
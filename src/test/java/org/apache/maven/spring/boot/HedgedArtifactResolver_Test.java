@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Two local HTTP repositories serve the same artifacts, the first one with an
+ * injected latency. Hedged resolution should not pay that latency.
+ */
+public class HedgedArtifactResolver_Test {
+
+	private static long latency = 1500;
+	private static int iterations = 3;
+	private HttpServer slow;
+	private HttpServer fast;
+
+	@Before
+	public void start() throws IOException {
+		slow = repository(latency);
+		fast = repository(0);
+	}
+
+	@After
+	public void stop() {
+		slow.stop(0);
+		fast.stop(0);
+	}
+
+	private HttpServer repository(final long delay) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (exchange.getRequestURI().getPath().endsWith(".jar")) {
+				byte[] body = new byte[] { 0x50, 0x4b, 0x05, 0x06 };
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream output = exchange.getResponseBody()) {
+					output.write(body);
+				}
+			} else {
+				exchange.sendResponseHeaders(404, -1);
+				exchange.close();
+			}
+		});
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+		return server;
+	}
+
+	private MavenClientTemplate template(boolean hedging) throws IOException {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("hedge").toString());
+		properties.setChecksumPolicy("ignore");
+		properties.setResolvePom(false);
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("slow", new RemoteRepository("http://127.0.0.1:" + slow.getAddress().getPort() + "/"));
+		remoteRepositories.put("fast", new RemoteRepository("http://127.0.0.1:" + fast.getAddress().getPort() + "/"));
+		properties.setRemoteRepositories(remoteRepositories);
+		properties.getHedging().setEnabled(hedging);
+		properties.getHedging().setDelay(Duration.ofMillis(100));
+		return new MavenClientTemplate(properties);
+	}
+
+	private long slowest(MavenClientTemplate clientTemplate) {
+		long slowest = 0;
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			clientTemplate.artifact("org.example:hedge:1.0." + i);
+			slowest = Math.max(slowest, (System.nanoTime() - start) / 1000000);
+		}
+		return slowest;
+	}
+
+	@Test
+	public void testTailLatency() throws Exception {
+
+		MavenClientTemplate clientTemplate = template(true);
+		long hedged = slowest(clientTemplate);
+
+		// every resolution was hedged to the fast repository
+		assertEquals(iterations, clientTemplate.getHedgedResolver().getHedgedCount());
+		assertTrue(hedged < latency);
+		clientTemplate.shutdown();
+	}
+
+	@Test
+	public void testWinnerInstalled() throws Exception {
+
+		MavenClientTemplate clientTemplate = template(true);
+		File local = new File(clientTemplate.getSessionFactory().getSession().getLocalRepository().getBasedir()
+				.getAbsolutePath());
+		ArtifactResult result = clientTemplate.artifact("org.example:hedge:2.0");
+
+		File jar = new File(local, "org/example/hedge/2.0/hedge-2.0.jar");
+		assertEquals(jar.getAbsolutePath(), result.getArtifact().getFile().getAbsolutePath());
+		assertEquals(4, jar.length());
+		String remotes = new String(
+				Files.readAllBytes(new File(jar.getParentFile(), "_remote.repositories").toPath()),
+				StandardCharsets.UTF_8);
+		assertTrue(remotes.contains("hedge-2.0.jar>fast="));
+		clientTemplate.shutdown();
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.maven.spring.boot.cache.InMemoryArtifactResultCache;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.Test;
+
+public class InMemoryArtifactResultCache_Test {
+
+	private ArtifactResult resolved(Artifact artifact) throws Exception {
+		File file = File.createTempFile("cache", ".jar");
+		file.deleteOnExit();
+		ArtifactResult result = new ArtifactResult(new ArtifactRequest(artifact, null, null));
+		result.setArtifact(artifact.setFile(file));
+		return result;
+	}
+
+	@Test
+	public void testHitAndEviction() throws Exception {
+
+		InMemoryArtifactResultCache cache = new InMemoryArtifactResultCache(2, 60000);
+		Artifact a = new DefaultArtifact("org.example:a:1.0");
+		Artifact b = new DefaultArtifact("org.example:b:1.0");
+		Artifact c = new DefaultArtifact("org.example:c:1.0");
+		cache.put(a, resolved(a));
+		cache.put(b, resolved(b));
+		assertNotNull(cache.get(a));
+		cache.put(c, resolved(c));
+
+		assertNull(cache.get(b));
+		assertNotNull(cache.get(a));
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testDeletedFileAndSnapshotTtl() throws Exception {
+
+		InMemoryArtifactResultCache cache = new InMemoryArtifactResultCache(10, 0);
+		Artifact release = new DefaultArtifact("org.example:a:1.0");
+		Artifact snapshot = new DefaultArtifact("org.example:a:1.1-SNAPSHOT");
+		ArtifactResult releaseResult = resolved(release);
+		cache.put(release, releaseResult);
+		cache.put(snapshot, resolved(snapshot));
+		Thread.sleep(5);
+
+		assertNull(cache.get(snapshot));
+		assertNotNull(cache.get(release));
+		releaseResult.getArtifact().getFile().delete();
+		assertNull(cache.get(release));
+	}
+
+	@Test
+	public void testHitIsCopy() throws Exception {
+
+		InMemoryArtifactResultCache cache = new InMemoryArtifactResultCache(10, 60000);
+		Artifact a = new DefaultArtifact("org.example:a:1.0");
+		ArtifactResult result = resolved(a);
+		cache.put(a, result);
+		result.addException(new IllegalStateException("after put"));
+
+		ArtifactResult hit = cache.get(a);
+		assertNotSame(result, hit);
+		assertTrue(hit.getExceptions().isEmpty());
+		hit.addException(new IllegalStateException("after get"));
+		assertTrue(cache.get(a).getExceptions().isEmpty());
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.local.LocalRepositoryEvictor;
+import org.junit.Test;
+
+/**
+ * Evict from a generated local repository by version count and size, and never
+ * while a resolution is in flight.
+ */
+public class LocalRepositoryEvictor_Test {
+
+	private static int artifacts = 50;
+	private static int size = 100 * 1024;
+
+	private File jar(File repository, int index, int version) throws Exception {
+		File jar = new File(repository,
+				"org/example/demo-" + index + "/1." + version + "/demo-" + index + "-1." + version + ".jar");
+		jar.getParentFile().mkdirs();
+		Files.write(jar.toPath(), new byte[size]);
+		// older versions were written earlier
+		Files.setLastModifiedTime(jar.toPath(),
+				FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(10 - version)));
+		return jar;
+	}
+
+	@Test
+	public void testEvict() throws Exception {
+
+		File repository = Files.createTempDirectory("evictor").toFile();
+		for (int i = 0; i < artifacts; i++) {
+			for (int version = 0; version < 3; version++) {
+				jar(repository, i, version);
+			}
+		}
+
+		LocalRepositoryEvictor evictor = new LocalRepositoryEvictor(repository, null, 0, 2, 0);
+		// the oldest version of the first artifact was just used
+		evictor.touch(new File(repository, "org/example/demo-0/1.0/demo-0-1.0.jar"));
+		LocalRepositoryEvictor.EvictionResult result = evictor.evict();
+		assertEquals(artifacts, result.getEvictedCount());
+		assertTrue(new File(repository, "org/example/demo-0/1.0").isDirectory());
+		assertFalse(new File(repository, "org/example/demo-0/1.1").exists());
+		assertFalse(new File(repository, "org/example/demo-1/1.0").exists());
+
+		long maximumSize = artifacts * size;
+		evictor = new LocalRepositoryEvictor(repository, null, maximumSize, 0, 0);
+		result = evictor.evict();
+		assertEquals(artifacts, result.getEvictedCount());
+		assertEquals(maximumSize, evictor.evict().getSize());
+	}
+
+	@Test
+	public void testInFlight() throws Exception {
+
+		File repository = Files.createTempDirectory("evictor").toFile();
+		jar(repository, 0, 0);
+		LocalRepositoryEvictor evictor = new LocalRepositoryEvictor(repository, null, 1, 0, 0);
+
+		CountDownLatch acquired = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		Thread resolution = new Thread(() -> {
+			evictor.acquire();
+			try {
+				acquired.countDown();
+				done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				evictor.release();
+			}
+		});
+		resolution.start();
+		acquired.await();
+		assertEquals(0, evictor.evict().getEvictedCount());
+		done.countDown();
+		resolution.join();
+		assertEquals(1, evictor.evict().getEvictedCount());
+		// moved out of the repository, then deleted outside the lock
+		assertFalse(new File(repository, "org/example/demo-0/1.0").exists());
+		assertEquals(0, new File(repository, ".trash").list().length);
+	}
+
+}
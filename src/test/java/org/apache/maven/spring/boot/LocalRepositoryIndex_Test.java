@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.apache.maven.spring.boot.local.LocalRepositoryIndex;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.junit.Test;
+
+/**
+ * Index a generated local repository, follow its changes and compare artifact()
+ * served from the index with the lookup through Aether.
+ */
+public class LocalRepositoryIndex_Test {
+
+	private static int artifacts = 100;
+	private static int lookups = 200;
+
+	private File jar(File repository, int index) throws Exception {
+		File jar = new File(repository, "org/example/demo-" + index + "/1.0/demo-" + index + "-1.0.jar");
+		jar.getParentFile().mkdirs();
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		return jar;
+	}
+
+	private File await(LocalRepositoryIndex index, String coordinates, boolean present) throws Exception {
+		File file = null;
+		for (int i = 0; i < 100; i++) {
+			file = index.find(new DefaultArtifact(coordinates));
+			if ((file != null) == present) {
+				break;
+			}
+			Thread.sleep(50);
+		}
+		return file;
+	}
+
+	@Test
+	public void testWatch() throws Exception {
+
+		File repository = Files.createTempDirectory("local-index").toFile();
+		for (int i = 0; i < artifacts; i++) {
+			jar(repository, i);
+		}
+		LocalRepositoryIndex index = new LocalRepositoryIndex(repository, 4, true);
+		index.build();
+		assertEquals(artifacts, index.size());
+		assertNotNull(index.find(new DefaultArtifact("org.example:demo-0:1.0")));
+
+		File added = jar(repository, artifacts);
+		assertNotNull(await(index, "org.example:demo-" + artifacts + ":1.0", true));
+		Files.delete(added.toPath());
+		assertNull(await(index, "org.example:demo-" + artifacts + ":1.0", false));
+		index.shutdown();
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+
+		File repository = Files.createTempDirectory("local-index").toFile();
+		for (int i = 0; i < 3; i++) {
+			jar(repository, i);
+		}
+		File sources = new File(repository, "org/example/demo-0/1.0/demo-0-1.0-sources.jar");
+		Files.write(sources.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		LocalRepositoryIndex index = new LocalRepositoryIndex(repository, 1, false);
+		index.build();
+		assertEquals(4, index.size());
+
+		// not artifacts
+		index.remove(new File(repository, "org/example/demo-0/1.0/demo-0-1.0.jar.part").toPath());
+		index.remove(new File(repository, "org/example/demo-0/1.0/demo-0-1.0.jar.lock").toPath());
+		assertEquals(4, index.size());
+
+		index.remove(sources.toPath());
+		assertEquals(3, index.size());
+		assertNotNull(index.find(new DefaultArtifact("org.example:demo-0:1.0")));
+
+		index.remove(new File(repository, "org/example/demo-0/1.0").toPath());
+		assertNull(index.find(new DefaultArtifact("org.example:demo-0:1.0")));
+		index.remove(new File(repository, "org/example/demo-1").toPath());
+		assertNull(index.find(new DefaultArtifact("org.example:demo-1:1.0")));
+		assertEquals(1, index.size());
+		index.shutdown();
+	}
+
+	@Test
+	public void testFastPath() throws Exception {
+
+		File repository = Files.createTempDirectory("local-index").toFile();
+		for (int i = 0; i < artifacts; i++) {
+			jar(repository, i);
+		}
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(repository.getPath());
+		properties.setOffline(true);
+		properties.setResolvePom(false);
+		properties.getCache().setEnabled(false);
+		properties.getLocalIndex().setEnabled(true);
+		properties.getLocalIndex().setWatch(false);
+		MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+		clientTemplate.getLocalRepositoryIndex().build();
+		for (int i = 0; i < lookups; i++) {
+			assertTrue(clientTemplate.artifact("org.example:demo-" + (i % artifacts) + ":1.0").isResolved());
+		}
+		// every lookup is served by the index
+		assertEquals(lookups, clientTemplate.getLocalRepositoryIndex().getHitCount());
+	}
+
+}
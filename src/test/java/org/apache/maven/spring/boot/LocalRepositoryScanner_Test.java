@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.apache.maven.spring.boot.local.LocalRepositoryScanner;
+import org.apache.maven.spring.boot.utils.ArtifactUtils;
+import org.junit.Test;
+
+/**
+ * Scan a generated local repository with a few truncated jars, then rescan it
+ * incrementally.
+ */
+public class LocalRepositoryScanner_Test {
+
+	private static int artifacts = 200;
+	private static int truncated = 5;
+
+	private File jar(File repository, int index) throws Exception {
+		File jar = new File(repository, "org/example/demo-" + index + "/1.0/demo-" + index + "-1.0.jar");
+		jar.getParentFile().mkdirs();
+		try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+			for (int i = 0; i < 10; i++) {
+				output.putNextEntry(new ZipEntry("org/example/demo/Demo" + i + ".class"));
+				output.write(new byte[512]);
+				output.closeEntry();
+			}
+		}
+		String sha1 = ChecksumCalculator.calculate(jar, Arrays.asList("SHA-1")).get("SHA-1");
+		Files.write(new File(jar.getPath() + ".sha1").toPath(), sha1.getBytes(StandardCharsets.US_ASCII));
+		return jar;
+	}
+
+	@Test
+	public void testScan() throws Exception {
+
+		File repository = Files.createTempDirectory("scanner").toFile();
+		for (int i = 0; i < artifacts; i++) {
+			File jar = jar(repository, i);
+			if (i < truncated) {
+				try (RandomAccessFile file = new RandomAccessFile(jar, "rw")) {
+					file.setLength(file.length() / 2);
+				}
+			}
+		}
+
+		LocalRepositoryScanner scanner = new LocalRepositoryScanner(repository, null, 4,
+				LocalRepositoryScanner.Action.QUARANTINE, null);
+		LocalRepositoryScanner.ScanResult full = scanner.scan();
+		assertEquals(artifacts, full.getVerifiedCount());
+		assertEquals(truncated, full.getCorrupt().size());
+		assertEquals(truncated, full.getQuarantinedCount());
+		assertTrue(new File(repository, LocalRepositoryScanner.QUARANTINE_DIRECTORY
+				+ "/org/example/demo-0/1.0/demo-0-1.0.jar").isFile());
+
+		LocalRepositoryScanner.ScanResult incremental = scanner.scan();
+		assertEquals(0, incremental.getVerifiedCount());
+		assertEquals(artifacts - truncated, incremental.getUnchangedCount());
+		scanner.shutdown();
+	}
+
+	@Test
+	public void testFromPath() {
+		assertEquals("org.example:demo:jar:tests:1.0",
+				ArtifactUtils.fromPath("org/example/demo/1.0/demo-1.0-tests.jar").toString());
+		assertEquals("org.example:demo:tar.gz:1.0-20200101.101010-3", ArtifactUtils
+				.fromPath("org/example/demo/1.0-SNAPSHOT/demo-1.0-20200101.101010-3.tar.gz").toString());
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.spring.boot.ext.MavenClientAsyncTemplate;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.junit.Test;
+
+/**
+ * The bounds of {@link MavenClientAsyncTemplate}, with and without virtual
+ * threads.
+ */
+public class MavenClientAsyncTemplate_Test {
+
+	/*
+	 * Gives the tests access to the executor of the async template.
+	 */
+	private static class BlockingAsyncTemplate extends MavenClientAsyncTemplate {
+
+		private final AtomicInteger running = new AtomicInteger();
+		private final AtomicInteger maxRunning = new AtomicInteger();
+
+		BlockingAsyncTemplate(MavenClientTemplate clientTemplate, MavenClientProperties.Async async) {
+			super(clientTemplate, async);
+		}
+
+		CompletableFuture<Integer> block(CountDownLatch release) {
+			return this.supply(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					release.await(10, TimeUnit.SECONDS);
+					return running.get();
+				} finally {
+					running.decrementAndGet();
+				}
+			});
+		}
+
+	}
+
+	private MavenClientTemplate template(File localRepository) {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(localRepository.getAbsolutePath());
+		properties.setOffline(true);
+		return new MavenClientTemplate(properties);
+	}
+
+	@Test
+	public void testSaturation() throws Exception {
+		this.assertSaturation(false);
+	}
+
+	@Test
+	public void testVirtualThreadsSaturation() throws Exception {
+		this.assertSaturation(true);
+	}
+
+	private void assertSaturation(boolean virtualThreads) throws Exception {
+
+		MavenClientProperties.Async async = new MavenClientProperties.Async();
+		async.setVirtualThreads(virtualThreads);
+		async.setPoolSize(1);
+		async.setQueueCapacity(1);
+		BlockingAsyncTemplate asyncTemplate = new BlockingAsyncTemplate(
+				this.template(Files.createTempDirectory("async").toFile()), async);
+
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Integer> running = asyncTemplate.block(release);
+		CompletableFuture<Integer> queued = asyncTemplate.block(release);
+		CompletableFuture<Integer> rejected = asyncTemplate.block(release);
+		assertTrue(rejected.isCompletedExceptionally());
+		try {
+			rejected.get();
+			fail("the third operation must be rejected");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof RejectedExecutionException);
+		}
+		release.countDown();
+		running.get(10, TimeUnit.SECONDS);
+		queued.get(10, TimeUnit.SECONDS);
+		assertEquals(1, asyncTemplate.maxRunning.get());
+		asyncTemplate.shutdown();
+	}
+
+	@Test
+	public void testVirtualThreads() throws Exception {
+
+		// JDKs without virtual threads fall back to the bounded thread pool
+		MavenClientProperties.Async async = new MavenClientProperties.Async();
+		async.setVirtualThreads(true);
+		async.setPoolSize(2);
+		async.setQueueCapacity(8);
+		BlockingAsyncTemplate asyncTemplate = new BlockingAsyncTemplate(
+				this.template(Files.createTempDirectory("async").toFile()), async);
+
+		CountDownLatch release = new CountDownLatch(1);
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			futures.add(asyncTemplate.block(release));
+		}
+		Thread.sleep(200);
+		release.countDown();
+		for (CompletableFuture<Integer> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		assertEquals(2, asyncTemplate.maxRunning.get());
+		asyncTemplate.shutdown();
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.apache.maven.spring.boot.metrics.MavenClientMetrics;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Resolve from a file:// repository with the metrics bound to a
+ * {@link SimpleMeterRegistry}.
+ */
+public class MavenClientMetrics_Test {
+
+	@Test
+	public void testMetrics() throws Exception {
+
+		File remote = Files.createTempDirectory("metrics-remote").toFile();
+		File jar = new File(remote, "org/example/demo/1.0/demo-1.0.jar");
+		jar.getParentFile().mkdirs();
+		Files.write(jar.toPath(), new byte[4096]);
+
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("metrics-local").toString());
+		properties.setResolvePom(false);
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		new MavenClientMetrics(clientTemplate, false).bindTo(registry);
+
+		clientTemplate.artifact("org.example:demo:1.0");
+		clientTemplate.artifact("org.example:demo:1.0");
+		try {
+			clientTemplate.artifact("org.example:missing:1.0");
+			fail("the missing artifact must not be resolved");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		assertEquals(2, registry.get("maven.client.operations").tags("operation", "artifact", "outcome", "success")
+				.timer().count());
+		assertEquals(1, registry.get("maven.client.failures").tag("operation", "artifact").counter().count(), 0);
+		assertEquals(4096, registry.get("maven.client.transfers.bytes").tags("repository", "fixture", "direction",
+				"download").counter().count(), 0);
+		assertTrue(registry.get("maven.client.phases").tag("phase", "resolve").timer().count() > 0);
+		assertEquals(0, registry.get("maven.client.transfers.active").gauge().value(), 0);
+	}
+
+}
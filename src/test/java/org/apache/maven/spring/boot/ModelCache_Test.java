@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * The model of a fat jar in the local repository comes from its own pom, not
+ * the poms of the shaded dependencies, and is read once.
+ */
+public class ModelCache_Test {
+
+	private File localRepository;
+
+	@Before
+	public void setUp() throws Exception {
+		localRepository = Files.createTempDirectory("model").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		FileSystemUtils.deleteRecursively(localRepository);
+	}
+
+	private void pom(ZipOutputStream output, String groupId, String artifactId) throws Exception {
+		output.putNextEntry(new ZipEntry("META-INF/maven/" + groupId + "/" + artifactId + "/pom.xml"));
+		output.write(("<project><modelVersion>4.0.0</modelVersion><groupId>" + groupId + "</groupId><artifactId>"
+				+ artifactId + "</artifactId><version>1.0</version></project>").getBytes(StandardCharsets.UTF_8));
+		output.closeEntry();
+	}
+
+	@Test
+	public void testResolveFatJar() throws Exception {
+
+		File jar = new File(localRepository, "org/example/fat/1.0/fat-1.0.jar");
+		jar.getParentFile().mkdirs();
+		try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+			for (int i = 0; i < 100; i++) {
+				output.putNextEntry(new ZipEntry("BOOT-INF/classes/org/example/Class" + i + ".class"));
+				output.closeEntry();
+			}
+			this.pom(output, "com.example.shaded", "dependency");
+			this.pom(output, "org.example", "fat");
+		}
+
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(localRepository.getAbsolutePath());
+		properties.setOffline(true);
+		properties.getModelCache().setEnabled(true);
+		try (MavenClientTemplate clientTemplate = new MavenClientTemplate(properties)) {
+			for (int i = 0; i < 10; i++) {
+				assertEquals("org.example:fat:jar:1.0", clientTemplate.resolve(jar).getId());
+			}
+			assertEquals(9, clientTemplate.getModelCache().getHitCount());
+		}
+	}
+
+}
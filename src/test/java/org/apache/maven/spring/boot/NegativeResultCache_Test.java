@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.spring.boot.cache.NegativeResultCache;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Test;
+
+/**
+ * Hits, expiry and invalidation of the {@link NegativeResultCache}, alone and
+ * in front of a file:// repository the missing artifact is then deployed to.
+ */
+public class NegativeResultCache_Test {
+
+	private static Artifact artifact = new DefaultArtifact("org.example:missing:1.0");
+	private static List<RemoteRepository> repositories = Collections
+			.singletonList(new RemoteRepository.Builder("central", "default", "file:///tmp/central").build());
+
+	private IllegalStateException check(NegativeResultCache cache) {
+		try {
+			cache.check(artifact, repositories);
+			return null;
+		} catch (IllegalStateException e) {
+			return e;
+		}
+	}
+
+	@Test
+	public void testHits() throws Exception {
+
+		NegativeResultCache cache = new NegativeResultCache(100, 60000);
+		IllegalStateException failure = new IllegalStateException("not found");
+		cache.put(artifact, repositories, failure);
+
+		IllegalStateException first = this.check(cache);
+		IllegalStateException second = this.check(cache);
+		assertNotSame(first, second);
+		assertSame(failure, first.getCause());
+		assertEquals(failure.getMessage(), second.getMessage());
+		assertEquals(2, cache.getHitCount());
+		// another set of repositories may have it
+		cache.check(artifact, Collections.emptyList());
+
+		cache.invalidate(artifact);
+		assertEquals(null, this.check(cache));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testExpiry() throws Exception {
+
+		NegativeResultCache cache = new NegativeResultCache(100, 100);
+		cache.put(artifact, repositories, new IllegalStateException("not found"));
+		assertTrue(this.check(cache) != null);
+		Thread.sleep(200);
+		assertEquals(null, this.check(cache));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testDeploy() throws Exception {
+
+		File remote = Files.createTempDirectory("negative-remote").toFile();
+		RepositoryFixture fixture = new RepositoryFixture(remote, 0, 1, 0, 0);
+		MavenClientProperties properties = fixture.properties(Files.createTempDirectory("negative-local").toFile());
+		// Aether itself remembers the missing artifact for a day otherwise
+		properties.setUpdatePolicy("always");
+		MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+		for (int i = 0; i < 2; i++) {
+			try {
+				clientTemplate.artifact("org.example:missing:1.0");
+				fail("the artifact is not deployed yet");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		}
+		assertEquals(1, clientTemplate.getNegativeCache().getHitCount());
+
+		File jar = File.createTempFile("negative", ".jar");
+		Files.write(jar.toPath(), new byte[] { 0x50, 0x4b, 0x05, 0x06 });
+		clientTemplate.deploy(jar, "org.example:missing:1.0", RepositoryFixture.REPOSITORY_ID);
+		assertTrue(clientTemplate.artifact("org.example:missing:1.0").isResolved());
+		assertEquals(1, clientTemplate.getNegativeCache().getHitCount());
+	}
+
+}
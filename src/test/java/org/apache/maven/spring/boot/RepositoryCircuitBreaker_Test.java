@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreaker;
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreakerEvent;
+import org.apache.maven.spring.boot.repository.RepositoryCircuitBreaker.State;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositoryEvent.EventType;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.junit.Test;
+
+public class RepositoryCircuitBreaker_Test {
+
+	private DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+	private Artifact artifact = new DefaultArtifact("org.apache.commons:commons-lang3:3.8.1");
+	private RemoteRepository central = new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+	private RemoteRepository internal = new RemoteRepository.Builder("internal", "default", "http://nexus.example.org/repository/maven-public/").build();
+	private List<RemoteRepository> repositories = Arrays.asList(central, internal);
+
+	private RepositoryEvent downloaded(RemoteRepository repository, Exception exception) {
+		return new RepositoryEvent.Builder(session, EventType.ARTIFACT_DOWNLOADED).setArtifact(artifact)
+				.setRepository(repository).setException(exception).build();
+	}
+
+	@Test
+	public void testStates() throws Exception {
+
+		RepositoryCircuitBreaker breaker = new RepositoryCircuitBreaker(3, 200);
+		List<Object> events = new ArrayList<>();
+		breaker.setEventPublisher(events::add);
+
+		for (int i = 0; i < 3; i++) {
+			breaker.artifactDownloaded(downloaded(internal, new ArtifactTransferException(artifact, internal, "Connection refused")));
+			// a missing artifact is an answer of the repository
+			breaker.artifactDownloaded(downloaded(central, new ArtifactNotFoundException(artifact, central)));
+		}
+		assertEquals(State.OPEN, breaker.getState("internal"));
+		assertEquals(State.CLOSED, breaker.getState("central"));
+		assertEquals(Arrays.asList(central), breaker.filter(repositories));
+
+		Thread.sleep(250);
+		// one probe after the open duration
+		assertEquals(repositories, breaker.filter(repositories));
+		assertEquals(State.HALF_OPEN, breaker.getState("internal"));
+		assertEquals(Arrays.asList(central), breaker.filter(repositories));
+
+		breaker.artifactDownloaded(downloaded(internal, null));
+		assertEquals(State.CLOSED, breaker.getState("internal"));
+		assertEquals(repositories, breaker.filter(repositories));
+		assertEquals(1, breaker.getOpenedCount());
+		assertEquals(2, breaker.getSkippedCount());
+
+		List<State> transitions = new ArrayList<>();
+		for (Object event : events) {
+			transitions.add(((RepositoryCircuitBreakerEvent) event).getTo());
+		}
+		assertEquals(Arrays.asList(State.OPEN, State.HALF_OPEN, State.CLOSED), transitions);
+	}
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.spring.boot.checksum.ChecksumCalculator;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+/**
+ * Generates a remote repository of synthetic artifacts: each artifact has a few
+ * versions, a jar holding its pom, a pom depending on the artifacts before it,
+ * SHA-1 sidecars and a maven-metadata.xml. The same tree serves the benchmarks
+ * and load tests through file:// or HTTP, fully offline.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RepositoryFixture {
+
+	public static final String GROUP_ID = "org.example.fixture";
+	public static final String REPOSITORY_ID = "fixture";
+
+	private final File basedir;
+	private final int artifacts;
+	private final int versions;
+	private final int dependencies;
+	private final int size;
+
+	/**
+	 * @param basedir      the directory of the repository
+	 * @param artifacts    the number of artifacts
+	 * @param versions     the number of versions of each artifact
+	 * @param dependencies the number of dependencies of each artifact
+	 * @param size         the size in bytes of the class entry of each jar
+	 */
+	public RepositoryFixture(File basedir, int artifacts, int versions, int dependencies, int size) {
+		this.basedir = basedir;
+		this.artifacts = artifacts;
+		this.versions = versions;
+		this.dependencies = dependencies;
+		this.size = size;
+	}
+
+	public RepositoryFixture generate() throws IOException {
+		for (int i = 0; i < artifacts; i++) {
+			String artifactId = artifactId(i);
+			File directory = new File(basedir, GROUP_ID.replace('.', '/') + "/" + artifactId);
+			for (int v = 0; v < versions; v++) {
+				String version = version(v);
+				File versionDirectory = new File(directory, version);
+				versionDirectory.mkdirs();
+				String pom = pom(i, version);
+				write(new File(versionDirectory, artifactId + "-" + version + ".pom"),
+						pom.getBytes(StandardCharsets.UTF_8));
+				write(new File(versionDirectory, artifactId + "-" + version + ".jar"), jar(artifactId, pom));
+			}
+			write(new File(directory, "maven-metadata.xml"), metadata(artifactId).getBytes(StandardCharsets.UTF_8));
+		}
+		return this;
+	}
+
+	public File getBasedir() {
+		return basedir;
+	}
+
+	public int getArtifacts() {
+		return artifacts;
+	}
+
+	public String artifactId(int index) {
+		return "artifact-" + index;
+	}
+
+	public String version(int index) {
+		return "1." + index;
+	}
+
+	/**
+	 * @param index the index of the artifact
+	 * @return the coordinates of the latest version of the artifact
+	 */
+	public String coordinates(int index) {
+		return GROUP_ID + ":" + artifactId(index) + ":" + version(versions - 1);
+	}
+
+	/**
+	 * @param index the index of the artifact
+	 * @return the coordinates of the artifact with a range matching every version
+	 */
+	public String range(int index) {
+		return GROUP_ID + ":" + artifactId(index) + ":[1.0,)";
+	}
+
+	/**
+	 * @param index the index of the artifact
+	 * @return the jar of the latest version of the artifact in the repository
+	 */
+	public File jar(int index) {
+		String version = version(versions - 1);
+		return new File(basedir, GROUP_ID.replace('.', '/') + "/" + artifactId(index) + "/" + version + "/"
+				+ artifactId(index) + "-" + version + ".jar");
+	}
+
+	/**
+	 * @param localRepository the local repository
+	 * @param url             the url the repository is served at, e.g. its
+	 *                        file:// URI
+	 * @return properties resolving from this repository only
+	 */
+	public MavenClientProperties properties(File localRepository, String url) {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(localRepository.getAbsolutePath());
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put(REPOSITORY_ID, new RemoteRepository(url));
+		properties.setRemoteRepositories(remoteRepositories);
+		return properties;
+	}
+
+	public MavenClientProperties properties(File localRepository) {
+		return this.properties(localRepository, basedir.toURI().toString());
+	}
+
+	private String pom(int index, String version) {
+		StringBuilder pom = new StringBuilder();
+		pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project>\n  <modelVersion>4.0.0</modelVersion>\n");
+		pom.append("  <groupId>").append(GROUP_ID).append("</groupId>\n");
+		pom.append("  <artifactId>").append(artifactId(index)).append("</artifactId>\n");
+		pom.append("  <version>").append(version).append("</version>\n  <dependencies>\n");
+		for (int d = Math.max(0, index - dependencies); d < index; d++) {
+			pom.append("    <dependency>\n      <groupId>").append(GROUP_ID).append("</groupId>\n");
+			pom.append("      <artifactId>").append(artifactId(d)).append("</artifactId>\n");
+			pom.append("      <version>").append(version(versions - 1)).append("</version>\n    </dependency>\n");
+		}
+		pom.append("  </dependencies>\n</project>\n");
+		return pom.toString();
+	}
+
+	private byte[] jar(String artifactId, String pom) throws IOException {
+		File file = File.createTempFile("fixture-", ".jar");
+		try {
+			try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(file))) {
+				output.putNextEntry(new ZipEntry("META-INF/maven/" + GROUP_ID + "/" + artifactId + "/pom.xml"));
+				output.write(pom.getBytes(StandardCharsets.UTF_8));
+				output.closeEntry();
+				output.putNextEntry(new ZipEntry(GROUP_ID.replace('.', '/') + "/Fixture.class"));
+				output.write(new byte[size]);
+				output.closeEntry();
+			}
+			return Files.readAllBytes(file.toPath());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private String metadata(String artifactId) {
+		StringBuilder metadata = new StringBuilder();
+		metadata.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<metadata>\n");
+		metadata.append("  <groupId>").append(GROUP_ID).append("</groupId>\n");
+		metadata.append("  <artifactId>").append(artifactId).append("</artifactId>\n  <versioning>\n");
+		metadata.append("    <latest>").append(version(versions - 1)).append("</latest>\n");
+		metadata.append("    <release>").append(version(versions - 1)).append("</release>\n    <versions>\n");
+		for (int v = 0; v < versions; v++) {
+			metadata.append("      <version>").append(version(v)).append("</version>\n");
+		}
+		metadata.append("    </versions>\n    <lastUpdated>20200101000000</lastUpdated>\n  </versioning>\n</metadata>\n");
+		return metadata.toString();
+	}
+
+	private void write(File file, byte[] content) throws IOException {
+		Files.write(file.toPath(), content);
+		String sha1 = ChecksumCalculator.calculate(file, Collections.singletonList("SHA-1")).get("SHA-1");
+		Files.write(new File(file.getPath() + ".sha1").toPath(), sha1.getBytes(StandardCharsets.US_ASCII));
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.spring.boot.repository.RepositoryRouter;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.junit.Test;
+
+public class RepositoryRouter_Test {
+
+	private RemoteRepository central = new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+	private RemoteRepository aliyun = new RemoteRepository.Builder("aliyun", "default", "https://maven.aliyun.com/repository/public/").build();
+	private RemoteRepository internal = new RemoteRepository.Builder("internal", "default", "http://nexus.example.org/repository/maven-public/").build();
+	private List<RemoteRepository> repositories = Arrays.asList(central, aliyun, internal);
+
+	private ArtifactResult served(Artifact artifact, RemoteRepository repository) {
+		ArtifactResult result = new ArtifactResult(new ArtifactRequest(artifact, repositories, null));
+		result.setArtifact(artifact.setFile(new File("target/fake.jar")));
+		result.setRepository(repository);
+		return result;
+	}
+
+	@Test
+	public void testRoute() {
+
+		RepositoryRouter router = new RepositoryRouter(0.2d);
+		Artifact commons = new DefaultArtifact("org.apache.commons:commons-lang3:3.8.1");
+		Artifact example = new DefaultArtifact("com.example.billing:billing-api:1.0.0");
+
+		router.record(served(commons, central), 400);
+		router.record(served(commons, aliyun), 40);
+		assertTrue(router.getCosts().get("aliyun") < router.getCosts().get("central"));
+		// unsampled repositories are explored first, then the cheapest
+		assertEquals(Arrays.asList(internal, aliyun, central), router.route(commons, repositories));
+
+		ArtifactResult missing = new ArtifactResult(new ArtifactRequest(example, repositories, null));
+		missing.addException(new ArtifactNotFoundException(example, aliyun));
+		router.record(missing, 100);
+		router.record(served(example, internal), 900);
+		// the repository that served com.example.billing before is asked first for its sub groups
+		Artifact invoice = new DefaultArtifact("com.example.billing.invoice:invoice-core:1.0.0");
+		assertEquals(internal, router.route(invoice, repositories).get(0));
+	}
+
+}
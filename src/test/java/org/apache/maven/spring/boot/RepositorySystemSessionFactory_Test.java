@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.spring.boot.ext.RepositorySystemSessionFactory;
+import org.apache.maven.spring.boot.utils.RepositorySystemUtils;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.junit.Test;
+
+/**
+ * The shared session of {@link RepositorySystemSessionFactory} is reused until
+ * it is older than the update interval. The speed-up of the reuse is measured by
+ * the SessionReuseBenchmark of the benchmark profile.
+ *
+ * @author ： <a href="https://github.com/hiwepy">hiwepy</a>
+ */
+public class RepositorySystemSessionFactory_Test {
+
+	private RepositorySystemSessionFactory factory(boolean reuseSession) throws Exception {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("session").toString());
+		properties.setOffline(true);
+		properties.setReuseSession(reuseSession);
+		return new RepositorySystemSessionFactory(RepositorySystemUtils.newRepositorySystem(), properties, null);
+	}
+
+	@Test
+	public void testReuse() throws Exception {
+
+		RepositorySystemSessionFactory shared = this.factory(true);
+		RepositorySystemSession session = shared.getSession();
+		assertSame(session, shared.getSession());
+		assertSame(session.getCache(), shared.forkSession().getCache());
+		shared.reset();
+		assertNotSame(session, shared.getSession());
+
+		RepositorySystemSessionFactory perCall = this.factory(false);
+		assertNotSame(perCall.getSession(), perCall.getSession());
+	}
+
+	@Test
+	public void testMaxAge() throws Exception {
+
+		RepositorySystemSessionFactory factory = this.factory(true);
+		factory.setMaxAge(200);
+		RepositorySystemSession session = factory.getSession();
+		assertSame(session, factory.getSession());
+		Thread.sleep(300);
+		assertNotSame(session, factory.getSession());
+
+		// the update policy of the session overrides the ones of the repositories
+		RemoteRepository daily = new RemoteRepository.Builder("daily", "default", "file:///tmp/daily").build();
+		assertEquals(TimeUnit.DAYS.toMillis(1),
+				RepositorySystemUtils.updateInterval(null, Collections.singletonList(daily)));
+		assertEquals(0, RepositorySystemUtils.updateInterval(RepositoryPolicy.UPDATE_POLICY_ALWAYS,
+				Collections.singletonList(daily)));
+		assertEquals(TimeUnit.MINUTES.toMillis(15),
+				RepositorySystemUtils.updateInterval("interval:15", Collections.singletonList(daily)));
+		assertEquals(Long.MAX_VALUE, RepositorySystemUtils.updateInterval(null, Collections.emptyList()));
+	}
+
+}
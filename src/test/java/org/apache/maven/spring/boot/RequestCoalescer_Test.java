@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.spring.boot.ext.RequestCoalescer;
+import org.junit.Test;
+
+/**
+ * Concurrent identical requests share one execution of {@link RequestCoalescer}
+ * and each caller receives its own copy of the result.
+ */
+public class RequestCoalescer_Test {
+
+	private static int threads = 8;
+
+	@Test
+	public void testCoalesce() throws Exception {
+
+		RequestCoalescer coalescer = new RequestCoalescer();
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch joined = new CountDownLatch(1);
+		Set<List<String>> results = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+		Thread[] callers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			callers[i] = new Thread(() -> {
+				List<String> result = coalescer.execute("key", () -> {
+					executions.incrementAndGet();
+					started.countDown();
+					try {
+						joined.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					List<String> versions = new ArrayList<>();
+					versions.add("1.0");
+					return versions;
+				}, ArrayList::new);
+				// one caller's change must not be seen by the others
+				result.add(Thread.currentThread().getName());
+				results.add(result);
+			});
+			callers[i].start();
+			if (i == 0) {
+				started.await();
+			}
+		}
+		while (coalescer.getCoalescedCount() < threads - 1) {
+			Thread.sleep(10);
+		}
+		joined.countDown();
+		for (Thread caller : callers) {
+			caller.join();
+		}
+
+		assertEquals(1, executions.get());
+		assertEquals(1, coalescer.getExecutionCount());
+		assertEquals(threads - 1, coalescer.getCoalescedCount());
+		assertEquals(threads, results.size());
+		for (List<String> result : results) {
+			assertEquals(2, result.size());
+			assertTrue(result.contains("1.0"));
+		}
+		assertEquals(0, coalescer.getInFlightCount());
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+
+		RequestCoalescer coalescer = new RequestCoalescer();
+		IllegalStateException failure = new IllegalStateException("not found");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch joined = new CountDownLatch(1);
+		List<RuntimeException> thrown = Collections.synchronizedList(new ArrayList<>());
+
+		Thread[] callers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			callers[i] = new Thread(() -> {
+				try {
+					coalescer.execute("key", () -> {
+						started.countDown();
+						try {
+							joined.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						throw failure;
+					});
+				} catch (RuntimeException e) {
+					thrown.add(e);
+				}
+			});
+			callers[i].start();
+			if (i == 0) {
+				started.await();
+			}
+		}
+		while (coalescer.getCoalescedCount() < threads - 1) {
+			Thread.sleep(10);
+		}
+		joined.countDown();
+		for (Thread caller : callers) {
+			caller.join();
+		}
+
+		assertEquals(threads, thrown.size());
+		Set<RuntimeException> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		instances.addAll(thrown);
+		assertEquals(threads, instances.size());
+		for (RuntimeException e : thrown) {
+			// the caller which executed the request throws the failure itself
+			if (e != failure) {
+				assertSame(failure, e.getCause());
+				assertEquals("not found", e.getMessage());
+			}
+		}
+	}
+
+}
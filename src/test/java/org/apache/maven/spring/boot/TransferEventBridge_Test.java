@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.spring.boot.event.EventRingBuffer;
+import org.apache.maven.spring.boot.event.MavenRepositoryEvent;
+import org.apache.maven.spring.boot.event.MavenTransferEvent;
+import org.apache.maven.spring.boot.event.TransferEventBridge;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+
+/**
+ * Offer events from many threads to the ring buffer, and publish the events of
+ * a resolution from a file:// repository through a slow listener.
+ */
+public class TransferEventBridge_Test {
+
+	private static int producers = 4;
+	private static int events = 10000;
+
+	@Test
+	public void testRingBuffer() throws Exception {
+
+		EventRingBuffer<Long> buffer = new EventRingBuffer<>(1024);
+		AtomicLong received = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(producers);
+		Thread consumer = new Thread(() -> {
+			while (done.getCount() > 0 || buffer.size() > 0) {
+				if (buffer.poll() != null) {
+					received.incrementAndGet();
+				}
+			}
+		});
+		consumer.start();
+		for (int i = 0; i < producers; i++) {
+			new Thread(() -> {
+				for (long j = 0; j < events; j++) {
+					buffer.offer(j);
+				}
+				done.countDown();
+			}).start();
+		}
+		done.await();
+		consumer.join();
+		// every offer is either received or counted as dropped
+		assertEquals(producers * (long) events, received.get() + buffer.getDroppedCount());
+	}
+
+	@Test
+	public void testBridge() throws Exception {
+
+		File remote = Files.createTempDirectory("events-remote").toFile();
+		File jar = new File(remote, "org/example/demo/1.0/demo-1.0.jar");
+		jar.getParentFile().mkdirs();
+		Files.write(jar.toPath(), new byte[4096]);
+
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("events-local").toString());
+		properties.setResolvePom(false);
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+
+		Queue<Object> published = new ConcurrentLinkedQueue<>();
+		TransferEventBridge bridge = new TransferEventBridge(event -> {
+			try {
+				// a slow listener
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			published.add(event);
+		}, clientTemplate.getRemoteRepositories(), 64, 0);
+		clientTemplate.getSessionFactory().addTransferListener(bridge.getTransferListener());
+		clientTemplate.getSessionFactory().addRepositoryListener(bridge.getRepositoryListener());
+
+		clientTemplate.artifact("org.example:demo:1.0");
+		assertTrue(bridge.getInFlightTransfers().isEmpty());
+
+		bridge.shutdown();
+		for (int i = 0; i < 100 && bridge.getPendingCount() > 0; i++) {
+			Thread.sleep(50);
+		}
+		Thread.sleep(200);
+		MavenTransferEvent succeeded = null;
+		boolean downloaded = false;
+		for (Object event : published) {
+			if (event instanceof MavenTransferEvent
+					&& ((MavenTransferEvent) event).getType() == MavenTransferEvent.Type.SUCCEEDED) {
+				succeeded = (MavenTransferEvent) event;
+			}
+			downloaded |= event instanceof MavenRepositoryEvent;
+		}
+		assertEquals("fixture", succeeded.getRepositoryId());
+		assertEquals(4096, succeeded.getTransferredBytes());
+		assertTrue(downloaded);
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.TreeMap;
+
+import org.apache.maven.spring.boot.cache.VersionIndex;
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.Version;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+
+public class VersionIndex_Test {
+
+	private GenericVersionScheme scheme = new GenericVersionScheme();
+	private RemoteRepository central = new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+
+	@Test
+	public void testQueries() throws Exception {
+
+		TreeMap<Version, ArtifactRepository> versions = new TreeMap<>();
+		for (int major = 1; major <= 50; major++) {
+			for (int minor = 0; minor < 40; minor++) {
+				versions.put(scheme.parseVersion(major + "." + minor), central);
+			}
+		}
+		versions.put(scheme.parseVersion("51.0-SNAPSHOT"), central);
+
+		VersionIndex index = new VersionIndex(100);
+		index.put("org.example", "example", versions);
+		VersionIndex.Entry entry = index.get("org.example", "example", Long.MAX_VALUE);
+
+		assertEquals("51.0-SNAPSHOT", entry.latest().toString());
+		assertEquals("50.39", entry.latestRelease().toString());
+		assertEquals(10, entry.range(scheme.parseVersionConstraint("[2.0,2.10)")).size());
+		assertEquals(2, entry.range(scheme.parseVersionConstraint("[2.0,2.1],[60,)")).size());
+		assertEquals(Collections.emptyList(), entry.range(scheme.parseVersionConstraint("[60,)")));
+	}
+
+	@Test
+	public void testFailedRemote() throws Exception {
+
+		File remote = Files.createTempDirectory("versions-remote").toFile();
+		RepositoryFixture fixture = new RepositoryFixture(remote, 1, 3, 0, 64).generate();
+		try (EmbeddedRepositoryServer mirror = new EmbeddedRepositoryServer(remote)) {
+			MavenClientProperties properties = fixture
+					.properties(Files.createTempDirectory("versions-local").toFile());
+			properties.setUpdatePolicy("always");
+			properties.getRemoteRepositories().put("mirror",
+					new org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository(
+							mirror.getUrl()));
+			MavenClientTemplate clientTemplate = new MavenClientTemplate(properties);
+			MavenResource resource = MavenResource.parse(
+					RepositoryFixture.GROUP_ID + ":" + fixture.artifactId(0) + ":" + fixture.version(0), properties);
+
+			// the versions of the healthy repository are returned but not indexed
+			mirror.setErrorRate(1);
+			assertEquals(fixture.version(2), clientTemplate.lastReleaseVersion(resource).toString());
+			assertNull(clientTemplate.getVersionIndex().get(RepositoryFixture.GROUP_ID, fixture.artifactId(0),
+					Long.MAX_VALUE));
+
+			mirror.setErrorRate(0);
+			assertEquals(fixture.version(2), clientTemplate.lastReleaseVersion(resource).toString());
+			assertNotNull(clientTemplate.getVersionIndex().get(RepositoryFixture.GROUP_ID, fixture.artifactId(0),
+					Long.MAX_VALUE));
+			clientTemplate.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, hiwepy (https://github.com/hiwepy).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.maven.spring.boot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.spring.boot.ext.MavenClientTemplate;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.junit.Test;
+import org.springframework.cloud.deployer.resource.maven.MavenProperties.RemoteRepository;
+import org.springframework.cloud.deployer.resource.maven.MavenResource;
+
+/**
+ * Resolve version ranges against a file:// repository holding only
+ * maven-metadata.xml files.
+ */
+public class VersionRanges_Test {
+
+	private static int plugins = 20;
+
+	private void metadata(File repository, String artifactId) throws Exception {
+		StringBuilder xml = new StringBuilder("<metadata><groupId>org.example.plugins</groupId><artifactId>")
+				.append(artifactId).append("</artifactId><versioning><versions>");
+		for (int major = 1; major <= 3; major++) {
+			for (int minor = 0; minor < 10; minor++) {
+				xml.append("<version>").append(major).append('.').append(minor).append("</version>");
+			}
+		}
+		xml.append("</versions></versioning></metadata>");
+		File file = new File(repository, "org/example/plugins/" + artifactId + "/maven-metadata.xml");
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), xml.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private MavenClientTemplate template(File remote) throws Exception {
+		MavenClientProperties properties = new MavenClientProperties();
+		properties.setLocalRepository(Files.createTempDirectory("ranges-local").toString());
+		Map<String, RemoteRepository> remoteRepositories = new LinkedHashMap<String, RemoteRepository>();
+		remoteRepositories.put("fixture", new RemoteRepository(remote.toURI().toString()));
+		properties.setRemoteRepositories(remoteRepositories);
+		return new MavenClientTemplate(properties);
+	}
+
+	@Test
+	public void testVersionRanges() throws Exception {
+
+		File remote = Files.createTempDirectory("ranges-remote").toFile();
+		List<String> coordinates = new ArrayList<>();
+		for (int i = 0; i < plugins; i++) {
+			metadata(remote, "plugin-" + i);
+			coordinates.add("org.example.plugins:plugin-" + i + ":[2.0,2.5)");
+		}
+		MavenClientTemplate clientTemplate = this.template(remote);
+
+		assertEquals(5, clientTemplate.versionRange("org.example.plugins:plugin-0:[2.0,2.5)").getVersions().size());
+		assertEquals("3.9", clientTemplate.lastVersion(new MavenResource.Builder().groupId("org.example.plugins")
+				.artifactId("plugin-1").version("1.0").build()).toString());
+
+		Map<String, VersionRangeResult> results = clientTemplate.versionRanges(coordinates);
+		assertEquals(plugins, results.size());
+		for (VersionRangeResult result : results.values()) {
+			assertEquals("[2.0, 2.1, 2.2, 2.3, 2.4]", result.getVersions().toString());
+		}
+	}
+
+	@Test
+	public void testMalformedAndPlainVersions() throws Exception {
+
+		File remote = Files.createTempDirectory("ranges-remote").toFile();
+		metadata(remote, "plugin-0");
+		MavenClientTemplate clientTemplate = this.template(remote);
+
+		Map<String, VersionRangeResult> results = clientTemplate.versionRanges(Arrays.asList(
+				"org.example.plugins:plugin-0:[2.0,2.2)", "not-a-coordinate", "org.example.plugins:plugin-0:9.9",
+				"org.example.plugins:plugin-0:[2.0"));
+		assertEquals(Arrays.asList("org.example.plugins:plugin-0:[2.0,2.2)", "not-a-coordinate",
+				"org.example.plugins:plugin-0:9.9", "org.example.plugins:plugin-0:[2.0"),
+				new ArrayList<>(results.keySet()));
+		assertEquals("[2.0, 2.1]", results.get("org.example.plugins:plugin-0:[2.0,2.2)").getVersions().toString());
+		assertTrue(results.get("not-a-coordinate").getExceptions().get(0) instanceof IllegalArgumentException);
+		// a plain version is returned as is, like Aether does, even if not listed
+		assertEquals("[9.9]", results.get("org.example.plugins:plugin-0:9.9").getVersions().toString());
+		assertEquals(1, results.get("org.example.plugins:plugin-0:[2.0").getExceptions().size());
+		assertEquals("[9.9]",
+				clientTemplate.versionRange("org.example.plugins:plugin-0:9.9").getVersions().toString());
+	}
+
+}